@@ -0,0 +1,66 @@
+package com.kshrd.kroya_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.kroya_api.entity.UserEntity;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation throughput of the shared JwtParser against the former path, which decoded the secret and
+ * built a new key and parser for every token. Run with: mvn -P jmh test -Djmh.args="JwtValidationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtValidationBenchmark {
+
+    private String secretKey;
+    private String token;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (i * 7 + 3);
+        }
+        secretKey = Encoders.BASE64.encode(secret);
+
+        jwtService = new JwtService(new ObjectMapper());
+        ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtService.initSigningKey();
+
+        UserEntity user = UserEntity.builder()
+                .email("benchmark@kroya.test")
+                .role("USER")
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public ParsedToken perTokenParser() {
+        return ParsedToken.from(Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody());
+    }
+
+    @Benchmark
+    public ParsedToken sharedParser() {
+        return jwtService.parseOnce(token);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kshrd.kroya_api.mapper;
+
+import com.kshrd.kroya_api.dto.PhotoDTO;
+import com.kshrd.kroya_api.dto.UserDTO;
+import com.kshrd.kroya_api.dto.UserProfileDTO;
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.PhotoEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and allocation per card of FoodMapper against the STRICT ModelMapper path it replaced, including
+ * the fields the services used to fill in after ModelMapper. Run with:
+ * mvn -P jmh test -Djmh.args="FoodCardMappingBenchmark -prof gc" (allocation per card is gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FoodCardMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private FoodRecipeEntity recipe;
+    private FoodSellEntity sell;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        UserEntity owner = UserEntity.builder()
+                .id(7)
+                .fullName("Sokha Chan")
+                .email("sokha@kroya.test")
+                .profileImage("profile.jpg")
+                .phoneNumber("012345678")
+                .role("USER")
+                .build();
+        List<PhotoEntity> photos = new ArrayList<>();
+        recipe = FoodRecipeEntity.builder()
+                .id(42L)
+                .name("Fish Amok")
+                .description("Steamed fish curry in banana leaves")
+                .level("Medium")
+                .durationInMinutes(45)
+                .averageRating(4.5)
+                .totalRaters(120)
+                .user(owner)
+                .photos(photos)
+                .createdAt(LocalDateTime.now())
+                .build();
+        for (long id = 1; id <= 3; id++) {
+            photos.add(new PhotoEntity(id, "photo-" + id + ".jpg", recipe));
+        }
+        sell = FoodSellEntity.builder()
+                .id(9L)
+                .foodRecipe(recipe)
+                .dateCooking(LocalDateTime.now().plusDays(1))
+                .amount(10)
+                .price(2.5)
+                .currencyType("DOLLAR")
+                .isOrderable(true)
+                .build();
+    }
+
+    @Benchmark
+    public FoodRecipeCardResponse recipeCardModelMapper() {
+        FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
+        response.setPhoto(recipe.getPhotos().stream()
+                .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
+                .collect(Collectors.toList()));
+        UserEntity owner = recipe.getUser();
+        response.setUser(new UserDTO(owner.getId(), owner.getFullName(), owner.getProfileImage(), owner.getRole(),
+                owner.isDeleted()));
+        return response;
+    }
+
+    @Benchmark
+    public FoodRecipeCardResponse recipeCardFoodMapper() {
+        return FoodMapper.toRecipeCard(recipe);
+    }
+
+    @Benchmark
+    public FoodSellCardResponse sellCardModelMapper() {
+        FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
+        response.setFoodSellId(sell.getId());
+        response.setIsOrderable(sell.getIsOrderable());
+        FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
+        response.setPhoto(linkedRecipe.getPhotos().stream()
+                .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
+                .collect(Collectors.toList()));
+        response.setName(linkedRecipe.getName());
+        response.setAverageRating(linkedRecipe.getAverageRating());
+        response.setTotalRaters(linkedRecipe.getTotalRaters());
+        UserEntity seller = linkedRecipe.getUser();
+        response.setSellerInformation(UserProfileDTO.builder()
+                .userId(Long.valueOf(seller.getId()))
+                .fullName(seller.getFullName())
+                .phoneNumber(seller.getPhoneNumber())
+                .profileImage(seller.getProfileImage())
+                .build());
+        return response;
+    }
+
+    @Benchmark
+    public FoodSellCardResponse sellCardFoodMapper() {
+        return FoodMapper.toSellCard(sell);
+    }
+}
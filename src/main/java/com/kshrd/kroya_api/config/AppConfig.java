@@ -17,6 +17,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Clock;
+import java.time.ZoneId;
+
 @Configuration
 @RequiredArgsConstructor
 public class AppConfig {
@@ -59,6 +62,11 @@ public class AppConfig {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZoneId.of("Asia/Phnom_Penh"));
+    }
+
     @Bean
     public AuditorAware<String> auditorAware() {
         return new AuditorAwareImpl();
@@ -0,0 +1,71 @@
+package com.kshrd.kroya_api.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate hooks feeding RequestStatistics: a StatementInspector counts every SQL statement,
+ * a session event listener times JDBC executions and a post-load listener counts hydrated entities.
+ */
+@Configuration
+public class HibernateRequestStatistics {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsHibernateCustomizer() {
+        StatementInspector statementCounter = sql -> {
+            RequestStatistics.onQuery();
+            return sql;
+        };
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton entityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        PostLoadEventListener listener = event -> RequestStatistics.onEntityLoad();
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, listener);
+    }
+
+    /**
+     * Created by Hibernate for every session; a session runs on one thread at a time.
+     */
+    public static class JdbcTimingListener implements SessionEventListener {
+
+        private long executionStartedAt;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStartedAt = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestStatistics.onJdbcExecution(System.nanoTime() - executionStartedAt);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executionStartedAt = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            RequestStatistics.onJdbcExecution(System.nanoTime() - executionStartedAt);
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final TokenRepository tokenRepository;
     private final UserRepository userRepository;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
     @Override
     protected void doFilterInternal(
@@ -43,32 +44,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        email = jwtService.extractUsername(jwt);
+
+        // Parse and verify the token once
+        ParsedToken parsedToken = jwtService.parseOnce(jwt);
+        email = parsedToken.subject();
+        String jti = parsedToken.jti();
 
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Fetch the user entity directly without Optional
-            UserEntity userEntity = userRepository.findByEmail(email);
+            // Fast path: principal of a recently verified, non-revoked token
+            UserEntity userEntity = tokenAuthenticationCache.getPrincipal(jti, email);
 
-            // Check if user exists and token is valid
-            if (userEntity != null) {
-                boolean isTokenValid = tokenRepository.findByToken(jwt)
+            if (userEntity == null && !tokenAuthenticationCache.isRevoked(jti)) {
+                // Fetch the user entity directly without Optional
+                userEntity = userRepository.findByEmail(email);
+
+                // Check if user exists and token is still valid in token_tb
+                boolean isTokenValid = userEntity != null && tokenRepository.findByToken(jwt)
                         .map(t -> !t.isTokenExpired() && !t.isTokenRevoked())
                         .orElse(false);
 
-                if (jwtService.isTokenValid(jwt, userEntity) && isTokenValid) {
-                    // Create authentication token using the UserEntity
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userEntity,
-                            null,
-                            userEntity.getAuthorities() // Use authorities from UserEntity
-                    );
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    // Set the authentication token in the SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (isTokenValid) {
+                    tokenAuthenticationCache.putPrincipal(jti, userEntity, parsedToken.expiration());
+                } else {
+                    userEntity = null;
                 }
             }
+
+            if (userEntity != null) {
+                // Create authentication token using the UserEntity
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userEntity,
+                        null,
+                        userEntity.getAuthorities() // Use authorities from UserEntity
+                );
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+                // Set the authentication token in the SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -9,6 +9,7 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -43,6 +45,10 @@ public class JwtService {
     @Autowired
     private final ObjectMapper mapper;
 
+    // Decoded once at startup; JwtParser is immutable and safe to share between threads
+    private Key signingKey;
+    private JwtParser jwtParser;
+
     @Autowired
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
@@ -50,6 +56,14 @@ public class JwtService {
         this.mapper = mapper;
     }
 
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     // Extract the username (email) from the token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -69,7 +83,7 @@ public class JwtService {
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .setId(UUID.randomUUID().toString()) // Ensure uniqueness
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -116,20 +130,33 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    // Parse and verify the token once; throws JwtException when the signature is invalid or the token expired
+    public ParsedToken parseOnce(String token) {
+        return ParsedToken.from(extractAllClaims(token));
+    }
+
+    // Read a signed token even when it has already expired (used when revoking stored tokens)
+    public Optional<ParsedToken> parseIgnoringExpiry(String token) {
+        try {
+            return Optional.of(parseOnce(token));
+        } catch (ExpiredJwtException e) {
+            return Optional.of(ParsedToken.from(e.getClaims()));
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Ignoring unreadable token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     // Extract all claims from the token
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     // Get the signing key from the secret
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     // Extract username and handle JWT exceptions
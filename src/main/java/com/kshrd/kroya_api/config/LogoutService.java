@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 public class LogoutService implements LogoutHandler {
 
     private final TokenRepository tokenRepository;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
     @Override
     public void logout(
@@ -32,6 +33,7 @@ public class LogoutService implements LogoutHandler {
             storedToken.setTokenExpired(true);
             storedToken.setTokenRevoked(true);
             tokenRepository.save(storedToken);
+            tokenAuthenticationCache.revokeToken(jwt);
             SecurityContextHolder.clearContext();
         }
     }
@@ -0,0 +1,20 @@
+package com.kshrd.kroya_api.config;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims of a verified JWT, read once per request and reused by the callers.
+ */
+public record ParsedToken(String subject, Date expiration, String jti, String roles) {
+
+    static ParsedToken from(Claims claims) {
+        Object roles = claims.get("roles");
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.getExpiration(),
+                claims.getId(),
+                roles != null ? roles.toString() : null);
+    }
+}
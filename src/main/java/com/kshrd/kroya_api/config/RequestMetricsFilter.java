@@ -0,0 +1,109 @@
+package com.kshrd.kroya_api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost filter that binds RequestStatistics to the request, so the authentication queries are counted too.
+ * Records per-endpoint SQL statement count, JDBC time, entity loads and response serialization time as
+ * Micrometer metrics, and warns when an endpoint goes over the query budget.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not counted.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${request.metrics.query-budget:30}")
+    private int queryBudget;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+
+            // Responses without a converted body (redirects, streamed files, empty errors) still get the header
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, statistics.serverTiming());
+            }
+            record(request, response, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics) {
+        String method = request.getMethod();
+        String uri = endpointOf(request, response);
+
+        DistributionSummary.builder("request.sql.queries")
+                .description("SQL statements issued per request")
+                .baseUnit("queries")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getQueries());
+        Timer.builder("request.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("request.entity.loads")
+                .description("Entities loaded by Hibernate per request")
+                .baseUnit("entities")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoads());
+        Timer.builder("request.serialization.time")
+                .description("Time spent writing the response body")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getSerializationNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getQueries() > queryBudget) {
+            log.warn("{} {} issued {} SQL statements (budget {}), {} ms in JDBC, {} entities loaded",
+                    method, uri, statistics.getQueries(), queryBudget,
+                    TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()), statistics.getEntityLoads());
+        }
+    }
+
+    // Route pattern rather than the raw path, so ids do not explode the tag cardinality
+    private static String endpointOf(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return response.getStatus() == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
+}
@@ -0,0 +1,97 @@
+package com.kshrd.kroya_api.config;
+
+import java.util.Locale;
+
+/**
+ * Per-request counters filled by the Hibernate hooks of HibernateRequestStatistics and reported by RequestMetricsFilter.
+ * Bound to the request thread; work done on other threads (upload and variant pools, schedulers) is not counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private int queries;
+    private long jdbcNanos;
+    private int entityLoads;
+    private long serializationStartedAt;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statistics of the request bound to this thread, or null outside of a request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void onQuery() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.queries++;
+        }
+    }
+
+    static void onJdbcExecution(long nanos) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.jdbcNanos += nanos;
+        }
+    }
+
+    static void onEntityLoad() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    // Called right before the response body is written
+    void markSerializationStart() {
+        if (serializationStartedAt == 0) {
+            serializationStartedAt = System.nanoTime();
+        }
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Time spent writing the response body so far, 0 when no body was written through a message converter.
+     */
+    public long getSerializationNanos() {
+        return serializationStartedAt == 0 ? 0 : System.nanoTime() - serializationStartedAt;
+    }
+
+    /**
+     * Server-Timing value for the work done up to now: database time with the query count, and total handler time.
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d queries, %d entities\", app;dur=%.1f",
+                jdbcNanos / 1_000_000.0, queries, entityLoads, getElapsedNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.kshrd.kroya_api.config;
+
+import com.kshrd.kroya_api.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory fast path for JwtAuthenticationFilter.
+ * Access tokens that were checked against token_tb are cached by jti together with their principal
+ * for a short TTL; revoked jtis are kept until the token itself expires so they can never be re-cached.
+ * token_tb stays the source of truth: a cache miss always falls back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenAuthenticationCache {
+
+    private final JwtService jwtService;
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+
+    @Value("${security.jwt.cache.principal-ttl:30000}")
+    private long principalTtl;
+
+    @Value("${security.jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private record CachedPrincipal(UserEntity user, long expiresAt) {
+    }
+
+    /**
+     * Returns the cached principal for a token, or null when it must be checked against the database.
+     */
+    public UserEntity getPrincipal(String jti, String email) {
+        if (jti == null) {
+            return null;
+        }
+        CachedPrincipal cached = principals.get(jti);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() < System.currentTimeMillis() || !cached.user().getEmail().equals(email)) {
+            principals.remove(jti, cached);
+            return null;
+        }
+        return cached.user();
+    }
+
+    public void putPrincipal(String jti, UserEntity user, Date tokenExpiration) {
+        if (jti == null || isRevoked(jti)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (principals.size() >= maxEntries) {
+            principals.values().removeIf(cached -> cached.expiresAt() < now);
+            if (principals.size() >= maxEntries) {
+                log.debug("Token principal cache is full ({} entries), skipping jti {}", principals.size(), jti);
+                return;
+            }
+        }
+        principals.put(jti, new CachedPrincipal(user, Math.min(now + principalTtl, tokenExpiration.getTime())));
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revokedJtis.get(jti);
+        if (expiresAt != null && expiresAt < System.currentTimeMillis()) {
+            revokedJtis.remove(jti, expiresAt);
+            return false;
+        }
+        return expiresAt != null;
+    }
+
+    /**
+     * Marks a stored token as revoked; called after token_tb has been updated.
+     */
+    public void revokeToken(String jwt) {
+        jwtService.parseIgnoringExpiry(jwt).ifPresent(this::revoke);
+    }
+
+    /**
+     * Drops every cached principal of a user so profile or status changes are picked up on the next request.
+     */
+    public void evictUser(String email) {
+        principals.values().removeIf(cached -> cached.user().getEmail().equals(email));
+    }
+
+    private void revoke(ParsedToken token) {
+        String jti = token.jti();
+        if (jti == null) {
+            return;
+        }
+        principals.remove(jti);
+
+        long now = System.currentTimeMillis();
+        long expiresAt = token.expiration() != null ? token.expiration().getTime() : now + principalTtl;
+        if (expiresAt < now) {
+            return;
+        }
+        if (revokedJtis.size() >= maxEntries) {
+            revokedJtis.values().removeIf(expiry -> expiry < now);
+        }
+        // When still full the principal eviction above is enough: the next request re-checks token_tb
+        if (revokedJtis.size() < maxEntries) {
+            revokedJtis.put(jti, expiresAt);
+        }
+    }
+}
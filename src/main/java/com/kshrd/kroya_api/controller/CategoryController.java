@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("api/v1/category")
@@ -39,14 +40,20 @@ public class CategoryController {
                 Fetches a list of all available categories in the system with pagination.
                 
                 **📩 Response Summary**:
-                - **200**: ✅ List of categories retrieved successfully with pagination.
+                - **200**: ✅ List of categories retrieved successfully with pagination (with an `ETag` header).
+                - **304**: ♻️ Not modified since the `If-None-Match` ETag.
                 - **404**: 🚫 No categories found in the system.
                 """
         )
     @GetMapping("/all")
     public BaseResponse<?> getAllCategory(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        // Answer 304 Not Modified when the client already holds this page
+        if (webRequest.checkNotModified(categoryService.getAllCategoryETag(page, size))) {
+            return null;
+        }
         return categoryService.getAllCategory(page, size);
     }
 }
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("api/v1/cuisine")
@@ -41,13 +42,19 @@ public class CuisineController {
                     Fetches a list of all cuisines available in the system.
                     
                     **📩 Response Summary**:
-                    - **200**: ✅ Cuisines retrieved successfully.
+                    - **200**: ✅ Cuisines retrieved successfully (with an `ETag` header).
+                    - **304**: ♻️ Not modified since the `If-None-Match` ETag.
                     - **404**: 🚫 No cuisines found in the system.
                     """
     )
     @GetMapping("/all")
     public BaseResponse<?> getAllCuisine(@RequestParam(defaultValue = "0") int page,
-                                         @RequestParam(defaultValue = "10") int size) {
+                                         @RequestParam(defaultValue = "10") int size,
+                                         WebRequest webRequest) {
+        // Answer 304 Not Modified when the client already holds this page
+        if (webRequest.checkNotModified(cuisineService.getAllCuisineETag(page, size))) {
+            return null;
+        }
         return cuisineService.getAllCuisine(page, size);
     }
 }
@@ -2,6 +2,8 @@ package com.kshrd.kroya_api.controller;
 
 import com.kshrd.kroya_api.enums.ItemType;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncRequest;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncResponse;
 import com.kshrd.kroya_api.service.Favorite.FavoriteService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.AllArgsConstructor;
@@ -19,7 +21,7 @@ public class FavoriteController {
 
     @Operation(
             summary = "⭐ Add Food to Favorites",
-            description = " Adds a food item to the user's list of favorites."
+            description = " Adds a food item to the user's list of favorites. Adding an item that is already a favorite succeeds without a change."
     )
     @PostMapping("/add-favorite")
     public BaseResponse<?> saveFoodToFavorite(
@@ -31,7 +33,7 @@ public class FavoriteController {
 
     @Operation(
             summary = "❌ Remove Food from Favorites",
-            description = "Removes a food item from the user's list of favorites."
+            description = "Removes a food item from the user's list of favorites. Removing an item that is not a favorite succeeds without a change."
 
     )
     @DeleteMapping("/remove-favorite")
@@ -42,6 +44,18 @@ public class FavoriteController {
         return favoriteService.unsavedFoodFromFavorite(foodId, itemType);
     }
 
+    @Operation(
+            summary = "🔄 Sync Favorite Changes",
+            description = """
+                    Applies a batch of favorite and unfavorite changes recorded offline, up to 500 per request.
+                    Changes are idempotent and the last change for an item wins; the response lists the ids whose state actually changed.
+                    """
+    )
+    @PostMapping("/sync")
+    public BaseResponse<FavoriteSyncResponse> syncFavorites(@RequestBody FavoriteSyncRequest favoriteSyncRequest) {
+        return favoriteService.syncFavorites(favoriteSyncRequest);
+    }
+
     @Operation(
             summary = "📋 Get All Favorite Foods",
             description = "Retrieves the list of all favorite foods for the currently authenticated user."
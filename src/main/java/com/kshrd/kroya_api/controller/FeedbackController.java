@@ -100,9 +100,11 @@ public class FeedbackController {
     @Operation(
             summary = "🌐 Get All Feedbacks for a Food Item (Guest User or Current User)",
             description = """
-                    Retrieves all feedbacks for a specific food item accessible by guest users.
+                    Retrieves a keyset-paginated list of feedbacks for a specific food item accessible by guest users, newest first.
                     - **Path Variable**: **foodId**: ID of the food item.
                     - **Query Parameter**: **itemType**: Type of the food item (e.g., FOOD_RECIPE, FOOD_SELL).
+                    - **Query Parameter**: **cursor**: `paginationMeta.nextCursor` of the previous page, omitted for the first page.
+                    - **Query Parameter**: **size**: Number of feedbacks per page (1 to 100, default 20).
                     
                     **📩 Response Summary**:
                     - **200**: ✅ Feedbacks fetched successfully.
@@ -110,8 +112,11 @@ public class FeedbackController {
                     """
     )
     @GetMapping("guest-user/{foodId}")
-    public BaseResponse<?> getAllFeedbacksByFoodId(@PathVariable Long foodId, @RequestParam ItemType itemType) {
-        return feedbackService.getAllFeedbacksByFoodId(foodId, itemType);
+    public BaseResponse<?> getAllFeedbacksByFoodId(@PathVariable Long foodId,
+                                                   @RequestParam ItemType itemType,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return feedbackService.getAllFeedbacksByFoodId(foodId, itemType, cursor, size);
     }
 
     @Operation(
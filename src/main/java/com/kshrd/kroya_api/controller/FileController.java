@@ -1,10 +1,16 @@
 package com.kshrd.kroya_api.controller;
 
-import com.kshrd.kroya_api.entity.FileEntity;
 import com.kshrd.kroya_api.payload.File.FileResponse;
+import com.kshrd.kroya_api.payload.File.FileUploadResult;
+import com.kshrd.kroya_api.service.File.FileRedirect;
 import com.kshrd.kroya_api.service.File.FileService;
+import com.kshrd.kroya_api.service.File.ImageVariant;
+import com.kshrd.kroya_api.service.File.StoredFile;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,8 +18,10 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/fileView")
@@ -27,32 +35,32 @@ public class FileController {
     @Operation(
             summary = "📤 Upload Multiple Files",
             description = """
-                    Uploads one or more files to the server.
+                    Uploads one or more files to the server. Files are stored in parallel and each one gets its own result,
+                    so a bad file does not fail the others. Identical content is stored once and its existing URL is returned.
                     - **Request Parameter**: **files** (List of `MultipartFile`): Files to be uploaded.
                     
                     **📩 Response Summary**:
-                    - **201**: ✅ Files uploaded successfully, returns URLs of the uploaded files.
+                    - **201**: ✅ Files processed, returns a status (`UPLOADED`, `DUPLICATE`, `FAILED`) and URL per file.
                     - **400**: 🚫 Invalid file format or missing files.
                     """
     )
     @PostMapping(value = "/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadFiles(@RequestParam("files") List<MultipartFile> files) throws IOException {
-        List<String> fileUrl = new ArrayList<>();
-        for (MultipartFile file : files) {
-            String fileName = fileService.Uplaodfile(file);
-            String url = ServletUriComponentsBuilder.fromCurrentRequestUri()
-                    .replacePath("/api/v1/fileView/" + fileName)
-                    .toUriString();
-            FileEntity fileEntity = new FileEntity(url, fileName);
-            fileService.InsertFile(fileEntity);
-            fileUrl.add(url);
-        }
+        // Built here because the request is not available on the upload worker threads
+        String urlPrefix = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .replacePath("/api/v1/fileView/")
+                .toUriString();
+        List<FileUploadResult> results = fileService.uploadFiles(files, urlPrefix);
+
+        long failed = results.stream().filter(result -> result.getStatus() == FileUploadResult.Status.FAILED).count();
+        String message = failed == 0
+                ? "Upload files successfully"
+                : String.format("Uploaded %d of %d files", results.size() - failed, results.size());
         return ResponseEntity.ok().body(new FileResponse<>(
-                "Upload files successfully",
+                message,
                 201,
-                fileUrl
+                results
         ));
-//        return null;
     }
 
     @Operation(
@@ -60,16 +68,48 @@ public class FileController {
             description = """
                     Retrieves a file from the server based on its name.
                     - **Path Variable**: **fileName** (String): Name of the file to be downloaded.
+                    - **Query Parameter**: **variant** (optional): `thumb` (160px), `card` (480px) or `full` (1280px) JPEG rendition of an image.
+                      The original is returned while the variant is still being generated.
                     
                     **📩 Response Summary**:
                     - **200**: ✅ File retrieved successfully.
+                    - **302**: ↪️ Redirect to a time-limited direct link when files are stored in MinIO.
+                    - **206**: ✅ Requested byte range of the file (`Range` header).
+                    - **304**: ♻️ Not modified since the `If-None-Match` / `If-Modified-Since` values.
+                    - **400**: 🚫 Unknown variant.
                     - **404**: 🚫 File not found.
                     """
     )
     @GetMapping("/{fileName}")
-    public ResponseEntity<Resource> getFile(@PathVariable String fileName) throws IOException {
-        Resource file = fileService.getFile(fileName);
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).body(file);
-//        return null;
+    public ResponseEntity<Resource> getFile(@PathVariable String fileName,
+                                            @RequestParam(required = false) String variant) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromParam(variant);
+
+        // Object storage serves the bytes itself; the API only hands out a presigned link
+        Optional<FileRedirect> redirect = fileService.getRedirect(fileName, imageVariant);
+        if (redirect.isPresent()) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(redirect.get().url()))
+                    .cacheControl(redirect.get().maxAgeSeconds() > 0
+                            ? CacheControl.maxAge(redirect.get().maxAgeSeconds(), TimeUnit.SECONDS).cachePrivate()
+                            : CacheControl.noCache())
+                    .build();
+        }
+
+        StoredFile file = fileService.getFile(fileName, imageVariant);
+        // Uploaded files are named "<sha-256>.<ext>" after their content, so the bytes behind a name never
+        // change and clients may cache them for a year as immutable;
+        // an original standing in for a pending variant must be revalidated instead.
+        // With ETag/Last-Modified set, Spring answers conditional requests with 304 and Range requests with 206.
+        CacheControl cacheControl = file.immutable()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+        return ResponseEntity.ok()
+                .contentType(file.contentType())
+                .eTag(file.etag())
+                .lastModified(file.lastModified())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(file.resource());
     }
 }
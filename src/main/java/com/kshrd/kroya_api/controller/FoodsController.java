@@ -21,6 +21,7 @@ public class FoodsController {
             summary = "📦 Get All Foods by Category",
             description = """
                     Fetches all foods within a specified category by `categoryId`. 
+                    Results are keyset-paginated: pass `paginationMeta.nextCursor` back as `cursor` to fetch the next page.
                     
                     **📩 Response Summary**:
                     - **200**: ✅ Foods fetched successfully.
@@ -29,22 +30,28 @@ public class FoodsController {
                     """
     )
     @GetMapping("/{categoryId}")
-    public BaseResponse<?> getAllFoodsByCategory(@PathVariable Long categoryId) {
-        return foodsService.getAllFoodsByCategory(categoryId);
+    public BaseResponse<?> getAllFoodsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return foodsService.getAllFoodsByCategory(categoryId, cursor, size);
     }
 
     @Operation(
             summary = "🔥 Get Popular Foods",
             description = """
                     Fetches a list of the most popular foods based on average ratings. 
+                    Results are keyset-paginated: pass `paginationMeta.nextCursor` back as `cursor` to fetch the next page.
                     
                     **📩 Response Summary**:
                     - **200**: ✅ Popular foods fetched successfully.
                     """
     )
     @GetMapping("/popular")
-    public BaseResponse<?> getPopularFoods() {
-        return foodsService.getPopularFoods();
+    public BaseResponse<?> getPopularFoods(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return foodsService.getPopularFoods(cursor, size);
     }
 
     @Operation(
@@ -102,14 +109,17 @@ public class FoodsController {
             summary = "📋 Get All Foods",
             description = """
                     Retrieves a list of all available food items.
+                    Results are keyset-paginated: pass `paginationMeta.nextCursor` back as `cursor` to fetch the next page.
                     
                     **📩 Response Summary**:
                     - **200**: ✅ All foods fetched successfully.
                     """
     )
     @GetMapping("/list")
-    public BaseResponse<?> getAllFoods() {
-        return foodsService.getAllFoods();
+    public BaseResponse<?> getAllFoods(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return foodsService.getAllFoods(cursor, size);
     }
 }
 
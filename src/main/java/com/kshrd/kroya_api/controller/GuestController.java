@@ -20,38 +20,43 @@ public class GuestController {
 
     @Operation(
             summary = "🍲 Get All Food Sells",
-            description = "Fetches a list of all food sells available to guest users."
+            description = "Fetches a keyset-paginated list of all food sells available to guest users; pass `paginationMeta.nextCursor` as `cursor` for the next page."
     )
     @GetMapping("/food-sell/list")
-    public BaseResponse<?> getAllFoodSells() {
-        return guestUserService.getAllFoodSells();
+    public BaseResponse<?> getAllFoodSells(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return guestUserService.getAllFoodSells(cursor, size);
     }
 
     @Operation(
             summary = "📖 Get All Food Recipes",
-            description = "Retrieves a list of all food recipes available to guest users."
+            description = "Retrieves a keyset-paginated list of all food recipes available to guest users; pass `paginationMeta.nextCursor` as `cursor` for the next page."
     )
     @GetMapping("/food-recipe/list")
-    public BaseResponse<?> getAllFoodRecipe() {
-        return guestUserService.getAllFoodRecipes();
+    public BaseResponse<?> getAllFoodRecipe(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size) {
+        return guestUserService.getAllFoodRecipes(cursor, size);
     }
 
     @Operation(
             summary = "📂 Get Foods by Category",
-            description = "Retrieves all food items under a specific category based on the provided category ID."
+            description = "Retrieves a keyset-paginated list of food items under a specific category based on the provided category ID."
     )
     @GetMapping("/foods/{categoryId}")
-    public BaseResponse<?> getAllFoodsByCategory(@PathVariable Long categoryId) {
-        return guestUserService.getAllFoodsByCategory(categoryId);
+    public BaseResponse<?> getAllFoodsByCategory(@PathVariable Long categoryId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return guestUserService.getAllFoodsByCategory(categoryId, cursor, size);
     }
 
     @Operation(
             summary = "🌟 Get Popular Foods",
-            description = "Retrieves a list of the most popular food items."
+            description = "Retrieves a keyset-paginated list of the most popular food items, ordered by average rating."
     )
     @GetMapping("/foods/popular")
-    public BaseResponse<?> getPopularFoods() {
-        return guestUserService.getPopularFoods();
+    public BaseResponse<?> getPopularFoods(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return guestUserService.getPopularFoods(cursor, size);
     }
 
     @Operation(
@@ -128,13 +133,32 @@ public class GuestController {
         return guestUserService.getAllFoodName();
     }
 
+    @Operation(
+            summary = "⌨️ Autocomplete Food Names",
+            description = """
+                    Suggests food names that start with the typed text (at any word), best rated first.
+                    - **Query Parameter**: **prefix**: Text typed so far.
+                    - **Query Parameter**: **limit**: Maximum number of suggestions (1-20, default 10).
+
+                    **📩 Response Summary**:
+                    - **200**: ✅ Suggestions retrieved successfully (empty when nothing matches).
+                    - **400**: ❌ Invalid limit.
+                    """
+    )
+    @GetMapping("/foods/autocomplete")
+    public BaseResponse<?> autocompleteFoodNames(@RequestParam String prefix,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        return guestUserService.autocompleteFoodNames(prefix, limit);
+    }
+
     @Operation(
             summary = "📋 Get All Foods",
-            description = "Fetches a comprehensive list of all foods available to guest users."
+            description = "Fetches a keyset-paginated list of all foods available to guest users."
     )
     @GetMapping("/foods/list")
-    public BaseResponse<?> getAllFoods() {
-        return guestUserService.getAllFoods();
+    public BaseResponse<?> getAllFoods(@RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "20") int size) {
+        return guestUserService.getAllFoods(cursor, size);
     }
 
     @Operation(
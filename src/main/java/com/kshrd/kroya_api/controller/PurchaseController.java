@@ -0,0 +1,98 @@
+package com.kshrd.kroya_api.controller;
+
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.FoodSell.BuyerOrderCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.SellerOrderCardResponse;
+import com.kshrd.kroya_api.payload.Purchase.PurchaseRequest;
+import com.kshrd.kroya_api.payload.Receipt.ReceiptResponse;
+import com.kshrd.kroya_api.service.Purchase.PurchaseService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/purchase")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "https://krorya-dashbaord.vercel.app"})
+public class PurchaseController {
+
+    private final PurchaseService purchaseService;
+
+    @Operation(
+            summary = "🛒 Order a Food Sell",
+            description = """
+                    Places an order and reserves its portions from the food sell; the order stays PENDING until the seller answers.
+                    **📩 Request Body**:
+                    - **purchaseRequest**: food sell ID, quantity, payment type (CASH or KHQR) and an optional remark.
+
+                    **📩 Response Summary**:
+                    - **201**: ✅ Order placed successfully.
+                    - **400**: 🚫 Not enough portions left, or the food sell is no longer orderable.
+                    - **403**: 🚫 The food sell belongs to the current user.
+                    - **404**: 🚫 Food sell not found.
+                    """
+    )
+    @PostMapping
+    public BaseResponse<BuyerOrderCardResponse> createPurchase(@RequestBody PurchaseRequest purchaseRequest) {
+        return purchaseService.createPurchase(purchaseRequest);
+    }
+
+    @Operation(
+            summary = "✅ Accept or Reject an Order",
+            description = """
+                    Moves a PENDING order to ACCEPTED, which issues its receipt, or to REJECTED, which gives its portions back.
+                    - **Path Variable**: **purchaseId**: ID of the order.
+                    - **Query Parameter**: **status**: ACCEPTED or REJECTED.
+
+                    **📩 Response Summary**:
+                    - **200**: ✅ Order accepted (receipt in the payload) or rejected.
+                    - **400**: 🚫 The order was already accepted or rejected.
+                    - **403**: 🚫 The order is not for a food sell of the current user.
+                    """
+    )
+    @PutMapping("/{purchaseId}/status")
+    public BaseResponse<?> updatePurchaseStatus(@PathVariable Long purchaseId, @RequestParam PurchaseStatusType status) {
+        return purchaseService.updatePurchaseStatus(purchaseId, status);
+    }
+
+    @Operation(
+            summary = "📦 Get My Orders",
+            description = "Retrieves the orders placed by the current user, newest first."
+    )
+    @GetMapping("/orders")
+    public BaseResponse<List<BuyerOrderCardResponse>> getBuyerOrders() {
+        return purchaseService.getBuyerOrders();
+    }
+
+    @Operation(
+            summary = "🧾 Get Orders of My Food Sells",
+            description = "Retrieves the food sells of the current user that have pending orders, with their pending order count."
+    )
+    @GetMapping("/sales")
+    public BaseResponse<List<SellerOrderCardResponse>> getSellerOrders() {
+        return purchaseService.getSellerOrders();
+    }
+
+    @Operation(
+            summary = "⏳ Get Pending Orders of a Food Sell",
+            description = "Retrieves the pending orders of one of the current user's food sells, oldest first."
+    )
+    @GetMapping("/sales/{foodSellId}")
+    public BaseResponse<List<BuyerOrderCardResponse>> getPendingOrdersOfFoodSell(@PathVariable Long foodSellId) {
+        return purchaseService.getPendingOrdersOfFoodSell(foodSellId);
+    }
+
+    @Operation(
+            summary = "🧾 Get the Receipt of an Order",
+            description = "Retrieves the receipt of an accepted order, for its buyer or its seller."
+    )
+    @GetMapping("/{purchaseId}/receipt")
+    public BaseResponse<ReceiptResponse> getReceipt(@PathVariable Long purchaseId) {
+        return purchaseService.getReceipt(purchaseId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kshrd.kroya_api.dto;
 
+import com.kshrd.kroya_api.service.File.ImageVariant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,4 +11,13 @@ import lombok.NoArgsConstructor;
 public class PhotoDTO {
     private Long photoId;
     private String photo;
+
+    // Card-sized rendition of the photo, for list screens
+    private String cardPhoto;
+
+    public PhotoDTO(Long photoId, String photo) {
+        this.photoId = photoId;
+        this.photo = photo;
+        this.cardPhoto = ImageVariant.CARD.urlOf(photo);
+    }
 }
\ No newline at end of file
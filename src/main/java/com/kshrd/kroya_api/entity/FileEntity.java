@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Setter
@@ -16,9 +18,26 @@ public class FileEntity {
     @Column(name = "url")
     private String url;
 
+    // Unique through ux_file_tb_filename in db/indexes.sql, which uploads rely on to skip names already stored
     @Column(name = "filename")
     private String fileName;
 
+    // SHA-256 of the uploaded bytes, used to deduplicate identical uploads
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Photo and profile image references, recounted by FileGarbageCollector
+    @Column(name = "ref_count", insertable = false, columnDefinition = "integer default 0 not null")
+    private Integer refCount;
+
+    // Last time an upload returned this file; unreferenced files are kept for a grace period after it
+    @Column(name = "uploaded_at", insertable = false, columnDefinition = "timestamp default now()")
+    private LocalDateTime uploadedAt;
+
+    // Comma-separated image variants generated for this upload, e.g. "thumb,card,full"
+    @Column(name = "variants", length = 64)
+    private String variants;
+
     public FileEntity() {
     }
 
@@ -14,7 +14,24 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Every association is lazy; the repository queries pick what to load with the named entity graphs
+ * and the remaining lazy loads are batched by hibernate.default_batch_fetch_size. The graphs that load the
+ * owner also join UserEntity.code: an inverse one-to-one cannot be lazy, and Hibernate would otherwise
+ * select code_tb once per owner.
+ */
 @Entity
+@NamedEntityGraph(name = FoodRecipeEntity.OWNER_GRAPH, attributeNodes = @NamedAttributeNode("user"))
+@NamedEntityGraph(name = FoodRecipeEntity.CARD_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "user", subgraph = "owner"),
+        @NamedAttributeNode("photos")
+}, subgraphs = @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("code")))
+@NamedEntityGraph(name = FoodRecipeEntity.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "user", subgraph = "owner"),
+        @NamedAttributeNode("photos"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("cuisine")
+}, subgraphs = @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("code")))
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -23,6 +40,15 @@ import java.util.List;
 @Table(name = "food_recipe_tb")
 public class FoodRecipeEntity {
 
+    // Owner only, for ownership checks
+    public static final String OWNER_GRAPH = "FoodRecipe.owner";
+
+    // Owner and photos, for card listings
+    public static final String CARD_GRAPH = "FoodRecipe.card";
+
+    // Everything a detail response shows
+    public static final String DETAIL_GRAPH = "FoodRecipe.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
@@ -48,34 +74,50 @@ public class FoodRecipeEntity {
     @Column(name = "cooking_steps", columnDefinition = "jsonb")
     private List<CookingStep> cookingSteps;
 
-    @Column(name = "total_raters")
+    // Rating columns are maintained with SQL by RatingHistogram, never by saving the entity
+    @Column(name = "total_raters", updatable = false)
     private Integer totalRaters;
 
-    @Column(name = "average_rating")
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
 
+    @Column(name = "rating_count_1", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer ratingCount1;
+
+    @Column(name = "rating_count_2", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer ratingCount2;
+
+    @Column(name = "rating_count_3", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer ratingCount3;
+
+    @Column(name = "rating_count_4", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer ratingCount4;
+
+    @Column(name = "rating_count_5", insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer ratingCount5;
+
     @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "timestamp default now()")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;  // Add this field
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     @JsonIgnore
     private CategoryEntity category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cuisine_id")
     @JsonIgnore
     private CuisineEntity cuisine;
 
-    @OneToMany(mappedBy = "foodRecipe", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "foodRecipe", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PhotoEntity> photos = new ArrayList<>();
 
     @OneToMany(mappedBy = "foodRecipe", cascade = CascadeType.ALL, orphanRemoval = true)
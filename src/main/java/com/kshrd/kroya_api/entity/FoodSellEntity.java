@@ -10,6 +10,27 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = FoodSellEntity.OWNER_GRAPH, attributeNodes = @NamedAttributeNode("foodRecipe"))
+@NamedEntityGraph(name = FoodSellEntity.CARD_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "foodRecipe", subgraph = "recipe"),
+        subgraphs = {
+                @NamedSubgraph(name = "recipe", attributeNodes = {
+                        @NamedAttributeNode(value = "user", subgraph = "owner"),
+                        @NamedAttributeNode("photos")
+                }),
+                @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("code"))
+        })
+@NamedEntityGraph(name = FoodSellEntity.DETAIL_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "foodRecipe", subgraph = "recipe"),
+        subgraphs = {
+                @NamedSubgraph(name = "recipe", attributeNodes = {
+                        @NamedAttributeNode(value = "user", subgraph = "owner"),
+                        @NamedAttributeNode("photos"),
+                        @NamedAttributeNode("category"),
+                        @NamedAttributeNode("cuisine")
+                }),
+                @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("code"))
+        })
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,6 +39,15 @@ import java.util.List;
 @Table(name = "food_sell_tb")
 public class FoodSellEntity {
 
+    // Recipe only, whose user_id owns the food sell, for ownership checks
+    public static final String OWNER_GRAPH = "FoodSell.owner";
+
+    // Recipe with its owner and photos, for card listings
+    public static final String CARD_GRAPH = "FoodSell.card";
+
+    // Recipe with everything a detail response shows
+    public static final String DETAIL_GRAPH = "FoodSell.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
@@ -26,7 +56,8 @@ public class FoodSellEntity {
     @Column(name = "date_cooking")
     private LocalDateTime dateCooking;
 
-    @Column(name = "amount")
+    // Portions left; changed only by the conditional UPDATEs in FoodSellRepository, never by saving the entity
+    @Column(name = "amount", updatable = false)
     private Integer amount;
 
     @Column(name = "price")
@@ -38,7 +69,7 @@ public class FoodSellEntity {
     @Column(name = "is_orderable")
     private Boolean isOrderable;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "food_recipe_id")
     private FoodRecipeEntity foodRecipe;
 
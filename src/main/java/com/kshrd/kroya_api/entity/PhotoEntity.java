@@ -26,7 +26,7 @@ public class PhotoEntity {
     @Builder.Default
     private String photo = "default.jpg";
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "food_recipe_id")
     @JsonIgnore
     private FoodRecipeEntity foodRecipe;
@@ -0,0 +1,65 @@
+package com.kshrd.kroya_api.entity;
+
+import com.kshrd.kroya_api.enums.PaymentType;
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@NamedEntityGraph(name = PurchaseEntity.CARD_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("buyer"),
+                @NamedAttributeNode(value = "foodSell", subgraph = "sell")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "sell", attributeNodes = @NamedAttributeNode(value = "foodRecipe", subgraph = "recipe")),
+                @NamedSubgraph(name = "recipe", attributeNodes = {
+                        @NamedAttributeNode("user"),
+                        @NamedAttributeNode("photos")
+                })
+        })
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "purchase_tb")
+public class PurchaseEntity {
+
+    // Buyer and the food sell with its recipe, seller and photos, for order cards, receipts and seller checks
+    public static final String CARD_GRAPH = "Purchase.card";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "created_date", columnDefinition = "timestamp default now()")
+    private LocalDateTime createdDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type")
+    private PaymentType paymentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "purchase_status_type")
+    private PurchaseStatusType purchaseStatusType;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "remark")
+    private String remark;
+
+    @Column(name = "total_price")
+    private Double totalPrice;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "buyer_id", nullable = false)
+    private UserEntity buyer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "food_sell_id")
+    private FoodSellEntity foodSell;
+}
@@ -5,7 +5,9 @@ import com.kshrd.kroya_api.enums.PaymentType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -33,4 +35,10 @@ public class RecipeEntity {
     @Column(name = "status")
     private String status;
 
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_id", unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PurchaseEntity purchase;
+
 }
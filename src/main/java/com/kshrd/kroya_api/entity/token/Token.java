@@ -6,6 +6,8 @@ import com.kshrd.kroya_api.enums.TokenType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +32,10 @@ public class Token {
     @Column(name = "token_revoked")
     public boolean tokenRevoked;
 
+    // JWT exp claim; rows past it are purged by TokenPurger
+    @Column(name = "expires_at")
+    public LocalDateTime expiresAt;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "token_type")
     public TokenType tokenType = TokenType.BEARER;
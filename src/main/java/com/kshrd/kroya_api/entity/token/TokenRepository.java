@@ -1,18 +1,45 @@
 package com.kshrd.kroya_api.entity.token;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface TokenRepository extends JpaRepository<Token, Integer> {
     Optional<Token> findByToken(String token);
 
+    // Served by the partial index ix_token_tb_user_id_active
     @Query(value = """
-            select t from Token t inner join UserEntity u\s
-            on t.user.id = u.id\s
-            where u.id = :id and (t.tokenExpired = false or t.tokenRevoked = false)\s
+            select t.token from Token t\s
+            where t.user.id = :id and t.tokenExpired = false and t.tokenRevoked = false\s
             """)
-    List<Token> findAllValidTokenByUser(Integer id);
+    List<String> findAllValidTokenValuesByUser(@Param("id") Integer id);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            update Token t set t.tokenExpired = true, t.tokenRevoked = true\s
+            where t.user.id = :id and t.tokenExpired = false and t.tokenRevoked = false\s
+            """)
+    int revokeAllValidTokensByUser(@Param("id") Integer id);
+
+    // Deletes one batch of tokens past their exp; legacy rows without exp go once they are revoked or expired
+    @Modifying
+    @Transactional
+    @Query(value = """
+            delete from token_tb
+            where token_id in (
+                select token_id from token_tb
+                where expires_at < :now
+                   or (expires_at is null and (token_expired or token_revoked))
+                limit :batchSize
+                for update skip locked
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,40 @@
+package com.kshrd.kroya_api.mapper;
+
+import com.kshrd.kroya_api.dto.UserDTO;
+import com.kshrd.kroya_api.entity.FeedbackEntity;
+import com.kshrd.kroya_api.payload.Feedback.FeedbackResponse;
+import com.kshrd.kroya_api.repository.Feedback.FeedbackComment;
+
+/**
+ * Plain getter/setter mapping for feedback payloads, used instead of ModelMapper.
+ */
+public final class FeedbackMapper {
+
+    private FeedbackMapper() {
+    }
+
+    public static FeedbackResponse toFeedbackResponse(FeedbackEntity feedback) {
+        FeedbackResponse response = new FeedbackResponse();
+        response.setFeedbackId(feedback.getId());
+        response.setUser(UserMapper.toUserDTO(feedback.getUser()));
+        response.setRatingValue(feedback.getRatingValue());
+        response.setCommentText(feedback.getCommentText());
+        response.setCreatedAt(feedback.getCreatedAt());
+        return response;
+    }
+
+    public static FeedbackResponse toFeedbackResponse(FeedbackComment comment) {
+        FeedbackResponse response = new FeedbackResponse();
+        response.setFeedbackId(comment.getId());
+        response.setUser(new UserDTO(
+                comment.getUserId(),
+                comment.getUserFullName(),
+                comment.getUserProfileImage(),
+                comment.getUserRole(),
+                Boolean.TRUE.equals(comment.getUserDeleted())));
+        response.setRatingValue(comment.getRatingValue());
+        response.setCommentText(comment.getCommentText());
+        response.setCreatedAt(comment.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,185 @@
+package com.kshrd.kroya_api.mapper;
+
+import com.kshrd.kroya_api.dto.FoodRecipeDTO;
+import com.kshrd.kroya_api.dto.PhotoDTO;
+import com.kshrd.kroya_api.dto.UserDTO;
+import com.kshrd.kroya_api.dto.UserProfileDTO;
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.enums.CurrencyType;
+import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
+import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeResponse;
+import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.FoodSellResponse;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain getter/setter mapping from recipe and sell entities to their payloads. Cards are built for
+ * every item of every feed, where reflective mapping dominated the cost of a page. Only the
+ * associations a payload shows are read (user, photos, cuisine, category).
+ * Per-user fields (isFavorite) and computed ones (isOrderable on cards, ratingPercentages) are left to the callers.
+ */
+public final class FoodMapper {
+
+    private FoodMapper() {
+    }
+
+    public static List<PhotoDTO> toPhotoDTOs(FoodRecipeEntity recipe) {
+        List<PhotoDTO> photos = new ArrayList<>(recipe.getPhotos().size());
+        recipe.getPhotos().forEach(photo -> photos.add(new PhotoDTO(photo.getId(), photo.getPhoto())));
+        return photos;
+    }
+
+    public static FoodRecipeCardResponse toRecipeCard(FoodRecipeEntity recipe) {
+        FoodRecipeCardResponse response = new FoodRecipeCardResponse();
+        response.setId(recipe.getId());
+        response.setPhoto(toPhotoDTOs(recipe));
+        response.setName(recipe.getName());
+        response.setDescription(recipe.getDescription());
+        response.setLevel(recipe.getLevel());
+        response.setDurationInMinutes(recipe.getDurationInMinutes());
+        response.setAverageRating(recipe.getAverageRating());
+        response.setTotalRaters(recipe.getTotalRaters());
+        response.setUser(UserMapper.toUserDTO(recipe.getUser()));
+        return response;
+    }
+
+    /**
+     * Sell card with the name, photos and rating of the linked recipe; isOrderable is the stored flag.
+     */
+    public static FoodSellCardResponse toSellCard(FoodSellEntity sell) {
+        FoodRecipeEntity recipe = sell.getFoodRecipe();
+        FoodSellCardResponse response = new FoodSellCardResponse();
+        response.setFoodSellId(sell.getId());
+        response.setPhoto(toPhotoDTOs(recipe));
+        response.setName(recipe.getName());
+        response.setDateCooking(sell.getDateCooking());
+        response.setPrice(sell.getPrice());
+        response.setCurrencyType(toCurrencyType(sell.getCurrencyType()));
+        response.setAverageRating(recipe.getAverageRating());
+        response.setTotalRaters(recipe.getTotalRaters());
+        response.setIsOrderable(sell.getIsOrderable());
+        response.setSellerInformation(UserMapper.toUserProfileDTO(recipe.getUser()));
+        return response;
+    }
+
+    /**
+     * Recipe card from the card projection, which carries the owner and photos as plain columns.
+     */
+    public static FoodRecipeCardResponse toRecipeCard(FoodRecipeCard card) {
+        FoodRecipeCardResponse response = new FoodRecipeCardResponse();
+        response.setId(card.getId());
+        response.setPhoto(toPhotoDTOs(card.getPhotoIds(), card.getPhotoUrls()));
+        response.setName(card.getName());
+        response.setDescription(card.getDescription());
+        response.setLevel(card.getLevel());
+        response.setDurationInMinutes(card.getDurationInMinutes());
+        response.setAverageRating(card.getAverageRating());
+        response.setTotalRaters(card.getTotalRaters());
+        response.setUser(new UserDTO(
+                card.getUserId(),
+                card.getUserFullName(),
+                card.getUserProfileImage(),
+                card.getUserRole(),
+                Boolean.TRUE.equals(card.getUserDeleted())));
+        return response;
+    }
+
+    /**
+     * Sell card from the card projection; isOrderable is the stored flag.
+     */
+    public static FoodSellCardResponse toSellCard(FoodSellCard card) {
+        FoodSellCardResponse response = new FoodSellCardResponse();
+        response.setFoodSellId(card.getId());
+        response.setPhoto(toPhotoDTOs(card.getPhotoIds(), card.getPhotoUrls()));
+        response.setName(card.getName());
+        response.setDateCooking(card.getDateCooking());
+        response.setPrice(card.getPrice());
+        response.setCurrencyType(toCurrencyType(card.getCurrencyType()));
+        response.setAverageRating(card.getAverageRating());
+        response.setTotalRaters(card.getTotalRaters());
+        response.setIsOrderable(card.getIsOrderable());
+        response.setSellerInformation(UserProfileDTO.builder()
+                .userId(card.getSellerId() != null ? Long.valueOf(card.getSellerId()) : null)
+                .fullName(card.getSellerFullName())
+                .phoneNumber(card.getSellerPhoneNumber())
+                .profileImage(card.getSellerProfileImage())
+                .build());
+        return response;
+    }
+
+    public static FoodRecipeResponse toRecipeResponse(FoodRecipeEntity recipe) {
+        FoodRecipeResponse response = new FoodRecipeResponse();
+        response.setId(recipe.getId() != null ? recipe.getId().intValue() : null);
+        response.setPhoto(toPhotoDTOs(recipe));
+        response.setName(recipe.getName());
+        response.setDescription(recipe.getDescription());
+        response.setDurationInMinutes(recipe.getDurationInMinutes());
+        response.setLevel(recipe.getLevel());
+        response.setCuisineName(recipe.getCuisine() != null ? recipe.getCuisine().getCuisineName() : null);
+        response.setCategoryName(recipe.getCategory() != null ? recipe.getCategory().getCategoryName() : null);
+        response.setIngredients(recipe.getIngredients());
+        response.setCookingSteps(recipe.getCookingSteps());
+        response.setTotalRaters(recipe.getTotalRaters());
+        response.setAverageRating(recipe.getAverageRating());
+        response.setUser(UserMapper.toUserDTO(recipe.getUser()));
+        response.setCreatedAt(recipe.getCreatedAt());
+        return response;
+    }
+
+    public static FoodRecipeDTO toRecipeDTO(FoodRecipeEntity recipe) {
+        FoodRecipeDTO dto = new FoodRecipeDTO();
+        dto.setId(recipe.getId());
+        dto.setPhoto(toPhotoDTOs(recipe));
+        dto.setName(recipe.getName());
+        dto.setDescription(recipe.getDescription());
+        dto.setDurationInMinutes(recipe.getDurationInMinutes());
+        dto.setLevel(recipe.getLevel());
+        dto.setCuisineName(recipe.getCuisine() != null ? recipe.getCuisine().getCuisineName() : null);
+        dto.setCategoryName(recipe.getCategory() != null ? recipe.getCategory().getCategoryName() : null);
+        dto.setIngredients(recipe.getIngredients());
+        dto.setCookingSteps(recipe.getCookingSteps());
+        dto.setTotalRaters(recipe.getTotalRaters());
+        dto.setAverageRating(recipe.getAverageRating());
+        dto.setCreatedAt(recipe.getCreatedAt());
+        dto.setUser(UserMapper.toUserDTO(recipe.getUser()));
+        return dto;
+    }
+
+    /**
+     * Sell detail including its recipe; isOrderable is the stored flag.
+     */
+    public static FoodSellResponse toSellResponse(FoodSellEntity sell) {
+        FoodSellResponse response = new FoodSellResponse();
+        response.setId(sell.getId());
+        response.setFoodRecipeDTO(sell.getFoodRecipe() != null ? toRecipeDTO(sell.getFoodRecipe()) : null);
+        response.setDateCooking(sell.getDateCooking());
+        response.setAmount(sell.getAmount());
+        response.setPrice(sell.getPrice());
+        response.setCurrencyType(toCurrencyType(sell.getCurrencyType()));
+        response.setIsOrderable(sell.getIsOrderable());
+        return response;
+    }
+
+    // Splits the aggregated photo columns of the card projections
+    private static List<PhotoDTO> toPhotoDTOs(String photoIds, String photoUrls) {
+        if (photoIds == null || photoUrls == null) {
+            return new ArrayList<>();
+        }
+        String[] ids = photoIds.split(",");
+        String[] urls = photoUrls.split("\n", -1);
+        List<PhotoDTO> photos = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length && i < urls.length; i++) {
+            photos.add(new PhotoDTO(Long.valueOf(ids[i]), urls[i]));
+        }
+        return photos;
+    }
+
+    private static CurrencyType toCurrencyType(String currencyType) {
+        return currencyType != null ? CurrencyType.valueOf(currencyType) : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.kshrd.kroya_api.mapper;
+
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.PurchaseEntity;
+import com.kshrd.kroya_api.entity.RecipeEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.enums.FoodCardType;
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import com.kshrd.kroya_api.payload.FoodSell.BuyerOrderCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.SellerOrderCardResponse;
+import com.kshrd.kroya_api.payload.Receipt.ReceiptResponse;
+
+/**
+ * Plain mapping for order cards and receipts. Purchases are expected to be loaded with
+ * PurchaseEntity.CARD_GRAPH; isOrderable is computed by the callers from the clock.
+ */
+public final class PurchaseMapper {
+
+    private PurchaseMapper() {
+    }
+
+    public static BuyerOrderCardResponse toBuyerOrderCard(PurchaseEntity purchase, PurchaseStatusType status,
+                                                          boolean isOrderable) {
+        FoodSellEntity sell = purchase.getFoodSell();
+        return BuyerOrderCardResponse.builder()
+                .purchaseId(purchase.getId())
+                .foodSellId(sell.getId())
+                .name(sell.getFoodRecipe().getName())
+                .photo(FoodMapper.toPhotoDTOs(sell.getFoodRecipe()))
+                .quantity(String.valueOf(purchase.getQuantity()))
+                .totalPrice(purchase.getTotalPrice())
+                .dateCooking(sell.getDateCooking())
+                .isOrderable(isOrderable)
+                .foodCardType(FoodCardType.ORDER)
+                .purchaseStatusType(status)
+                .purchaseDate(purchase.getCreatedDate())
+                .build();
+    }
+
+    public static SellerOrderCardResponse toSellerOrderCard(FoodSellEntity sell, long orderCount, boolean isOrderable) {
+        return SellerOrderCardResponse.builder()
+                .foodSellId(sell.getId())
+                .name(sell.getFoodRecipe().getName())
+                .price(sell.getPrice())
+                .orderCount(Math.toIntExact(orderCount))
+                .photo(FoodMapper.toPhotoDTOs(sell.getFoodRecipe()))
+                .dateCooking(sell.getDateCooking())
+                .isOrderable(isOrderable)
+                .foodCardType(FoodCardType.SALE)
+                .build();
+    }
+
+    public static ReceiptResponse toReceiptResponse(RecipeEntity receipt, PurchaseEntity purchase) {
+        UserEntity seller = purchase.getFoodSell().getFoodRecipe().getUser();
+        return ReceiptResponse.builder()
+                .recipeId(receipt.getId())
+                .purchaseId(purchase.getId())
+                .foodSellCardResponse(FoodMapper.toSellCard(purchase.getFoodSell()))
+                .reference(receipt.getReference())
+                .orderDate(purchase.getCreatedDate())
+                .paidBy(receipt.getPaidBy())
+                .payer(purchase.getBuyer().getFullName())
+                .seller(seller.getFullName())
+                .sellerPhoneNumber(seller.getPhoneNumber())
+                .quantity(String.valueOf(purchase.getQuantity()))
+                .totalPrice(purchase.getTotalPrice())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.kshrd.kroya_api.mapper;
+
+import com.kshrd.kroya_api.dto.UserDTO;
+import com.kshrd.kroya_api.dto.UserProfileDTO;
+import com.kshrd.kroya_api.entity.UserEntity;
+
+/**
+ * Plain getter/setter mapping for user payloads, used instead of ModelMapper on list endpoints.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDTO toUserDTO(UserEntity user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(
+                user.getId(),
+                user.getFullName(),
+                user.getProfileImage(),
+                user.getRole(),
+                user.isDeleted());
+    }
+
+    public static UserProfileDTO toUserProfileDTO(UserEntity user) {
+        if (user == null) {
+            return null;
+        }
+        return UserProfileDTO.builder()
+                .userId(Long.valueOf(user.getId()))
+                .fullName(user.getFullName())
+                .phoneNumber(user.getPhoneNumber())
+                .profileImage(user.getProfileImage())
+                .build();
+    }
+}
@@ -1,17 +1,41 @@
 package com.kshrd.kroya_api.payload.Category;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginationMeta {
-    private long totalCategories;
-    private int totalPages;
-    private int currentPage;
-    private int size;
+    private Long totalCategories;
+    private Integer totalPages;
+    private Integer currentPage;
+    private Integer size;
     private String nextLink;
     private String prevLink;
-}
\ No newline at end of file
+
+    // Opaque keyset continuation token, only set on cursor-paginated listings
+    private String nextCursor;
+
+    public PaginationMeta(long totalCategories, int totalPages, int currentPage, int size, String nextLink, String prevLink) {
+        this.totalCategories = totalCategories;
+        this.totalPages = totalPages;
+        this.currentPage = currentPage;
+        this.size = size;
+        this.nextLink = nextLink;
+        this.prevLink = prevLink;
+    }
+
+    public static PaginationMeta ofCursor(String path, int size, String nextCursor) {
+        PaginationMeta paginationMeta = new PaginationMeta();
+        paginationMeta.setSize(size);
+        paginationMeta.setNextCursor(nextCursor);
+        if (nextCursor != null && path != null) {
+            // The path may already carry query parameters (e.g. itemType)
+            String separator = path.contains("?") ? "&" : "?";
+            paginationMeta.setNextLink(String.format("%s%ssize=%d&cursor=%s", path, separator, size, nextCursor));
+        }
+        return paginationMeta;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kshrd.kroya_api.payload.Favorite;
+
+import com.kshrd.kroya_api.enums.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FavoriteChange {
+
+    private Long foodId;
+
+    private ItemType itemType;
+
+    private Boolean favorite; // true to favorite, false to unfavorite
+}
@@ -0,0 +1,16 @@
+package com.kshrd.kroya_api.payload.Favorite;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FavoriteSyncRequest {
+
+    // Applied in order; the last change for an item wins
+    private List<FavoriteChange> changes;
+}
@@ -0,0 +1,23 @@
+package com.kshrd.kroya_api.payload.Favorite;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ids whose favorite state actually changed; the other requested items were already in the requested
+ * state, do not exist, or are recipes sold as a food sell.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FavoriteSyncResponse {
+    private List<Long> addedRecipeIds;
+    private List<Long> addedSellIds;
+    private List<Long> removedRecipeIds;
+    private List<Long> removedSellIds;
+}
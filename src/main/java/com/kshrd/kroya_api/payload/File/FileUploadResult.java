@@ -0,0 +1,29 @@
+package com.kshrd.kroya_api.payload.File;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FileUploadResult {
+
+    public enum Status {
+        UPLOADED,
+        // Same content was already stored; url points at the existing file
+        DUPLICATE,
+        FAILED
+    }
+
+    private String originalFileName;
+    private Status status;
+    private String url;
+    private String error;
+
+    public static FileUploadResult failed(String originalFileName, String error) {
+        return new FileUploadResult(originalFileName, Status.FAILED, null, error);
+    }
+}
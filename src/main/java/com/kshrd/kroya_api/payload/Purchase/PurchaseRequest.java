@@ -0,0 +1,20 @@
+package com.kshrd.kroya_api.payload.Purchase;
+
+import com.kshrd.kroya_api.enums.PaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseRequest {
+
+    private Long foodSellId;
+
+    private Integer quantity;
+
+    private PaymentType paymentType;
+
+    private String remark; // Optional note for the seller
+}
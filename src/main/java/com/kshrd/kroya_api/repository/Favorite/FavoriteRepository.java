@@ -1,26 +1,18 @@
 package com.kshrd.kroya_api.repository.Favorite;
 
 import com.kshrd.kroya_api.entity.FavoriteEntity;
-import com.kshrd.kroya_api.entity.FoodRecipeEntity;
-import com.kshrd.kroya_api.entity.FoodSellEntity;
 import com.kshrd.kroya_api.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Optional;
-
-public interface FavoriteRepository extends JpaRepository<FavoriteEntity, Long> {
-    Optional<FavoriteEntity> findByUserAndFoodRecipe(UserEntity user, FoodRecipeEntity foodRecipe);
-
-    Optional<FavoriteEntity> findByUserAndFoodSell(UserEntity user, FoodSellEntity foodSell);
-
-    List<FavoriteEntity> findByUserAndFoodRecipeIsNotNull(UserEntity currentUser);
-
-    List<FavoriteEntity> findByUserAndFoodSellIsNotNull(UserEntity currentUser);
 
+public interface FavoriteRepository extends JpaRepository<FavoriteEntity, Long>, FavoriteRepositoryCustom {
     List<FavoriteEntity> findByUser(UserEntity currentUser);
 
-    boolean existsByUserAndFoodRecipe(UserEntity currentUser, FoodRecipeEntity savedRecipe);
-
-    boolean existsByUserAndFoodSell(UserEntity currentUser, FoodSellEntity savedFoodSell);
+    // Foreign keys only, read from favorite_tb through ix_favorite_tb_user_id without joining the targets
+    @Query(value = "SELECT food_recipe_id AS foodRecipeId, food_sell_id AS foodSellId FROM favorite_tb WHERE user_id = :userId",
+            nativeQuery = true)
+    List<FavoriteTarget> findTargetsByUserId(@Param("userId") Integer userId);
 }
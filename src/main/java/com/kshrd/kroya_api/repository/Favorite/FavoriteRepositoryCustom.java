@@ -0,0 +1,29 @@
+package com.kshrd.kroya_api.repository.Favorite;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FavoriteRepositoryCustom {
+
+    /**
+     * Favorites the existing recipes that are not sold as a food sell, one statement for the whole set.
+     * Rows already present are skipped by ux_favorite_tb_user_id_food_recipe_id; returns the ids actually added.
+     */
+    List<Long> addRecipes(Integer userId, Collection<Long> recipeIds, LocalDateTime favoriteDate);
+
+    /**
+     * Favorites the existing food sells, skipping rows already present; returns the ids actually added.
+     */
+    List<Long> addSells(Integer userId, Collection<Long> sellIds, LocalDateTime favoriteDate);
+
+    /**
+     * Deletes the user's favorites on the recipes; returns the ids actually removed.
+     */
+    List<Long> removeRecipes(Integer userId, Collection<Long> recipeIds);
+
+    /**
+     * Deletes the user's favorites on the food sells; returns the ids actually removed.
+     */
+    List<Long> removeSells(Integer userId, Collection<Long> sellIds);
+}
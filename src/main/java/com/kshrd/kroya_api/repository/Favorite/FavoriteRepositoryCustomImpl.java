@@ -0,0 +1,89 @@
+package com.kshrd.kroya_api.repository.Favorite;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FavoriteRepositoryCustomImpl implements FavoriteRepositoryCustom {
+
+    // ON CONFLICT without a target matches the partial unique indexes without repeating their predicates
+    private static final String ADD_RECIPES = """
+            INSERT INTO favorite_tb (user_id, food_recipe_id, favorite_date)
+            SELECT ?, r.id, ? FROM food_recipe_tb r
+            WHERE r.id = ANY (?)
+              AND NOT EXISTS (SELECT 1 FROM food_sell_tb s WHERE s.food_recipe_id = r.id)
+            ON CONFLICT DO NOTHING
+            RETURNING food_recipe_id
+            """;
+
+    private static final String ADD_SELLS = """
+            INSERT INTO favorite_tb (user_id, food_sell_id, favorite_date)
+            SELECT ?, s.id, ? FROM food_sell_tb s
+            WHERE s.id = ANY (?)
+            ON CONFLICT DO NOTHING
+            RETURNING food_sell_id
+            """;
+
+    private static final String REMOVE_RECIPES = """
+            DELETE FROM favorite_tb WHERE user_id = ? AND food_recipe_id = ANY (?)
+            RETURNING food_recipe_id
+            """;
+
+    private static final String REMOVE_SELLS = """
+            DELETE FROM favorite_tb WHERE user_id = ? AND food_sell_id = ANY (?)
+            RETURNING food_sell_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<Long> addRecipes(Integer userId, Collection<Long> recipeIds, LocalDateTime favoriteDate) {
+        return add(ADD_RECIPES, userId, recipeIds, favoriteDate);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> addSells(Integer userId, Collection<Long> sellIds, LocalDateTime favoriteDate) {
+        return add(ADD_SELLS, userId, sellIds, favoriteDate);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> removeRecipes(Integer userId, Collection<Long> recipeIds) {
+        return remove(REMOVE_RECIPES, userId, recipeIds);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> removeSells(Integer userId, Collection<Long> sellIds) {
+        return remove(REMOVE_SELLS, userId, sellIds);
+    }
+
+    private List<Long> add(String sql, Integer userId, Collection<Long> ids, LocalDateTime favoriteDate) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(sql, statement -> {
+            statement.setInt(1, userId);
+            statement.setTimestamp(2, Timestamp.valueOf(favoriteDate));
+            statement.setArray(3, statement.getConnection().createArrayOf("bigint", ids.toArray()));
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+    }
+
+    private List<Long> remove(String sql, Integer userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(sql, statement -> {
+            statement.setInt(1, userId);
+            statement.setArray(2, statement.getConnection().createArrayOf("bigint", ids.toArray()));
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+    }
+}
@@ -0,0 +1,10 @@
+package com.kshrd.kroya_api.repository.Favorite;
+
+/**
+ * Target ids of one favorite row; a favorite on a food sell may carry its recipe id too.
+ */
+public interface FavoriteTarget {
+    Long getFoodRecipeId();
+
+    Long getFoodSellId();
+}
@@ -0,0 +1,26 @@
+package com.kshrd.kroya_api.repository.Feedback;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feedback columns with the commenter's public profile, read without loading the entities.
+ */
+public interface FeedbackComment {
+    Long getId();
+
+    Integer getRatingValue();
+
+    String getCommentText();
+
+    LocalDateTime getCreatedAt();
+
+    Integer getUserId();
+
+    String getUserFullName();
+
+    String getUserProfileImage();
+
+    String getUserRole();
+
+    Boolean getUserDeleted();
+}
@@ -4,9 +4,13 @@ import com.kshrd.kroya_api.entity.FeedbackEntity;
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
 import com.kshrd.kroya_api.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,7 +33,35 @@ public interface FeedbackRepository extends JpaRepository<FeedbackEntity, Long>
 
     List<FeedbackEntity> findByFoodSellId(Long foodId);
 
-    List<FeedbackEntity> findByFoodRecipe(FoodRecipeEntity recipe);
+    // Keyset page of a recipe's comments, newest first; served by ix_feedback_tb_food_recipe_id_created_at
+    @Query(value = """
+            SELECT f.id AS id, f.rating_value AS ratingValue, f.comment_text AS commentText, f.created_at AS createdAt,
+                   u.id AS userId, u.user_name AS userFullName, u.profile_image AS userProfileImage,
+                   u.role AS userRole, u.is_deleted AS userDeleted
+            FROM feedback_tb f
+            JOIN user_tb u ON u.id = f.user_id
+            WHERE f.food_recipe_id = :foodRecipeId
+              AND (f.created_at, f.id) < (:createdAt, :lastId)
+            ORDER BY f.created_at DESC, f.id DESC
+            """, nativeQuery = true)
+    List<FeedbackComment> findCommentsByFoodRecipeIdBefore(@Param("foodRecipeId") Long foodRecipeId,
+                                                            @Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("lastId") Long lastId,
+                                                            Pageable pageable);
 
-    List<FeedbackEntity> findByFoodSell(FoodSellEntity sell);
+    // Keyset page of a food sell's comments, newest first; served by ix_feedback_tb_food_sell_id_created_at
+    @Query(value = """
+            SELECT f.id AS id, f.rating_value AS ratingValue, f.comment_text AS commentText, f.created_at AS createdAt,
+                   u.id AS userId, u.user_name AS userFullName, u.profile_image AS userProfileImage,
+                   u.role AS userRole, u.is_deleted AS userDeleted
+            FROM feedback_tb f
+            JOIN user_tb u ON u.id = f.user_id
+            WHERE f.food_sell_id = :foodSellId
+              AND (f.created_at, f.id) < (:createdAt, :lastId)
+            ORDER BY f.created_at DESC, f.id DESC
+            """, nativeQuery = true)
+    List<FeedbackComment> findCommentsByFoodSellIdBefore(@Param("foodSellId") Long foodSellId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("lastId") Long lastId,
+                                                          Pageable pageable);
 }
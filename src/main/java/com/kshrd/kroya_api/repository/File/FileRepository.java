@@ -2,11 +2,84 @@ package com.kshrd.kroya_api.repository.File;
 
 import com.kshrd.kroya_api.entity.FileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 @Service
-public interface FileRepository extends JpaRepository<FileEntity, Long> {
+public interface FileRepository extends JpaRepository<FileEntity, Long>, FileRepositoryCustom {
     FileEntity findByFileName(String filename);
+
+    List<FileEntity> findAllByFileNameIn(Collection<String> fileNames);
+
+    // Returns only the rows actually touched; a row the garbage collector deleted first is not among them
+    @Transactional
+    @Query(value = """
+            UPDATE file_tb
+            SET uploaded_at = :now
+            WHERE content_hash IN (:contentHashes)
+            RETURNING *
+            """, nativeQuery = true)
+    List<FileEntity> touchByContentHashIn(@Param("contentHashes") Collection<String> contentHashes,
+                                          @Param("now") LocalDateTime now);
+
+    // photo_tb.photo and user_tb.profile_image hold a file URL or a bare file name
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE file_tb f
+            SET ref_count = coalesce(r.refs, 0)
+            FROM file_tb target
+            LEFT JOIN (
+                SELECT refs.filename, count(*) AS refs
+                FROM (
+                    SELECT split_part(regexp_replace(p.photo, '^.*/', ''), '?', 1) AS filename FROM photo_tb p
+                    UNION ALL
+                    SELECT split_part(regexp_replace(u.profile_image, '^.*/', ''), '?', 1) FROM user_tb u
+                    WHERE u.profile_image IS NOT NULL
+                ) refs
+                GROUP BY refs.filename
+            ) r ON r.filename = target.filename
+            WHERE f.id = target.id AND f.ref_count <> coalesce(r.refs, 0)
+            """, nativeQuery = true)
+    int recountReferences();
+
+    @Query(value = """
+            SELECT * FROM file_tb
+            WHERE ref_count = 0 AND uploaded_at < :cutoff AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FileEntity> findUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
+
+    // Re-checks the references and the grace period at delete time, so a photo saved since the recount
+    // or an upload deduplicated onto the file since it was selected keeps its file
+    @Transactional
+    @Query(value = """
+            DELETE FROM file_tb f
+            WHERE f.id IN (:ids)
+              AND f.ref_count = 0
+              AND f.uploaded_at < :cutoff
+              AND NOT EXISTS (SELECT 1 FROM photo_tb p
+                              WHERE split_part(regexp_replace(p.photo, '^.*/', ''), '?', 1) = f.filename)
+              AND NOT EXISTS (SELECT 1 FROM user_tb u
+                              WHERE split_part(regexp_replace(u.profile_image, '^.*/', ''), '?', 1) = f.filename)
+            RETURNING f.filename
+            """, nativeQuery = true)
+    List<String> deleteUnreferenced(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE FileEntity f SET f.variants = :variants WHERE f.fileName = :fileName")
+    int updateVariantsByFileName(@Param("fileName") String fileName, @Param("variants") String variants);
 }
@@ -0,0 +1,15 @@
+package com.kshrd.kroya_api.repository.File;
+
+import com.kshrd.kroya_api.entity.FileEntity;
+
+import java.util.List;
+
+public interface FileRepositoryCustom {
+
+    /**
+     * Inserts the rows with one statement; file_tb uses identity ids, which Hibernate never batches.
+     * Rows whose file name is already stored, possibly by a concurrent upload, are skipped.
+     * Returns the file names of the rows actually inserted; generated ids are not read back.
+     */
+    List<String> insertAll(List<FileEntity> files);
+}
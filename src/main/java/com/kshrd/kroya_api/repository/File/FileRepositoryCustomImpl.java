@@ -0,0 +1,35 @@
+package com.kshrd.kroya_api.repository.File;
+
+import com.kshrd.kroya_api.entity.FileEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FileRepositoryCustomImpl implements FileRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<String> insertAll(List<FileEntity> files) {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                insert into file_tb (filename, url, content_hash)
+                select * from unnest(?::text[], ?::text[], ?::text[])
+                on conflict do nothing
+                returning filename
+                """, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("text",
+                    files.stream().map(FileEntity::getFileName).toArray()));
+            statement.setArray(2, statement.getConnection().createArrayOf("text",
+                    files.stream().map(FileEntity::getUrl).toArray()));
+            statement.setArray(3, statement.getConnection().createArrayOf("text",
+                    files.stream().map(FileEntity::getContentHash).toArray()));
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+    }
+}
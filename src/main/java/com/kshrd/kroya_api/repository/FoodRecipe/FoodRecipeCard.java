@@ -0,0 +1,36 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+/**
+ * Card columns of a recipe with its owner and photos, read without the jsonb ingredients and cooking steps.
+ */
+public interface FoodRecipeCard {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getLevel();
+
+    Integer getDurationInMinutes();
+
+    Double getAverageRating();
+
+    Integer getTotalRaters();
+
+    Integer getUserId();
+
+    String getUserFullName();
+
+    String getUserProfileImage();
+
+    String getUserRole();
+
+    Boolean getUserDeleted();
+
+    // Comma separated photo ids and line separated urls in the same order, null when the recipe has no photos;
+    // aggregated as text because Hibernate cannot map native array columns into a projection
+    String getPhotoIds();
+
+    String getPhotoUrls();
+}
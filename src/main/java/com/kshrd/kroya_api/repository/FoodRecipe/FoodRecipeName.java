@@ -0,0 +1,9 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+public interface FoodRecipeName {
+    Long getId();
+
+    String getName();
+
+    Double getAverageRating();
+}
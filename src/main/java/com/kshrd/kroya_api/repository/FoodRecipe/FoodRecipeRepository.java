@@ -2,22 +2,179 @@ package com.kshrd.kroya_api.repository.FoodRecipe;
 
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface FoodRecipeRepository extends JpaRepository<FoodRecipeEntity, Integer> {
+public interface FoodRecipeRepository extends JpaRepository<FoodRecipeEntity, Integer>, FoodRecipeRepositoryCustom {
+
+    // Full-text document of a recipe; must stay identical to the ix_food_recipe_tb_search_document expression
+    String SEARCH_DOCUMENT = """
+            to_tsvector('simple', coalesce(r.name, '') || ' ' || coalesce(r.description, '') || ' '
+                || coalesce(cast(jsonb_path_query_array(r.ingredients, '$[*].name') as text), ''))
+            """;
+
     List<FoodRecipeEntity> findByCategoryId(Long categoryId);
 
     List<FoodRecipeEntity> findAllByOrderByAverageRatingDesc();
 
+    @EntityGraph(FoodRecipeEntity.CARD_GRAPH)
     List<FoodRecipeEntity> findByUserId(Integer id);
 
+    @EntityGraph(FoodRecipeEntity.CARD_GRAPH)
     List<FoodRecipeEntity> findByCuisineId(Long cuisineId);
 
-    List<FoodRecipeEntity> findByNameContainingIgnoreCase(String name);
+    @EntityGraph(FoodRecipeEntity.DETAIL_GRAPH)
+    Optional<FoodRecipeEntity> findDetailById(Long id);
+
+    @EntityGraph(FoodRecipeEntity.OWNER_GRAPH)
+    Optional<FoodRecipeEntity> findWithOwnerById(Long id);
 
    List<FoodRecipeEntity> findAllByOrderByIdDesc();
+
+    // Keyset pages of recipe ids, newest first. The first page passes Long.MAX_VALUE as the last id.
+    @Query("""
+            SELECT fr.id FROM FoodRecipeEntity fr
+            WHERE fr.id < :lastId
+            ORDER BY fr.id DESC
+            """)
+    List<Long> findIdsBefore(@Param("lastId") Long lastId, Pageable pageable);
+
+    // Recipes that are not linked to any food sell (anti-join)
+    @Query("""
+            SELECT fr.id FROM FoodRecipeEntity fr
+            WHERE fr.id < :lastId
+            AND NOT EXISTS (SELECT 1 FROM FoodSellEntity fs WHERE fs.foodRecipe = fr)
+            ORDER BY fr.id DESC
+            """)
+    List<Long> findIdsWithoutFoodSellBefore(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("""
+            SELECT fr.id FROM FoodRecipeEntity fr
+            WHERE fr.category.id = :categoryId
+            AND fr.id < :lastId
+            AND NOT EXISTS (SELECT 1 FROM FoodSellEntity fs WHERE fs.foodRecipe = fr)
+            ORDER BY fr.id DESC
+            """)
+    List<Long> findIdsByCategoryIdWithoutFoodSellBefore(@Param("categoryId") Long categoryId,
+                                                        @Param("lastId") Long lastId,
+                                                        Pageable pageable);
+
+    // Keyset on (average_rating, id), unrated recipes ranked as 0
+    @Query("""
+            SELECT fr.id FROM FoodRecipeEntity fr
+            WHERE (COALESCE(fr.averageRating, 0) < :lastRating
+                OR (COALESCE(fr.averageRating, 0) = :lastRating AND fr.id < :lastId))
+            AND NOT EXISTS (SELECT 1 FROM FoodSellEntity fs WHERE fs.foodRecipe = fr)
+            ORDER BY COALESCE(fr.averageRating, 0) DESC, fr.id DESC
+            """)
+    List<Long> findIdsWithoutFoodSellRankedAfter(@Param("lastRating") Double lastRating,
+                                                 @Param("lastId") Long lastId,
+                                                 Pageable pageable);
+
+    // Card columns of a page of recipes with owner and aggregated photos, one row per recipe and
+    // without the jsonb columns; callers restore the keyset order
+    @Query(value = """
+            SELECT r.id AS id, r.name AS name, r.description AS description, r.level AS level,
+                   r.duration_in_minutes AS durationInMinutes,
+                   r.average_rating AS averageRating, r.total_raters AS totalRaters,
+                   u.id AS userId, u.user_name AS userFullName, u.profile_image AS userProfileImage,
+                   u.role AS userRole, u.is_deleted AS userDeleted,
+                   string_agg(p.id::text, ',' ORDER BY p.id) AS photoIds,
+                   string_agg(p.photo, chr(10) ORDER BY p.id) AS photoUrls
+            FROM food_recipe_tb r
+            JOIN user_tb u ON u.id = r.user_id
+            LEFT JOIN photo_tb p ON p.food_recipe_id = r.id
+            WHERE r.id IN (:ids)
+            GROUP BY r.id, u.id
+            """, nativeQuery = true)
+    List<FoodRecipeCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Owner only: fetching the photos collection here would make Hibernate paginate in memory
+    @EntityGraph(FoodRecipeEntity.OWNER_GRAPH)
+    @Query(value = """
+            SELECT fr FROM FoodRecipeEntity fr
+            WHERE NOT EXISTS (SELECT 1 FROM FoodSellEntity fs WHERE fs.foodRecipe = fr)
+            """,
+            countQuery = """
+            SELECT COUNT(fr) FROM FoodRecipeEntity fr
+            WHERE NOT EXISTS (SELECT 1 FROM FoodSellEntity fs WHERE fs.foodRecipe = fr)
+            """)
+    Page<FoodRecipeEntity> findAllWithoutFoodSell(Pageable pageable);
+
+    /**
+     * Ranked food search over recipe name (trigram, served by ix_food_recipe_tb_name_trgm) and over
+     * name, description and ingredient names (full text). Each hit carries its linked food sell, if any.
+     * favoritesOfUserId = 0 searches everything, otherwise only that user's favorite recipes and sells.
+     */
+    @Query(value = """
+            SELECT r.id AS recipeId, fs.id AS foodSellId
+            FROM food_recipe_tb r
+            LEFT JOIN food_sell_tb fs ON fs.food_recipe_id = r.id
+            WHERE (r.name ILIKE :pattern
+                OR :query <% r.name
+                OR\s""" + SEARCH_DOCUMENT + """
+                   @@ plainto_tsquery('simple', :query))
+            AND (:favoritesOfUserId = 0 OR EXISTS (
+                SELECT 1 FROM favorite_tb f
+                WHERE f.user_id = :favoritesOfUserId
+                AND (f.food_recipe_id = r.id OR f.food_sell_id = fs.id)))
+            ORDER BY (CASE WHEN r.name ILIKE :prefix THEN 1 ELSE 0 END)
+                + word_similarity(:query, r.name)
+                + ts_rank(""" + SEARCH_DOCUMENT + """
+                    , plainto_tsquery('simple', :query)) DESC,
+                r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FoodSearchHit> search(@Param("query") String query,
+                               @Param("pattern") String pattern,
+                               @Param("prefix") String prefix,
+                               @Param("favoritesOfUserId") Integer favoritesOfUserId,
+                               @Param("limit") int limit);
+
+    // Names and ratings only, used to build the autocomplete index without loading entities
+    @Query("SELECT fr.id AS id, fr.name AS name, fr.averageRating AS averageRating FROM FoodRecipeEntity fr")
+    List<FoodRecipeName> findAllNames();
+
+    // Recipes whose histogram differs from feedback_tb, or whose totals differ from their own histogram;
+    // ratings on a food sell count for its recipe
+    @Query(value = """
+            SELECT r.id AS recipeId,
+                   cast(coalesce(h.c1, 0) - r.rating_count_1 AS integer) AS delta1,
+                   cast(coalesce(h.c2, 0) - r.rating_count_2 AS integer) AS delta2,
+                   cast(coalesce(h.c3, 0) - r.rating_count_3 AS integer) AS delta3,
+                   cast(coalesce(h.c4, 0) - r.rating_count_4 AS integer) AS delta4,
+                   cast(coalesce(h.c5, 0) - r.rating_count_5 AS integer) AS delta5
+            FROM food_recipe_tb r
+            LEFT JOIN (
+                SELECT coalesce(f.food_recipe_id, s.food_recipe_id) AS recipe_id,
+                       count(*) FILTER (WHERE f.rating_value = 1) AS c1,
+                       count(*) FILTER (WHERE f.rating_value = 2) AS c2,
+                       count(*) FILTER (WHERE f.rating_value = 3) AS c3,
+                       count(*) FILTER (WHERE f.rating_value = 4) AS c4,
+                       count(*) FILTER (WHERE f.rating_value = 5) AS c5
+                FROM feedback_tb f
+                LEFT JOIN food_sell_tb s ON s.id = f.food_sell_id
+                WHERE f.rating_value BETWEEN 1 AND 5
+                GROUP BY coalesce(f.food_recipe_id, s.food_recipe_id)
+            ) h ON h.recipe_id = r.id
+            WHERE coalesce(h.c1, 0) <> r.rating_count_1
+               OR coalesce(h.c2, 0) <> r.rating_count_2
+               OR coalesce(h.c3, 0) <> r.rating_count_3
+               OR coalesce(h.c4, 0) <> r.rating_count_4
+               OR coalesce(h.c5, 0) <> r.rating_count_5
+               OR r.total_raters IS DISTINCT FROM
+                  r.rating_count_1 + r.rating_count_2 + r.rating_count_3 + r.rating_count_4 + r.rating_count_5
+            ORDER BY r.id
+            """, nativeQuery = true)
+    List<RatingDrift> findRatingDrift();
 }
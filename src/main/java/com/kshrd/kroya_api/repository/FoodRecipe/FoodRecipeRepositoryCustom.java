@@ -0,0 +1,14 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+import java.util.SortedMap;
+
+public interface FoodRecipeRepositoryCustom {
+
+    /**
+     * Adds per-bucket rating deltas (index 0 is one star) to each recipe histogram with one JDBC batch.
+     * Every row is changed by a single UPDATE of relative increments, so concurrent writers never lose
+     * a rating; total_raters and average_rating are derived from the new counts in the same statement.
+     * Rows are updated in id order to keep lock order stable between instances.
+     */
+    void applyRatingDeltas(SortedMap<Long, int[]> deltas);
+}
@@ -0,0 +1,58 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class FoodRecipeRepositoryCustomImpl implements FoodRecipeRepositoryCustom {
+
+    // The SET list reads the old row, so the new total and star sum are the old ones plus the deltas
+    private static final String APPLY_RATING_DELTAS = """
+            UPDATE food_recipe_tb SET
+                rating_count_1 = rating_count_1 + ?,
+                rating_count_2 = rating_count_2 + ?,
+                rating_count_3 = rating_count_3 + ?,
+                rating_count_4 = rating_count_4 + ?,
+                rating_count_5 = rating_count_5 + ?,
+                total_raters = rating_count_1 + rating_count_2 + rating_count_3 + rating_count_4 + rating_count_5 + ?,
+                average_rating = CASE
+                    WHEN rating_count_1 + rating_count_2 + rating_count_3 + rating_count_4 + rating_count_5 + ? = 0 THEN 0
+                    ELSE cast(rating_count_1 + 2 * rating_count_2 + 3 * rating_count_3 + 4 * rating_count_4 + 5 * rating_count_5 + ? AS double precision)
+                        / (rating_count_1 + rating_count_2 + rating_count_3 + rating_count_4 + rating_count_5 + ?)
+                END
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void applyRatingDeltas(SortedMap<Long, int[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                APPLY_RATING_DELTAS,
+                new ArrayList<>(deltas.entrySet()),
+                deltas.size(),
+                (statement, entry) -> {
+                    int[] buckets = entry.getValue();
+                    int raters = 0;
+                    int stars = 0;
+                    for (int i = 0; i < buckets.length; i++) {
+                        statement.setInt(i + 1, buckets[i]);
+                        raters += buckets[i];
+                        stars += (i + 1) * buckets[i];
+                    }
+                    statement.setInt(6, raters);
+                    statement.setInt(7, raters);
+                    statement.setInt(8, stars);
+                    statement.setInt(9, raters);
+                    statement.setLong(10, entry.getKey());
+                });
+    }
+}
@@ -0,0 +1,8 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+public interface FoodSearchHit {
+    Long getRecipeId();
+
+    // Null when the recipe is not listed as a food sell
+    Long getFoodSellId();
+}
@@ -0,0 +1,20 @@
+package com.kshrd.kroya_api.repository.FoodRecipe;
+
+// Per-bucket difference between the ratings in feedback_tb and a recipe's stored histogram
+public interface RatingDrift {
+    Long getRecipeId();
+
+    Integer getDelta1();
+
+    Integer getDelta2();
+
+    Integer getDelta3();
+
+    Integer getDelta4();
+
+    Integer getDelta5();
+
+    default int[] buckets() {
+        return new int[]{getDelta1(), getDelta2(), getDelta3(), getDelta4(), getDelta5()};
+    }
+}
@@ -0,0 +1,40 @@
+package com.kshrd.kroya_api.repository.FoodSell;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card columns of a food sell with the name, rating, seller and photos of its recipe.
+ */
+public interface FoodSellCard {
+    Long getId();
+
+    Long getRecipeId();
+
+    String getName();
+
+    LocalDateTime getDateCooking();
+
+    Double getPrice();
+
+    String getCurrencyType();
+
+    Boolean getIsOrderable();
+
+    Double getAverageRating();
+
+    Integer getTotalRaters();
+
+    Integer getSellerId();
+
+    String getSellerFullName();
+
+    String getSellerPhoneNumber();
+
+    String getSellerProfileImage();
+
+    // Comma separated photo ids and line separated urls in the same order, null when the recipe has no photos;
+    // aggregated as text because Hibernate cannot map native array columns into a projection
+    String getPhotoIds();
+
+    String getPhotoUrls();
+}
@@ -0,0 +1,9 @@
+package com.kshrd.kroya_api.repository.FoodSell;
+
+import java.time.LocalDateTime;
+
+public interface FoodSellDeadline {
+    Long getId();
+
+    LocalDateTime getDateCooking();
+}
@@ -2,11 +2,16 @@ package com.kshrd.kroya_api.repository.FoodSell;
 
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -17,33 +22,167 @@ public interface FoodSellRepository extends JpaRepository<FoodSellEntity, Long>
 
     @Query("""
             SELECT fs FROM FoodSellEntity fs
-            WHERE fs.foodRecipe.category.id = :categoryId
+            JOIN FETCH fs.foodRecipe fr
+            JOIN FETCH fr.user
+            LEFT JOIN FETCH fr.photos
+            WHERE fr.category.id = :categoryId
             """)
     List<FoodSellEntity> findByCategoryId(@Param("categoryId") Long categoryId);
 
     @Query("""
             SELECT fs FROM FoodSellEntity fs
-            ORDER BY fs.foodRecipe.averageRating DESC
+            JOIN FETCH fs.foodRecipe fr
+            JOIN FETCH fr.user
+            LEFT JOIN FETCH fr.photos
+            ORDER BY fr.averageRating DESC
             """)
     List<FoodSellEntity> findAllByOrderByAverageRatingDesc();
 
     boolean existsByFoodRecipe(FoodRecipeEntity foodRecipeEntity);
 
+    boolean existsByFoodRecipeId(Long foodRecipeId);
+
     Optional<FoodSellEntity> findByFoodRecipe(FoodRecipeEntity foodRecipe);
 
+    @EntityGraph(FoodSellEntity.CARD_GRAPH)
     List<FoodSellEntity> findByFoodRecipeUserId(Integer id);
 
+    @EntityGraph(FoodSellEntity.CARD_GRAPH)
     @Query("""
         SELECT fs FROM FoodSellEntity fs
         WHERE fs.foodRecipe.cuisine.id = :cuisineId
         """)
     List<FoodSellEntity> findByCuisineId(@Param("cuisineId") Long cuisineId);
 
-    List<FoodSellEntity> findByFoodRecipeNameContainingIgnoreCase(String name);
+    @EntityGraph(FoodSellEntity.DETAIL_GRAPH)
+    Optional<FoodSellEntity> findDetailById(Long id);
+
+    @EntityGraph(FoodSellEntity.OWNER_GRAPH)
+    Optional<FoodSellEntity> findWithOwnerById(Long id);
 
     List<FoodSellEntity> findByFoodRecipe_User_Id(Integer id);
 
     Collection<Object> findByFoodRecipe_User_IdAndFoodRecipe_NameContainingIgnoreCase(Integer userId, String name);
 
     List<FoodSellEntity> findAllByOrderByIdDesc();
+
+    // Keyset pages of food sell ids, newest first. The first page passes Long.MAX_VALUE as the last id.
+    @Query("""
+            SELECT fs.id FROM FoodSellEntity fs
+            WHERE fs.id < :lastId
+            ORDER BY fs.id DESC
+            """)
+    List<Long> findIdsBefore(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("""
+            SELECT fs.id FROM FoodSellEntity fs
+            WHERE fs.foodRecipe.category.id = :categoryId
+            AND fs.id < :lastId
+            ORDER BY fs.id DESC
+            """)
+    List<Long> findIdsByCategoryIdBefore(@Param("categoryId") Long categoryId,
+                                         @Param("lastId") Long lastId,
+                                         Pageable pageable);
+
+    // Keyset on the linked recipe's (average_rating, id) so the recipe rating index drives the scan
+    @Query("""
+            SELECT fs.id FROM FoodSellEntity fs
+            JOIN fs.foodRecipe fr
+            WHERE COALESCE(fr.averageRating, 0) < :lastRating
+               OR (COALESCE(fr.averageRating, 0) = :lastRating AND fr.id < :lastRecipeId)
+            ORDER BY COALESCE(fr.averageRating, 0) DESC, fr.id DESC
+            """)
+    List<Long> findIdsRankedAfter(@Param("lastRating") Double lastRating,
+                                  @Param("lastRecipeId") Long lastRecipeId,
+                                  Pageable pageable);
+
+    // Card columns of a page of food sells with the recipe's name, rating, seller and aggregated photos,
+    // one row per food sell and without the recipe's jsonb columns; callers restore the keyset order
+    @Query(value = """
+            SELECT fs.id AS id, r.id AS recipeId, r.name AS name, fs.date_cooking AS dateCooking,
+                   fs.price AS price, fs.currency_type AS currencyType, fs.is_orderable AS isOrderable,
+                   r.average_rating AS averageRating, r.total_raters AS totalRaters,
+                   u.id AS sellerId, u.user_name AS sellerFullName, u.phone_number AS sellerPhoneNumber,
+                   u.profile_image AS sellerProfileImage,
+                   string_agg(p.id::text, ',' ORDER BY p.id) AS photoIds,
+                   string_agg(p.photo, chr(10) ORDER BY p.id) AS photoUrls
+            FROM food_sell_tb fs
+            JOIN food_recipe_tb r ON r.id = fs.food_recipe_id
+            JOIN user_tb u ON u.id = r.user_id
+            LEFT JOIN photo_tb p ON p.food_recipe_id = r.id
+            WHERE fs.id IN (:ids)
+            GROUP BY fs.id, r.id, u.id
+            """, nativeQuery = true)
+    List<FoodSellCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ids of the given recipes that are already linked to a food sell
+    @Query("""
+            SELECT fs.foodRecipe.id FROM FoodSellEntity fs
+            WHERE fs.foodRecipe.id IN :recipeIds
+            """)
+    List<Long> findFoodRecipeIdsByFoodRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Upcoming cooking deadlines, used to build the in-memory expiry schedule
+    @Query("""
+            SELECT fs.id AS id, fs.dateCooking AS dateCooking FROM FoodSellEntity fs
+            WHERE fs.dateCooking >= :from AND fs.dateCooking < :to
+            """)
+    List<FoodSellDeadline> findDeadlinesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE FoodSellEntity fs SET fs.isOrderable = false
+            WHERE fs.id IN :ids AND fs.dateCooking < :now
+            AND (fs.isOrderable = true OR fs.isOrderable IS NULL)
+            """)
+    int expireByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE FoodSellEntity fs SET fs.isOrderable = false
+            WHERE fs.dateCooking < :now
+            AND (fs.isOrderable = true OR fs.isOrderable IS NULL)
+            """)
+    int expireAllDue(@Param("now") LocalDateTime now);
+
+    // Takes quantity portions in one statement; the row lock and the re-checked WHERE make concurrent buyers
+    // queue on the row, so amount never goes below zero. 0 when the sell is missing, owned by the buyer,
+    // past its cooking time or short of portions
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE food_sell_tb fs SET amount = fs.amount - :quantity
+            FROM food_recipe_tb r
+            WHERE fs.id = :id
+              AND r.id = fs.food_recipe_id
+              AND r.user_id <> :buyerId
+              AND fs.amount >= :quantity
+              AND fs.date_cooking >= :now
+            """, nativeQuery = true)
+    int reserveAmount(@Param("id") Long id,
+                      @Param("quantity") int quantity,
+                      @Param("buyerId") Integer buyerId,
+                      @Param("now") LocalDateTime now);
+
+    // Gives back the portions of a rejected purchase
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE food_sell_tb SET amount = amount + :quantity WHERE id = :id", nativeQuery = true)
+    int releaseAmount(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Applies a seller's edit as the difference to the amount the edit read, so portions reserved meanwhile stay
+    // taken; 0 when the sell is missing or more portions were reserved since than the edit leaves
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE food_sell_tb SET amount = amount + :delta
+            WHERE id = :id
+              AND amount + :delta >= 0
+            """, nativeQuery = true)
+    int adjustAmount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT fs.amount FROM FoodSellEntity fs WHERE fs.id = :id")
+    Integer findAmountById(@Param("id") Long id);
 }
@@ -0,0 +1,7 @@
+package com.kshrd.kroya_api.repository.Purchase;
+
+public interface PendingOrderCount {
+    Long getFoodSellId();
+
+    Long getOrderCount();
+}
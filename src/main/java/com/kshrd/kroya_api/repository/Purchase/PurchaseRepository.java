@@ -0,0 +1,45 @@
+package com.kshrd.kroya_api.repository.Purchase;
+
+import com.kshrd.kroya_api.entity.PurchaseEntity;
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PurchaseRepository extends JpaRepository<PurchaseEntity, Long> {
+
+    @EntityGraph(PurchaseEntity.CARD_GRAPH)
+    Optional<PurchaseEntity> findCardById(Long id);
+
+    @EntityGraph(PurchaseEntity.CARD_GRAPH)
+    List<PurchaseEntity> findByBuyerIdOrderByCreatedDateDescIdDesc(Integer buyerId);
+
+    @EntityGraph(PurchaseEntity.CARD_GRAPH)
+    List<PurchaseEntity> findByFoodSellIdAndPurchaseStatusTypeOrderByCreatedDateAscIdAsc(Long foodSellId,
+                                                                                       PurchaseStatusType status);
+
+    // Moves a purchase out of PENDING; 0 when another request already accepted or rejected it
+    @Modifying
+    @Query("""
+            UPDATE PurchaseEntity p SET p.purchaseStatusType = :status
+            WHERE p.id = :id AND p.purchaseStatusType = com.kshrd.kroya_api.enums.PurchaseStatusType.PENDING
+            """)
+    int transitionFromPending(@Param("id") Long id, @Param("status") PurchaseStatusType status);
+
+    // Pending order count per food sell of a seller, for the seller's order cards
+    @Query("""
+            SELECT p.foodSell.id AS foodSellId, count(p) AS orderCount
+            FROM PurchaseEntity p
+            WHERE p.foodSell.foodRecipe.user.id = :sellerId
+              AND p.purchaseStatusType = com.kshrd.kroya_api.enums.PurchaseStatusType.PENDING
+            GROUP BY p.foodSell.id
+            """)
+    List<PendingOrderCount> countPendingBySellerId(@Param("sellerId") Integer sellerId);
+}
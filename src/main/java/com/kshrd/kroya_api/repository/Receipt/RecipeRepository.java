@@ -8,4 +8,7 @@ import java.util.Optional;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
+
+    // Receipt of an accepted purchase; reciept_tb.purchase_id is unique
+    Optional<RecipeEntity> findByPurchaseId(Long purchaseId);
 }
@@ -2,6 +2,8 @@ package com.kshrd.kroya_api.service.Auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kshrd.kroya_api.config.JwtService;
+import com.kshrd.kroya_api.config.ParsedToken;
+import com.kshrd.kroya_api.config.TokenAuthenticationCache;
 import com.kshrd.kroya_api.entity.CodeEntity;
 import com.kshrd.kroya_api.entity.UserEntity;
 import com.kshrd.kroya_api.entity.token.Token;
@@ -31,6 +33,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -44,6 +47,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final TokenRepository tokenRepository;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+    private final Clock clock;
     private final AuthenticationManager authenticationManager;
     private final CodeRepository codeRepository;
     private final EmailService emailService;
@@ -157,6 +162,8 @@ public class AuthenticationService {
     // Helper method to save the user's token to the database for later use
     private void saveUserToken(UserEntity user, String jwtToken) {
         log.debug("Saving token for user: {}", user.getEmail());
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                jwtService.parseOnce(jwtToken).expiration().toInstant(), clock.getZone());
 
         // Check if the token already exists
         Optional<Token> existingToken = tokenRepository.findByToken(jwtToken);
@@ -166,6 +173,7 @@ public class AuthenticationService {
             Token token = existingToken.get();
             token.setTokenExpired(false);
             token.setTokenRevoked(false);
+            token.setExpiresAt(expiresAt);
             tokenRepository.save(token);
         } else {
             // Insert a new token
@@ -175,6 +183,7 @@ public class AuthenticationService {
                     .tokenType(TokenType.BEARER)
                     .tokenExpired(false)
                     .tokenRevoked(false)
+                    .expiresAt(expiresAt)
                     .build();
             tokenRepository.save(token);
         }
@@ -183,17 +192,18 @@ public class AuthenticationService {
     // Helper method to revoke all tokens for a user (used when a user logs in)
     private void revokeAllUserTokens(UserEntity user) {
         log.debug("Revoking all valid tokens for user: {}", user.getEmail());
-        var validUserTokens = tokenRepository.findAllValidTokenByUser(user.getId());
+        var validUserTokens = tokenRepository.findAllValidTokenValuesByUser(user.getId());
         if (validUserTokens.isEmpty()) {
             log.debug("No valid tokens found for user: {}", user.getEmail());
             return;
         }
-        validUserTokens.forEach(token -> {
-            token.setTokenExpired(true);
-            token.setTokenRevoked(true);
-        });
-        tokenRepository.saveAll(validUserTokens);
-        log.info("All tokens revoked for user: {}", user.getEmail());
+        // One bulk UPDATE instead of loading and saving every row
+        int revoked = tokenRepository.revokeAllValidTokensByUser(user.getId());
+
+        // Keep the authentication fast path in line with token_tb
+        validUserTokens.forEach(tokenAuthenticationCache::revokeToken);
+        tokenAuthenticationCache.evictUser(user.getEmail());
+        log.info("{} tokens revoked for user: {}", revoked, user.getEmail());
     }
 
     public BaseResponse<RefreshTokenResponse> refreshToken(RefreshTokenRequest refreshTokenRequest) {
@@ -211,16 +221,17 @@ public class AuthenticationService {
 
         log.debug("Refresh token: {}", refreshToken);
 
-        // Extract the user email from the refresh token
-        userEmail = jwtService.extractUsername(refreshToken);
+        // Parse and verify the refresh token once, then extract the user email
+        ParsedToken parsedRefreshToken = jwtService.parseOnce(refreshToken);
+        userEmail = parsedRefreshToken.subject();
         log.debug("Extracted user email: {}", userEmail);
 
         if (userEmail != null) {
             // Find the user by email
             var user = this.userRepository.findByEmail(userEmail);
 
-            // Validate the refresh token and generate new tokens
-            if (user != null && jwtService.isTokenValid(refreshToken, user)) {
+            // Validate the refresh token subject (signature and expiry were checked while parsing) and generate new tokens
+            if (user != null && userEmail.equals(user.getUsername())) {
                 // Generate a new access token
                 var newAccessToken = jwtService.generateToken(user);
 
@@ -0,0 +1,47 @@
+package com.kshrd.kroya_api.service.Auth;
+
+import com.kshrd.kroya_api.entity.token.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps token_tb bounded: every login and refresh inserts a row, so rows whose JWT has expired
+ * are deleted in small batches (each in its own transaction) to avoid long locks on the table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenPurger {
+
+    private final TokenRepository tokenRepository;
+    private final Clock clock;
+
+    @Value("${security.token.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${security.token.purge.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${security.token.purge.interval-ms:3600000}",
+            initialDelayString = "${security.token.purge.initial-delay-ms:60000}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = tokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} expired tokens from token_tb", total);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kshrd.kroya_api.service.Category;
+
+import com.kshrd.kroya_api.entity.CategoryEntity;
+import com.kshrd.kroya_api.repository.Category.CategoryRepository;
+import com.kshrd.kroya_api.util.VersionedListCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process copy of category_tb, invalidated by CategoryServiceImp.postCategory.
+ */
+@Component
+public class CategoryCache extends VersionedListCache<CategoryEntity> {
+
+    public CategoryCache(CategoryRepository categoryRepository,
+                         @Value("${reference-data.cache.ttl-ms:300000}") long ttlMillis) {
+        super(categoryRepository::findAll, CategoryEntity::getId, CategoryEntity::getCategoryName, ttlMillis);
+    }
+}
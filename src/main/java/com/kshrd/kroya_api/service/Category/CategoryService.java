@@ -8,4 +8,5 @@ import org.springframework.stereotype.Service;
 public interface CategoryService {
     BaseResponse<?> postCategory(CategoryRequest categoryRequest);
     BaseResponse<?> getAllCategory(Integer page, Integer size);
+    String getAllCategoryETag(Integer page, Integer size);
 }
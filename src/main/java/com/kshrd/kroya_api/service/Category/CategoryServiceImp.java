@@ -8,16 +8,15 @@ import com.kshrd.kroya_api.payload.BaseResponse;
 import com.kshrd.kroya_api.payload.Category.CategoryRequest;
 import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.repository.Category.CategoryRepository;
+import com.kshrd.kroya_api.util.VersionedListCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -27,6 +26,7 @@ import java.util.Optional;
 public class CategoryServiceImp implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final ModelMapper modelMapper;
 
     @Override
@@ -50,6 +50,7 @@ public class CategoryServiceImp implements CategoryService {
         // Save the new category to the database
         CategoryEntity categoryEntity = modelMapper.map(categoryRequest, CategoryEntity.class);
         categoryRepository.save(categoryEntity);
+        categoryCache.invalidate();
         log.info("Category saved successfully with ID: {}", categoryEntity.getId());
 
         // Build and return a successful response
@@ -65,11 +66,9 @@ public class CategoryServiceImp implements CategoryService {
 public BaseResponse<?> getAllCategory(Integer page, Integer size) {
     log.info("Received request to fetch all categories with page: {} and size: {}", page, size);
 
-    // Create a Pageable object for pagination
-    Pageable pageable = PageRequest.of(page, size);
-
-    // Fetch categories from the database with pagination
-    Page<CategoryEntity> categoryPage = categoryRepository.findAll(pageable);
+    // Serve the page from the in-process snapshot of the table
+    VersionedListCache.Snapshot<CategoryEntity> snapshot = categoryCache.get();
+    List<CategoryEntity> categoryPage = snapshot.page(page, size);
 
     // Check if any categories are found
     if (categoryPage.isEmpty()) {
@@ -78,9 +77,9 @@ public BaseResponse<?> getAllCategory(Integer page, Integer size) {
     }
 
     // Prepare pagination details
-    long totalCategories = categoryPage.getTotalElements();
-    int totalPages = categoryPage.getTotalPages();
-    int currentPage = categoryPage.getNumber();
+    long totalCategories = snapshot.items().size();
+    int totalPages = snapshot.totalPages(size);
+    int currentPage = page;
 
     // Construct the "next" and "previous" links
     String nextLink = (currentPage + 1 < totalPages) ?
@@ -94,10 +93,14 @@ public BaseResponse<?> getAllCategory(Integer page, Integer size) {
     // Build and return the response with pagination metadata
     return BaseResponse.builder()
             .statusCode(String.valueOf(HttpStatus.OK.value()))
-            .payload(categoryPage.getContent())  // List of categories in the current page
+            .payload(categoryPage)  // List of categories in the current page
             .paginationMeta(paginationMeta)  // Include pagination details
             .message("Categories retrieved successfully")
             .build();
 }
 
+    @Override
+    public String getAllCategoryETag(Integer page, Integer size) {
+        return categoryCache.etag(page, size);
+    }
 }
@@ -0,0 +1,19 @@
+package com.kshrd.kroya_api.service.Cuisine;
+
+import com.kshrd.kroya_api.entity.CuisineEntity;
+import com.kshrd.kroya_api.repository.Cuisine.CuisineRepository;
+import com.kshrd.kroya_api.util.VersionedListCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process copy of cusine_tb, invalidated by CuisineServiceImpl.postCuisine.
+ */
+@Component
+public class CuisineCache extends VersionedListCache<CuisineEntity> {
+
+    public CuisineCache(CuisineRepository cuisineRepository,
+                        @Value("${reference-data.cache.ttl-ms:300000}") long ttlMillis) {
+        super(cuisineRepository::findAll, CuisineEntity::getId, CuisineEntity::getCuisineName, ttlMillis);
+    }
+}
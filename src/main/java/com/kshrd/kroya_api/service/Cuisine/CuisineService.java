@@ -9,4 +9,6 @@ public interface CuisineService {
     BaseResponse<?> postCuisine(CuisineRequest cuisineRequest);
 
     BaseResponse<?> getAllCuisine(Integer page, Integer size);
+
+    String getAllCuisineETag(Integer page, Integer size);
 }
@@ -8,14 +8,12 @@ import com.kshrd.kroya_api.payload.BaseResponse;
 import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.Cuisine.CuisineRequest;
 import com.kshrd.kroya_api.repository.Cuisine.CuisineRepository;
+import com.kshrd.kroya_api.util.VersionedListCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +24,7 @@ import java.util.Optional;
 public class CuisineServiceImpl implements CuisineService {
 
     private final CuisineRepository cuisineRepository;
+    private final CuisineCache cuisineCache;
     private final ModelMapper modelMapper;
 
     @Override
@@ -50,6 +49,7 @@ public class CuisineServiceImpl implements CuisineService {
         // Save the new cuisine to the database
         CuisineEntity cuisineEntity = modelMapper.map(cuisineRequest, CuisineEntity.class);
         cuisineRepository.save(cuisineEntity);
+        cuisineCache.invalidate();
         log.info("Cuisine saved successfully with ID: {}", cuisineEntity.getId());
 
         // Build and return a successful response
@@ -64,11 +64,9 @@ public class CuisineServiceImpl implements CuisineService {
     public BaseResponse<?> getAllCuisine(Integer page, Integer size) {
         log.info("Received request to fetch all cuisines with page: {} and size: {}", page, size);
 
-        // Create a Pageable object for pagination
-        Pageable pageable = PageRequest.of(page, size);
-
-        // Fetch cuisines from the database with pagination
-        Page<CuisineEntity> cuisinePage = cuisineRepository.findAll(pageable);
+        // Serve the page from the in-process snapshot of the table
+        VersionedListCache.Snapshot<CuisineEntity> snapshot = cuisineCache.get();
+        List<CuisineEntity> cuisinePage = snapshot.page(page, size);
 
         // Check if any cuisines are found
         if (cuisinePage.isEmpty()) {
@@ -77,9 +75,9 @@ public class CuisineServiceImpl implements CuisineService {
         }
 
         // Prepare pagination details
-        long totalCuisines = cuisinePage.getTotalElements();
-        int totalPages = cuisinePage.getTotalPages();
-        int currentPage = cuisinePage.getNumber();
+        long totalCuisines = snapshot.items().size();
+        int totalPages = snapshot.totalPages(size);
+        int currentPage = page;
 
         // Construct the "next" and "previous" links
         String nextLink = (currentPage + 1 < totalPages) ?
@@ -93,11 +91,14 @@ public class CuisineServiceImpl implements CuisineService {
         // Build and return the response with pagination metadata
         return BaseResponse.builder()
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
-                .payload(cuisinePage.getContent())  // List of cuisines in the current page
+                .payload(cuisinePage)  // List of cuisines in the current page
                 .paginationMeta(paginationMeta)  // Set pagination details
                 .message("Cuisines retrieved successfully")
                 .build();
     }
 
-
+    @Override
+    public String getAllCuisineETag(Integer page, Integer size) {
+        return cuisineCache.etag(page, size);
+    }
 }
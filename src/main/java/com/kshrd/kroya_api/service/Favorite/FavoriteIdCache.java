@@ -0,0 +1,87 @@
+package com.kshrd.kroya_api.service.Favorite;
+
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process LRU of each user's FavoriteIds, loaded with one id-only query and used by every card
+ * to set isFavorite. Entries are evicted when the user saves or removes a favorite; the TTL only
+ * bounds how long changes made on another instance stay invisible.
+ */
+@Component
+public class FavoriteIdCache {
+
+    private final FavoriteRepository favoriteRepository;
+    private final long ttlMillis;
+    private final Map<Integer, Cached> entries;
+
+    // Bumped on every eviction; a load that raced with one is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Cached(FavoriteIds favoriteIds, long expiresAt) {
+    }
+
+    public FavoriteIdCache(FavoriteRepository favoriteRepository,
+                           @Value("${favorite.id-cache.max-entries:10000}") int maxEntries,
+                           @Value("${favorite.id-cache.ttl-ms:300000}") long ttlMillis) {
+        this.favoriteRepository = favoriteRepository;
+        this.ttlMillis = ttlMillis;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public FavoriteIds get(UserEntity user) {
+        long now = System.currentTimeMillis();
+        Cached cached = entries.get(user.getId());
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.favoriteIds();
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        FavoriteIds favoriteIds = FavoriteIds.of(favoriteRepository.findTargetsByUserId(user.getId()));
+        // The synchronized map locks on itself, which makes the check and the put atomic against remove
+        synchronized (entries) {
+            if (evictions.get() == evictionsBeforeLoad) {
+                entries.put(user.getId(), new Cached(favoriteIds, now + ttlMillis));
+            }
+        }
+        return favoriteIds;
+    }
+
+    /**
+     * Drops the user's entry once the surrounding transaction commits, or right away outside a transaction.
+     */
+    public void evict(UserEntity user) {
+        Integer userId = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(userId);
+            }
+        });
+    }
+
+    private void remove(Integer userId) {
+        synchronized (entries) {
+            evictions.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+}
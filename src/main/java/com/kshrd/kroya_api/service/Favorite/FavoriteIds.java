@@ -0,0 +1,57 @@
+package com.kshrd.kroya_api.service.Favorite;
+
+import com.kshrd.kroya_api.repository.Favorite.FavoriteTarget;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable favorite ids of one user as two sorted primitive arrays, looked up by binary search.
+ * A few hundred favorites take a few kilobytes and no boxing, and cards check membership without
+ * building a HashSet per request.
+ */
+public final class FavoriteIds {
+
+    public static final FavoriteIds EMPTY = new FavoriteIds(new long[0], new long[0]);
+
+    private final long[] recipeIds;
+    private final long[] sellIds;
+
+    private FavoriteIds(long[] recipeIds, long[] sellIds) {
+        this.recipeIds = recipeIds;
+        this.sellIds = sellIds;
+    }
+
+    public static FavoriteIds of(List<FavoriteTarget> targets) {
+        if (targets.isEmpty()) {
+            return EMPTY;
+        }
+        long[] recipeIds = new long[targets.size()];
+        long[] sellIds = new long[targets.size()];
+        int recipes = 0;
+        int sells = 0;
+        for (FavoriteTarget target : targets) {
+            if (target.getFoodRecipeId() != null) {
+                recipeIds[recipes++] = target.getFoodRecipeId();
+            }
+            if (target.getFoodSellId() != null) {
+                sellIds[sells++] = target.getFoodSellId();
+            }
+        }
+        return new FavoriteIds(sorted(recipeIds, recipes), sorted(sellIds, sells));
+    }
+
+    public boolean containsRecipe(Long recipeId) {
+        return recipeId != null && Arrays.binarySearch(recipeIds, recipeId) >= 0;
+    }
+
+    public boolean containsSell(Long sellId) {
+        return sellId != null && Arrays.binarySearch(sellIds, sellId) >= 0;
+    }
+
+    private static long[] sorted(long[] ids, int length) {
+        long[] trimmed = Arrays.copyOf(ids, length);
+        Arrays.sort(trimmed);
+        return trimmed;
+    }
+}
@@ -2,12 +2,16 @@ package com.kshrd.kroya_api.service.Favorite;
 
 import com.kshrd.kroya_api.enums.ItemType;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncRequest;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncResponse;
 
 public interface FavoriteService {
     BaseResponse<?> saveFoodToFavorite(Long foodId, ItemType itemType);
 
     BaseResponse<?> unsavedFoodFromFavorite(Long foodId, ItemType itemType);
 
+    BaseResponse<FavoriteSyncResponse> syncFavorites(FavoriteSyncRequest favoriteSyncRequest);
+
     BaseResponse<?> getAllFavoriteFoodsByCurrentUser();
 
     BaseResponse<?> searchFoodsByName(String name);
@@ -1,44 +1,49 @@
 package com.kshrd.kroya_api.service.Favorite;
 
-import com.kshrd.kroya_api.dto.PhotoDTO;
-import com.kshrd.kroya_api.dto.UserProfileDTO;
 import com.kshrd.kroya_api.entity.*;
 import com.kshrd.kroya_api.enums.ItemType;
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import com.kshrd.kroya_api.mapper.FoodMapper;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteChange;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncRequest;
+import com.kshrd.kroya_api.payload.Favorite.FavoriteSyncResponse;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
 import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodSearchHit;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellExpiryScheduler;
+import com.kshrd.kroya_api.service.Foods.FoodSearch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FavoriteServiceImpl implements FavoriteService {
 
+    private static final int MAX_SYNC_CHANGES = 500;
+
     private final FavoriteRepository favoriteRepository;
     private final FoodRecipeRepository foodRecipeRepository;
     private final FoodSellRepository foodSellRepository;
-    private final ModelMapper modelMapper;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
+    private final FoodSearch foodSearch;
+    private final FavoriteIdCache favoriteIdCache;
+    private final Clock clock;
 
     @Override
     public BaseResponse<?> saveFoodToFavorite(Long foodId, ItemType itemType) {
@@ -48,74 +53,44 @@ public class FavoriteServiceImpl implements FavoriteService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         if (itemType == ItemType.FOOD_RECIPE) {
-            // Find the FoodRecipe by ID
-            Optional<FoodRecipeEntity> foodRecipeOptional = foodRecipeRepository.findById(Math.toIntExact(foodId));
-            if (foodRecipeOptional.isEmpty()) {
-                return BaseResponse.builder()
-                        .message("Food Recipe not found")
-                        .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
-                        .build();
-            }
-
-            FoodRecipeEntity foodRecipe = foodRecipeOptional.get();
-
-            // Check if this food recipe is linked to any food sell
-            Optional<FoodSellEntity> linkedSell = foodSellRepository.findByFoodRecipe(foodRecipe);
-            if (linkedSell.isPresent()) {
-                return BaseResponse.builder()
-                        .message("This recipe is part of a Food Sell. Please select the Food Sell item instead.")
-                        .statusCode("400")
-                        .build();
-            }
-
-            // Check if the recipe is already in the user's favorites
-            Optional<FavoriteEntity> existingFavorite = favoriteRepository.findByUserAndFoodRecipe(currentUser, foodRecipe);
-            if (existingFavorite.isPresent()) {
+            // Insert in one statement; nothing is inserted for a missing, sold or already favorite recipe
+            List<Long> added = favoriteRepository.addRecipes(currentUser.getId(), List.of(foodId), LocalDateTime.now(clock));
+            if (added.isEmpty()) {
+                if (!foodRecipeRepository.existsById(Math.toIntExact(foodId))) {
+                    return BaseResponse.builder()
+                            .message("Food Recipe not found")
+                            .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
+                            .build();
+                }
+                if (foodSellRepository.existsByFoodRecipeId(foodId)) {
+                    return BaseResponse.builder()
+                            .message("This recipe is part of a Food Sell. Please select the Food Sell item instead.")
+                            .statusCode("400")
+                            .build();
+                }
+                // Repeated taps are not an error
                 return BaseResponse.builder()
                         .message("This recipe is already in your favorites")
-                        .statusCode("400")
+                        .statusCode("200")
                         .build();
             }
 
-            // Save the recipe to the favorites
-            FavoriteEntity favoriteEntity = FavoriteEntity.builder()
-                    .user(currentUser)
-                    .foodRecipe(foodRecipe)
-                    .favoriteDate(LocalDateTime.now())
-                    .build();
-
-            favoriteRepository.save(favoriteEntity);
-
         } else if (itemType == ItemType.FOOD_SELL) {
-            // Find the FoodSell by ID
-            Optional<FoodSellEntity> foodSellOptional = foodSellRepository.findById(foodId);
-            if (foodSellOptional.isEmpty()) {
-                return BaseResponse.builder()
-                        .message("Food Sell not found")
-                        .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
-                        .build();
-            }
-
-            FoodSellEntity foodSell = foodSellOptional.get();
-
-            // Check if the sell item is already in the user's favorites
-            Optional<FavoriteEntity> existingFavorite = favoriteRepository.findByUserAndFoodSell(currentUser, foodSell);
-            if (existingFavorite.isPresent()) {
+            // Insert in one statement; nothing is inserted for a missing or already favorite sell item
+            List<Long> added = favoriteRepository.addSells(currentUser.getId(), List.of(foodId), LocalDateTime.now(clock));
+            if (added.isEmpty()) {
+                if (!foodSellRepository.existsById(foodId)) {
+                    return BaseResponse.builder()
+                            .message("Food Sell not found")
+                            .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
+                            .build();
+                }
                 return BaseResponse.builder()
                         .message("This item is already in your favorites")
-                        .statusCode("400")
+                        .statusCode("200")
                         .build();
             }
 
-            // Save the sell item to the favorites
-            FavoriteEntity favoriteEntity = FavoriteEntity.builder()
-                    .user(currentUser)
-                    .foodSell(foodSell)
-                    .favoriteDate(LocalDateTime.now())
-                    .build();
-
-            favoriteRepository.save(favoriteEntity);
-
         } else {
             return BaseResponse.builder()
                     .message("Invalid item type")
@@ -123,6 +98,7 @@ public class FavoriteServiceImpl implements FavoriteService {
                     .build();
         }
 
+        favoriteIdCache.evict(currentUser);
         return BaseResponse.builder()
                 .message("Item added to favorites")
                 .statusCode("201")
@@ -138,62 +114,37 @@ public class FavoriteServiceImpl implements FavoriteService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         if (itemType == ItemType.FOOD_RECIPE) {
-            // Find the FoodRecipe by ID
-            Optional<FoodRecipeEntity> foodRecipeOptional = foodRecipeRepository.findById(Math.toIntExact(foodId));
-            if (foodRecipeOptional.isEmpty()) {
-                return BaseResponse.builder()
-                        .message("Food Recipe not found")
-                        .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
-                        .build();
-            }
-
-            FoodRecipeEntity foodRecipe = foodRecipeOptional.get();
-
-            // Check if this food recipe is linked to any food sell
-            Optional<FoodSellEntity> linkedSell = foodSellRepository.findByFoodRecipe(foodRecipe);
-            if (linkedSell.isPresent()) {
-                return BaseResponse.builder()
-                        .message("This recipe is part of a Food Sell. Please select the Food Sell item instead.")
-                        .statusCode("400")
-                        .build();
-            }
-
-            // Check if the recipe is in the user's favorites
-            Optional<FavoriteEntity> existingFavorite = favoriteRepository.findByUserAndFoodRecipe(currentUser, foodRecipe);
-            if (existingFavorite.isEmpty()) {
+            // Delete in one statement; the returned ids tell whether a favorite existed
+            List<Long> removed = favoriteRepository.removeRecipes(currentUser.getId(), List.of(foodId));
+            if (removed.isEmpty()) {
+                if (!foodRecipeRepository.existsById(Math.toIntExact(foodId))) {
+                    return BaseResponse.builder()
+                            .message("Food Recipe not found")
+                            .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
+                            .build();
+                }
                 return BaseResponse.builder()
                         .message("This recipe is not in your favorites")
-                        .statusCode("400")
+                        .statusCode("200")
                         .build();
             }
-
-            // Remove the favorite entry
-            favoriteRepository.delete(existingFavorite.get());
             log.info("Food Recipe removed from favorites for user: {}", currentUser.getEmail());
 
         } else if (itemType == ItemType.FOOD_SELL) {
-            // Find the FoodSell by ID
-            Optional<FoodSellEntity> foodSellOptional = foodSellRepository.findById(foodId);
-            if (foodSellOptional.isEmpty()) {
-                return BaseResponse.builder()
-                        .message("Food Sell not found")
-                        .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
-                        .build();
-            }
-
-            FoodSellEntity foodSell = foodSellOptional.get();
-
-            // Check if the sell item is in the user's favorites
-            Optional<FavoriteEntity> existingFavorite = favoriteRepository.findByUserAndFoodSell(currentUser, foodSell);
-            if (existingFavorite.isEmpty()) {
+            // Delete in one statement; the returned ids tell whether a favorite existed
+            List<Long> removed = favoriteRepository.removeSells(currentUser.getId(), List.of(foodId));
+            if (removed.isEmpty()) {
+                if (!foodSellRepository.existsById(foodId)) {
+                    return BaseResponse.builder()
+                            .message("Food Sell not found")
+                            .statusCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
+                            .build();
+                }
                 return BaseResponse.builder()
                         .message("This item is not in your favorites")
-                        .statusCode("400")
+                        .statusCode("200")
                         .build();
             }
-
-            // Remove the favorite entry
-            favoriteRepository.delete(existingFavorite.get());
             log.info("Food Sell removed from favorites for user: {}", currentUser.getEmail());
 
         } else {
@@ -203,12 +154,63 @@ public class FavoriteServiceImpl implements FavoriteService {
                     .build();
         }
 
+        favoriteIdCache.evict(currentUser);
         return BaseResponse.builder()
                 .message("Item removed from favorites")
                 .statusCode("200")
                 .build();
     }
 
+    @Override
+    @Transactional
+    public BaseResponse<FavoriteSyncResponse> syncFavorites(FavoriteSyncRequest favoriteSyncRequest) {
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<FavoriteChange> changes = favoriteSyncRequest.getChanges();
+        if (changes == null || changes.isEmpty()) {
+            throw new FieldBlankExceptionHandler("Changes cannot be empty.");
+        }
+        if (changes.size() > MAX_SYNC_CHANGES) {
+            throw new FieldBlankExceptionHandler("At most " + MAX_SYNC_CHANGES + " changes can be synced at once.");
+        }
+        log.info("Syncing {} favorite changes for user: {}", changes.size(), currentUser.getEmail());
+
+        // Collapse the replayed changes to the final state of each item; the last change wins
+        Map<Long, Boolean> recipes = new LinkedHashMap<>();
+        Map<Long, Boolean> sells = new LinkedHashMap<>();
+        for (FavoriteChange change : changes) {
+            if (change.getFoodId() == null || change.getItemType() == null || change.getFavorite() == null) {
+                throw new FieldBlankExceptionHandler("Each change needs a foodId, an itemType and a favorite flag.");
+            }
+            Map<Long, Boolean> target = change.getItemType() == ItemType.FOOD_RECIPE ? recipes : sells;
+            target.remove(change.getFoodId());
+            target.put(change.getFoodId(), change.getFavorite());
+        }
+
+        // One statement per kind and direction
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer userId = currentUser.getId();
+        FavoriteSyncResponse response = FavoriteSyncResponse.builder()
+                .addedRecipeIds(favoriteRepository.addRecipes(userId, idsWithState(recipes, true), now))
+                .addedSellIds(favoriteRepository.addSells(userId, idsWithState(sells, true), now))
+                .removedRecipeIds(favoriteRepository.removeRecipes(userId, idsWithState(recipes, false)))
+                .removedSellIds(favoriteRepository.removeSells(userId, idsWithState(sells, false)))
+                .build();
+        favoriteIdCache.evict(currentUser);
+
+        return BaseResponse.<FavoriteSyncResponse>builder()
+                .message("Favorites synced successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(response)
+                .build();
+    }
+
+    private static List<Long> idsWithState(Map<Long, Boolean> states, boolean favorite) {
+        return states.entrySet().stream()
+                .filter(entry -> entry.getValue() == favorite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
     @Override
     public BaseResponse<?> getAllFavoriteFoodsByCurrentUser() {
         // Get the currently authenticated user
@@ -218,22 +220,12 @@ public class FavoriteServiceImpl implements FavoriteService {
         // Fetch all favorite entities for the user
         List<FavoriteEntity> favoriteEntities = favoriteRepository.findByUser(currentUser);
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
         // Map favorite entities to FoodRecipeCardResponse (pure food recipes)
         List<FoodRecipeCardResponse> favoriteFoodRecipes = favoriteEntities.stream()
                 .filter(favorite -> favorite.getFoodRecipe() != null && favorite.getFoodSell() == null)
                 .map(favorite -> {
-                    FoodRecipeCardResponse response = modelMapper.map(favorite.getFoodRecipe(), FoodRecipeCardResponse.class);
+                    FoodRecipeCardResponse response = FoodMapper.toRecipeCard(favorite.getFoodRecipe());
                     response.setIsFavorite(true); // Mark it as favorite
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = favorite.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
                     return response;
                 })
                 .toList();
@@ -242,68 +234,11 @@ public class FavoriteServiceImpl implements FavoriteService {
         List<FoodSellCardResponse> favoriteFoodSells = favoriteEntities.stream()
                 .filter(favorite -> favorite.getFoodSell() != null)
                 .map(favorite -> {
-                    FoodSellCardResponse response = modelMapper.map(favorite.getFoodSell(), FoodSellCardResponse.class);
-
-                    // Set foodSellId
-                    response.setFoodSellId(favorite.getFoodSell().getId());
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = favorite.getFoodSell().getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
+                    FoodSellCardResponse response = FoodMapper.toSellCard(favorite.getFoodSell());
                     response.setIsFavorite(true);
 
-                    DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                            .appendPattern("yyyy-MM-dd'T'HH:mm") // Base pattern for hours and minutes
-                            .optionalStart()
-                            .appendPattern(":ss") // Optional seconds pattern
-                            .optionalEnd()
-                            .optionalStart()
-                            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true) // Optional fractional seconds
-                            .optionalEnd()
-                            .toFormatter();
-
-                    LocalDateTime dateCooking;
-                    try {
-                        dateCooking = LocalDateTime.parse(favorite.getFoodSell().getDateCooking().toString(), formatter);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", favorite.getFoodSell().getDateCooking(), e);
-                        dateCooking = LocalDateTime.now(); // Fallback to current date-time
-                    }
-
-                    // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                    ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                    // Update isOrderable based on whether dateCooking is expired or not
-                    if (dateCookingZoned.isBefore(currentDateTimeInPhnomPenh)) {
-                        favorite.getFoodSell().setIsOrderable(false);
-                    } else {
-                        favorite.getFoodSell().setIsOrderable(true);
-                    }
-
-                    // Save the updated isOrderable value to the database
-                    foodSellRepository.save(favorite.getFoodSell());
-
-                    // Set isOrderable explicitly in the response
-                    response.setIsOrderable(favorite.getFoodSell().getIsOrderable());
-
-                    // Set seller information from the linked FoodRecipeEntity user
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
+                    // Determine if the food is orderable based on the dateCooking
+                    response.setIsOrderable(foodSellExpiryScheduler.isOrderable(favorite.getFoodSell().getDateCooking()));
 
                     return response;
                 })
@@ -328,49 +263,29 @@ public class FavoriteServiceImpl implements FavoriteService {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("Searching favorite foods by name '{}' for user: {}", name, currentUser.getEmail());
 
-        // Get current time in Phnom Penh time zone (UTC+7) to determine orderable status for food sells
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
+        // Run one ranked search restricted to the user's favorites
+        List<FoodSearchHit> hits = foodSearch.searchFavorites(name, currentUser.getId());
+        FavoriteIds favorites = favoriteIdCache.get(currentUser);
 
-        // Search for favorite FoodRecipe items by name
-        List<FavoriteEntity> favoriteRecipeEntities = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser);
-        List<FoodRecipeCardResponse> favoriteFoodRecipes = favoriteRecipeEntities.stream()
-                .filter(favorite -> favorite.getFoodRecipe().getName().toLowerCase().contains(name.toLowerCase()))
-                .map(favorite -> {
-                    FoodRecipeCardResponse response = modelMapper.map(favorite.getFoodRecipe(), FoodRecipeCardResponse.class);
+        // Map the matching favorite FoodRecipe items
+        List<FoodRecipeCardResponse> favoriteFoodRecipes = foodSearch.recipes(hits).stream()
+                .filter(recipe -> favorites.containsRecipe(recipe.getId()))
+                .map(recipe -> {
+                    FoodRecipeCardResponse response = FoodMapper.toRecipeCard(recipe);
                     response.setIsFavorite(true);
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = favorite.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
                     return response;
                 })
                 .toList();
 
-        // Search for favorite FoodSell items by name
-        List<FavoriteEntity> favoriteSellEntities = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser);
-        List<FoodSellCardResponse> favoriteFoodSells = favoriteSellEntities.stream()
-                .filter(favorite -> favorite.getFoodSell().getFoodRecipe().getName().toLowerCase().contains(name.toLowerCase()))
-                .map(favorite -> {
-                    FoodSellCardResponse response = modelMapper.map(favorite.getFoodSell(), FoodSellCardResponse.class);
+        // Map the matching favorite FoodSell items
+        List<FoodSellCardResponse> favoriteFoodSells = foodSearch.sells(hits).stream()
+                .filter(sell -> favorites.containsSell(sell.getId()))
+                .map(sell -> {
+                    FoodSellCardResponse response = FoodMapper.toSellCard(sell);
                     response.setIsFavorite(true);
 
-                    // Map photos from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = favorite.getFoodSell().getFoodRecipe();
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
                     // Check if the FoodSell item is orderable
-                    LocalDateTime dateCooking = favorite.getFoodSell().getDateCooking();
-                    ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-                    response.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
+                    response.setIsOrderable(foodSellExpiryScheduler.isOrderable(sell.getDateCooking()));
 
                     return response;
                 })
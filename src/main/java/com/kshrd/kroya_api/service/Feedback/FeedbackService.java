@@ -14,7 +14,7 @@ public interface FeedbackService {
 
     BaseResponse<String> deleteFeedback(Long feedbackId);
 
-    BaseResponse<?> getAllFeedbacksByFoodId(Long foodId, ItemType itemType);
+    BaseResponse<?> getAllFeedbacksByFoodId(Long foodId, ItemType itemType, String cursor, int size);
 
     BaseResponse<FeedbackResponse> getFeedback(Long foodId, ItemType itemType);
 }
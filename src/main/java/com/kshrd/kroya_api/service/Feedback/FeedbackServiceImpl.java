@@ -1,6 +1,5 @@
 package com.kshrd.kroya_api.service.Feedback;
 
-import com.kshrd.kroya_api.dto.UserDTO;
 import com.kshrd.kroya_api.entity.FeedbackEntity;
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
@@ -10,18 +9,25 @@ import com.kshrd.kroya_api.exception.DuplicateFieldExceptionHandler;
 import com.kshrd.kroya_api.exception.ForbiddenException;
 import com.kshrd.kroya_api.exception.InvalidValueExceptionHandler;
 import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
+import com.kshrd.kroya_api.mapper.FeedbackMapper;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.Feedback.FeedbackRequest;
 import com.kshrd.kroya_api.payload.Feedback.FeedbackResponse;
+import com.kshrd.kroya_api.repository.Feedback.FeedbackComment;
 import com.kshrd.kroya_api.repository.Feedback.FeedbackRepository;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.util.FeedCursor;
+import com.kshrd.kroya_api.util.FeedbackCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,8 +42,9 @@ public class FeedbackServiceImpl implements FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final FoodRecipeRepository foodRecipeRepository;
     private final FoodSellRepository foodSellRepository;
-    private final ModelMapper modelMapper;
+    private final RatingHistogram ratingHistogram;
 
+    @Transactional
     public BaseResponse<FeedbackResponse> addFeedback(FeedbackRequest feedbackRequest, ItemType itemType) {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         boolean hasRating = feedbackRequest.getRatingValue() != null;
@@ -120,10 +127,8 @@ public class FeedbackServiceImpl implements FeedbackService {
                 throw new InvalidValueExceptionHandler("Rating must be a whole number between 1 and 5.");
             }
             feedbackEntity.setRatingValue(ratingValue);
-            // Update totalRaters and averageRating for FoodRecipe
-            FoodRecipeEntity associatedRecipe = feedbackEntity.getFoodRecipe() != null ? feedbackEntity.getFoodRecipe() : feedbackEntity.getFoodSell().getFoodRecipe();
-            updateRecipeRating(associatedRecipe, ratingValue);
-            foodRecipeRepository.save(associatedRecipe);
+            // Count the rating in the recipe histogram, which also updates totalRaters and averageRating
+            ratingHistogram.recordRating(associatedRecipeId(feedbackEntity), ratingValue, null);
         }
 
         // Set comment if provided
@@ -135,9 +140,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         feedbackEntity = feedbackRepository.save(feedbackEntity);
 
         // Prepare response
-        FeedbackResponse feedbackResponse = modelMapper.map(feedbackEntity, FeedbackResponse.class);
-        feedbackResponse.setFeedbackId(feedbackEntity.getId());
-        feedbackResponse.setUser(modelMapper.map(currentUser, UserDTO.class));
+        FeedbackResponse feedbackResponse = FeedbackMapper.toFeedbackResponse(feedbackEntity);
 
         return BaseResponse.<FeedbackResponse>builder()
                 .statusCode(String.valueOf(HttpStatus.CREATED.value()))
@@ -147,19 +150,17 @@ public class FeedbackServiceImpl implements FeedbackService {
     }
 
     /**
-     * Updates the average rating and total raters for a recipe when a new rating is added.
+     * Ratings on a food sell count for its recipe.
      */
-    private void updateRecipeRating(FoodRecipeEntity recipe, int newRating) {
-        int updatedTotalRaters = Optional.ofNullable(recipe.getTotalRaters()).orElse(0) + 1;
-        double currentAverageRating = Optional.ofNullable(recipe.getAverageRating()).orElse(0.0);
-        double updatedAverageRating = (currentAverageRating * (updatedTotalRaters - 1) + newRating) / updatedTotalRaters;
-        recipe.setTotalRaters(updatedTotalRaters);
-        recipe.setAverageRating(updatedAverageRating);
+    private Long associatedRecipeId(FeedbackEntity feedbackEntity) {
+        FoodRecipeEntity associatedRecipe = feedbackEntity.getFoodRecipe() != null ? feedbackEntity.getFoodRecipe() : feedbackEntity.getFoodSell().getFoodRecipe();
+        return associatedRecipe.getId();
     }
 
     /**
      * Updates an existing feedback entry with a new rating or comment.
      */
+    @Transactional
     public BaseResponse<FeedbackResponse> updateFeedback(Long feedbackId, FeedbackRequest feedbackRequest) {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         FeedbackEntity feedbackEntity = feedbackRepository.findById(feedbackId)
@@ -185,13 +186,11 @@ public class FeedbackServiceImpl implements FeedbackService {
                 throw new InvalidValueExceptionHandler("Rating must be a whole number between 1 and 5.");
             }
 
-            // Adjust recipe rating with the updated rating value
-            FoodRecipeEntity associatedRecipe = feedbackEntity.getFoodRecipe() != null ? feedbackEntity.getFoodRecipe() : feedbackEntity.getFoodSell().getFoodRecipe();
-            updateRecipeRatingOnUpdate(associatedRecipe, feedbackEntity.getRatingValue(), newRatingValue);
+            // Move the rating to its new bucket in the recipe histogram
+            ratingHistogram.recordRating(associatedRecipeId(feedbackEntity), newRatingValue, feedbackEntity.getRatingValue());
 
             // Update feedback entity with new rating
             feedbackEntity.setRatingValue(newRatingValue);
-            foodRecipeRepository.save(associatedRecipe);
         }
 
         // Update comment if provided
@@ -203,9 +202,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         feedbackEntity = feedbackRepository.save(feedbackEntity);
 
         // Prepare response
-        FeedbackResponse feedbackResponse = modelMapper.map(feedbackEntity, FeedbackResponse.class);
-        feedbackResponse.setFeedbackId(feedbackEntity.getId());
-        feedbackResponse.setUser(modelMapper.map(currentUser, UserDTO.class));
+        FeedbackResponse feedbackResponse = FeedbackMapper.toFeedbackResponse(feedbackEntity);
 
         return BaseResponse.<FeedbackResponse>builder()
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
@@ -217,6 +214,7 @@ public class FeedbackServiceImpl implements FeedbackService {
     /**
      * Deletes an existing feedback entry.
      */
+    @Transactional
     public BaseResponse<String> deleteFeedback(Long feedbackId) {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         FeedbackEntity feedbackEntity = feedbackRepository.findById(feedbackId)
@@ -227,11 +225,9 @@ public class FeedbackServiceImpl implements FeedbackService {
             throw new ForbiddenException("You cannot delete feedback that you did not create.");
         }
 
-        // Update the recipe rating and total raters if feedback includes a rating
+        // Remove the rating from the recipe histogram if feedback includes a rating
         if (feedbackEntity.getRatingValue() != null) {
-            FoodRecipeEntity associatedRecipe = feedbackEntity.getFoodRecipe() != null ? feedbackEntity.getFoodRecipe() : feedbackEntity.getFoodSell().getFoodRecipe();
-            updateRecipeRatingOnDelete(associatedRecipe, feedbackEntity.getRatingValue());
-            foodRecipeRepository.save(associatedRecipe);
+            ratingHistogram.recordRating(associatedRecipeId(feedbackEntity), null, feedbackEntity.getRatingValue());
         }
 
         // Delete the feedback entity
@@ -245,49 +241,59 @@ public class FeedbackServiceImpl implements FeedbackService {
     }
 
     @Override
-    public BaseResponse<?> getAllFeedbacksByFoodId(Long foodId, ItemType itemType) {
-        log.info("Fetching all feedbacks for foodId: {} and itemType: {}", foodId, itemType);
+    public BaseResponse<?> getAllFeedbacksByFoodId(Long foodId, ItemType itemType, String cursor, int size) {
+        log.info("Fetching feedbacks for foodId: {} and itemType: {}", foodId, itemType);
+        FeedCursor.validateSize(size);
+        FeedbackCursor feedbackCursor = FeedbackCursor.decode(cursor);
 
-        List<FeedbackEntity> feedbackEntities;
+        // Fetch one extra row to know whether another page follows
+        Pageable probe = PageRequest.ofSize(size + 1);
+        List<FeedbackComment> comments;
 
         if (itemType == ItemType.FOOD_RECIPE) {
-            // Fetch all feedbacks for a specific FoodRecipe by ID
-            FoodRecipeEntity recipe = foodRecipeRepository.findById(Math.toIntExact(foodId))
-                    .orElseThrow(() -> new NotFoundExceptionHandler("Recipe not found with ID: " + foodId));
-
-            feedbackEntities = feedbackRepository.findByFoodRecipe(recipe);
+            // Only check that the recipe exists; comments are read as projections
+            if (!foodRecipeRepository.existsById(Math.toIntExact(foodId))) {
+                throw new NotFoundExceptionHandler("Recipe not found with ID: " + foodId);
+            }
+            comments = feedbackRepository.findCommentsByFoodRecipeIdBefore(
+                    foodId, feedbackCursor.createdAt(), feedbackCursor.id(), probe);
 
         } else if (itemType == ItemType.FOOD_SELL) {
-            // Fetch all feedbacks for a specific FoodSell by ID
-            FoodSellEntity sell = foodSellRepository.findById(foodId)
-                    .orElseThrow(() -> new NotFoundExceptionHandler("Food Sell not found with ID: " + foodId));
-
-            feedbackEntities = feedbackRepository.findByFoodSell(sell);
+            // Only check that the food sell exists; comments are read as projections
+            if (!foodSellRepository.existsById(foodId)) {
+                throw new NotFoundExceptionHandler("Food Sell not found with ID: " + foodId);
+            }
+            comments = feedbackRepository.findCommentsByFoodSellIdBefore(
+                    foodId, feedbackCursor.createdAt(), feedbackCursor.id(), probe);
 
         } else {
             throw new InvalidValueExceptionHandler("Invalid item type");
         }
 
         // Check if there are no feedbacks for the provided foodId and itemType
-        if (feedbackEntities.isEmpty()) {
+        if (feedbackCursor.isFirstPage() && comments.isEmpty()) {
             throw new NotFoundExceptionHandler("No feedbacks found for the specified food item.");
         }
 
-        // Map feedback entities to FeedbackResponse
-        List<FeedbackResponse> feedbackResponses = feedbackEntities.stream()
-                .map(feedback -> {
-                    FeedbackResponse response = modelMapper.map(feedback, FeedbackResponse.class);
-                    response.setFeedbackId(feedback.getId());
-                    UserDTO userDTO = modelMapper.map(feedback.getUser(), UserDTO.class);
-                    response.setUser(userDTO);
-                    return response;
-                })
+        boolean hasNext = comments.size() > size;
+        List<FeedbackComment> page = hasNext ? comments.subList(0, size) : comments;
+        String nextCursor = null;
+        if (hasNext) {
+            FeedbackComment last = page.get(page.size() - 1);
+            nextCursor = FeedbackCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        // Map feedback projections to FeedbackResponse
+        List<FeedbackResponse> feedbackResponses = page.stream()
+                .map(FeedbackMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
 
         return BaseResponse.builder()
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(feedbackResponses)
                 .message("Feedbacks fetched successfully")
+                .paginationMeta(PaginationMeta.ofCursor(
+                        "/api/v1/feedback/guest-user/" + foodId + "?itemType=" + itemType, size, nextCursor))
                 .build();
     }
 
@@ -323,12 +329,8 @@ public class FeedbackServiceImpl implements FeedbackService {
         FeedbackEntity feedbackEntity = feedbackEntityOptional
                 .orElseThrow(() -> new NotFoundExceptionHandler("No feedback found for the specified food item by the current user."));
 
-        // Map feedback entity to FeedbackResponse
-        FeedbackResponse feedbackResponse = modelMapper.map(feedbackEntity, FeedbackResponse.class);
-        feedbackResponse.setFeedbackId(feedbackEntity.getId());
-
-        // Map user details
-        feedbackResponse.setUser(modelMapper.map(currentUser, UserDTO.class));
+        // Map feedback entity to FeedbackResponse, including the user details
+        FeedbackResponse feedbackResponse = FeedbackMapper.toFeedbackResponse(feedbackEntity);
 
         // Return response
         return BaseResponse.<FeedbackResponse>builder()
@@ -337,35 +339,4 @@ public class FeedbackServiceImpl implements FeedbackService {
                 .message("Feedback fetched successfully")
                 .build();
     }
-
-
-
-    /**
-     * Updates the recipe's average rating and total raters when an existing rating is updated.
-     */
-    private void updateRecipeRatingOnUpdate(FoodRecipeEntity recipe, int oldRating, int newRating) {
-        int totalRaters = Optional.ofNullable(recipe.getTotalRaters()).orElse(0);
-        if (totalRaters > 0) {
-            double currentAverageRating = Optional.ofNullable(recipe.getAverageRating()).orElse(0.0);
-            double updatedAverageRating = (currentAverageRating * totalRaters - oldRating + newRating) / totalRaters;
-            recipe.setAverageRating(updatedAverageRating);
-        }
-    }
-
-    /**
-     * Updates the recipe's average rating and total raters when a rating is deleted.
-     */
-    private void updateRecipeRatingOnDelete(FoodRecipeEntity recipe, int deletedRating) {
-        int totalRaters = Optional.ofNullable(recipe.getTotalRaters()).orElse(0);
-        if (totalRaters > 1) {
-            double currentAverageRating = Optional.ofNullable(recipe.getAverageRating()).orElse(0.0);
-            double updatedAverageRating = (currentAverageRating * totalRaters - deletedRating) / (totalRaters - 1);
-            recipe.setAverageRating(updatedAverageRating);
-            recipe.setTotalRaters(totalRaters - 1);
-        } else {
-            // If there was only one rating, reset the recipe's rating data
-            recipe.setAverageRating(0.0);
-            recipe.setTotalRaters(0);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.kshrd.kroya_api.service.Feedback;
+
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Coalesces rating changes in memory and writes them to the recipe histograms in batches, so a burst of
+ * ratings on one dish costs one UPDATE instead of one per feedback. Pending deltas are spread over lock
+ * stripes by recipe id; a flush swaps each stripe's map out under its lock and applies the sum with
+ * relative increments, which stay correct with several instances writing the same rows.
+ * Deltas not yet flushed are lost if the process dies; the nightly RatingHistogram drift repair restores them.
+ */
+@Slf4j
+@Component
+public class RatingAccumulator {
+
+    private static final int BUCKETS = 5;
+
+    private final FoodRecipeRepository foodRecipeRepository;
+    private final Stripe[] stripes;
+
+    public RatingAccumulator(FoodRecipeRepository foodRecipeRepository,
+                             @Value("${rating.accumulator.stripes:16}") int stripeCount) {
+        this.foodRecipeRepository = foodRecipeRepository;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Queues a rating change once the surrounding transaction commits, so rolled back feedback is never
+     * counted; outside a transaction it is queued right away. A rating of 0 means none added or removed.
+     */
+    public void add(Long recipeId, int addedRating, int removedRating) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accumulate(recipeId, addedRating, removedRating);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accumulate(recipeId, addedRating, removedRating);
+            }
+        });
+    }
+
+    /**
+     * Writes every pending delta; on failure the deltas are put back for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${rating.accumulator.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        SortedMap<Long, int[]> pending = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            Map<Long, int[]> drained;
+            synchronized (stripe) {
+                if (stripe.deltas.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.deltas;
+                stripe.deltas = new HashMap<>();
+            }
+            drained.forEach((recipeId, buckets) -> merge(pending, recipeId, buckets));
+        }
+        pending.values().removeIf(RatingAccumulator::isZero);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            foodRecipeRepository.applyRatingDeltas(pending);
+        } catch (RuntimeException e) {
+            log.warn("Could not flush rating changes of {} recipes, retrying on next flush", pending.size(), e);
+            pending.forEach((recipeId, buckets) -> {
+                Stripe stripe = stripeOf(recipeId);
+                synchronized (stripe) {
+                    merge(stripe.deltas, recipeId, buckets);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void accumulate(Long recipeId, int addedRating, int removedRating) {
+        Stripe stripe = stripeOf(recipeId);
+        synchronized (stripe) {
+            int[] buckets = stripe.deltas.computeIfAbsent(recipeId, id -> new int[BUCKETS]);
+            if (addedRating >= 1 && addedRating <= BUCKETS) {
+                buckets[addedRating - 1]++;
+            }
+            if (removedRating >= 1 && removedRating <= BUCKETS) {
+                buckets[removedRating - 1]--;
+            }
+        }
+    }
+
+    private Stripe stripeOf(Long recipeId) {
+        return stripes[Math.floorMod(recipeId.hashCode(), stripes.length)];
+    }
+
+    private static void merge(Map<Long, int[]> target, Long recipeId, int[] buckets) {
+        int[] merged = target.computeIfAbsent(recipeId, id -> new int[BUCKETS]);
+        for (int i = 0; i < BUCKETS; i++) {
+            merged[i] += buckets[i];
+        }
+    }
+
+    private static boolean isZero(int[] buckets) {
+        for (int count : buckets) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Guarded by its own monitor
+    private static final class Stripe {
+        private Map<Long, int[]> deltas = new HashMap<>();
+    }
+}
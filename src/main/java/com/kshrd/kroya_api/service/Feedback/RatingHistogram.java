@@ -0,0 +1,128 @@
+package com.kshrd.kroya_api.service.Feedback;
+
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.RatingDrift;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Per-recipe star histogram stored on food_recipe_tb (rating_count_1..5). Feedback writes move
+ * one rating between buckets through RatingAccumulator, which applies them as batched atomic increments,
+ * and total_raters/average_rating are derived from the same counters, so detail views read the
+ * distribution straight from the loaded recipe (up to one flush interval behind).
+ * Ratings given on a food sell count for its recipe.
+ */
+@Slf4j
+@Component
+public class RatingHistogram {
+
+    private final FoodRecipeRepository foodRecipeRepository;
+    private final RatingAccumulator ratingAccumulator;
+    private final TaskScheduler taskScheduler;
+    private final long settleMillis;
+
+    public RatingHistogram(FoodRecipeRepository foodRecipeRepository,
+                           RatingAccumulator ratingAccumulator,
+                           TaskScheduler taskScheduler,
+                           @Value("${rating.histogram.settle-ms:10000}") long settleMillis) {
+        this.foodRecipeRepository = foodRecipeRepository;
+        this.ratingAccumulator = ratingAccumulator;
+        this.taskScheduler = taskScheduler;
+        this.settleMillis = settleMillis;
+    }
+
+    /**
+     * Applies a rating change; addedRating or removedRating is null when there is none.
+     */
+    public void recordRating(Long recipeId, Integer addedRating, Integer removedRating) {
+        int added = addedRating != null ? addedRating : 0;
+        int removed = removedRating != null ? removedRating : 0;
+        if (added == removed) {
+            return;
+        }
+        ratingAccumulator.add(recipeId, added, removed);
+    }
+
+    /**
+     * Share of each star level, 5 down to 1, rounded to two decimals.
+     */
+    public LinkedHashMap<Integer, Double> percentages(FoodRecipeEntity recipe) {
+        long[] counts = {
+                count(recipe.getRatingCount1()),
+                count(recipe.getRatingCount2()),
+                count(recipe.getRatingCount3()),
+                count(recipe.getRatingCount4()),
+                count(recipe.getRatingCount5())
+        };
+        long totalRatings = 0;
+        for (long count : counts) {
+            totalRatings += count;
+        }
+
+        // Use a LinkedHashMap to ensure the order of keys from 5 to 1 in the JSON response
+        LinkedHashMap<Integer, Double> ratingPercentages = new LinkedHashMap<>();
+        for (int i = 5; i >= 1; i--) {
+            double percentage = totalRatings > 0 ? (counts[i - 1] * 100.0 / totalRatings) : 0.0;
+            ratingPercentages.put(i, Math.round(percentage * 100.0) / 100.0); // Round to two decimal places
+        }
+        return ratingPercentages;
+    }
+
+    /**
+     * Repairs histograms that drifted from feedback_tb, such as deltas lost with a crashed instance. Deltas
+     * still queued on any instance show up as drift too, so the drift is read twice, a settle interval apart
+     * that covers several flushes, and only drift that did not change in between is applied. It is applied
+     * as relative increments like a flush, so ratings written meanwhile are kept.
+     */
+    @Scheduled(cron = "${rating.histogram.rebuild-cron:0 30 3 * * *}", zone = "Asia/Phnom_Penh")
+    public void repairDrift() {
+        startDriftRepair();
+    }
+
+    // The second read is scheduled rather than slept for, so the shared scheduler thread keeps running the
+    // flushes and the other jobs meanwhile; null when nothing drifted
+    ScheduledFuture<?> startDriftRepair() {
+        Map<Long, int[]> first = readDrift();
+        if (first.isEmpty()) {
+            return null;
+        }
+        return taskScheduler.schedule(() -> applySettledDrift(first), Instant.now().plusMillis(settleMillis));
+    }
+
+    private void applySettledDrift(Map<Long, int[]> first) {
+        SortedMap<Long, int[]> settled = new TreeMap<>();
+        readDrift().forEach((recipeId, buckets) -> {
+            if (Arrays.equals(buckets, first.get(recipeId))) {
+                settled.put(recipeId, buckets);
+            }
+        });
+        foodRecipeRepository.applyRatingDeltas(settled);
+        log.info("Repaired rating drift of {} recipes, {} still changing", settled.size(), first.size() - settled.size());
+    }
+
+    private Map<Long, int[]> readDrift() {
+        ratingAccumulator.flush();
+        Map<Long, int[]> drift = new HashMap<>();
+        for (RatingDrift row : foodRecipeRepository.findRatingDrift()) {
+            drift.put(row.getRecipeId(), row.buckets());
+        }
+        return drift;
+    }
+
+    private static long count(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kshrd.kroya_api.service.File;
+
+import com.kshrd.kroya_api.entity.FileEntity;
+import com.kshrd.kroya_api.repository.File.FileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes stored files nothing points at any more. Uploads are content-addressed and shared, so a file
+ * is only collected once no photo_tb.photo or user_tb.profile_image references it and its last upload
+ * is older than the grace period (clients upload photos before saving the recipe that uses them).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileGarbageCollector {
+
+    private final FileRepository fileRepository;
+    private final FileStorage fileStorage;
+    private final FileMetadataCache fileMetadataCache;
+    private final Clock clock;
+
+    @Value("${file.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${file.gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${file.gc.max-batches:50}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${file.gc.cron:0 0 4 * * *}", zone = "Asia/Phnom_Penh")
+    public void collect() {
+        // Step 1: Bring ref_count in line with the current photo and profile image references
+        int recounted = fileRepository.recountReferences();
+
+        // Step 2: Delete unreferenced rows in batches; the delete re-checks references and the cutoff,
+        // so only the returned names are removed from storage
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusHours(graceHours);
+        int removed = 0;
+        long afterId = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<FileEntity> candidates = fileRepository.findUnreferencedBefore(cutoff, afterId, batchSize);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            afterId = candidates.get(candidates.size() - 1).getId();
+            List<String> deleted = fileRepository.deleteUnreferenced(
+                    candidates.stream().map(FileEntity::getId).toList(), cutoff);
+            fileMetadataCache.evict(deleted);
+            deleted.forEach(this::deleteStoredFiles);
+            removed += deleted.size();
+            if (candidates.size() < batchSize) {
+                break;
+            }
+        }
+        log.info("File GC recounted {} files and removed {} unreferenced files", recounted, removed);
+    }
+
+    private void deleteStoredFiles(String fileName) {
+        try {
+            fileStorage.delete(fileName);
+            for (ImageVariant variant : ImageVariant.values()) {
+                fileStorage.delete(variant.fileNameOf(fileName));
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete {} from storage: {}", fileName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.kshrd.kroya_api.service.File;
+
+import com.kshrd.kroya_api.entity.FileEntity;
+import com.kshrd.kroya_api.repository.File.FileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process cache of file_tb rows for the image GET path, so a view does not query Postgres or stat the
+ * storage backend. Stored files are content-addressed and never change in place; entries expire after
+ * a TTL only to pick up variants generated or files collected on another instance. Unknown names are
+ * cached in a separate, shorter-lived map so scanners probing random names cannot evict real entries.
+ * Both are bounded ClockMaps, which read without locking and evict an approximately least recently used entry.
+ */
+@Slf4j
+@Component
+public class FileMetadataCache {
+
+    private final FileRepository fileRepository;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final ClockMap<Cached> entries;
+    private final ClockMap<Long> unknownNames;
+
+    /**
+     * Cached row plus the storage metadata of the objects served for it, keyed by storage key.
+     */
+    public record FileMetadata(String fileName, String contentHash, Set<String> variants,
+                               Map<String, StoredObject> objects) {
+
+        /**
+         * Storage key for the original or a variant, falling back to the original until the variant exists.
+         */
+        public String storageKey(ImageVariant variant) {
+            return isPending(variant) ? fileName : variant.fileNameOf(fileName);
+        }
+
+        public boolean isPending(ImageVariant variant) {
+            return variant == null || !variants.contains(variant.key());
+        }
+    }
+
+    public record StoredObject(FileStorage.ObjectInfo info, MediaType contentType, String etag) {
+    }
+
+    private record Cached(FileMetadata metadata, long expiresAt) {
+    }
+
+    public FileMetadataCache(FileRepository fileRepository,
+                             @Value("${file.metadata-cache.max-entries:10000}") int maxEntries,
+                             @Value("${file.metadata-cache.ttl-ms:600000}") long ttlMillis,
+                             @Value("${file.metadata-cache.negative-max-entries:10000}") int negativeMaxEntries,
+                             @Value("${file.metadata-cache.negative-ttl-ms:60000}") long negativeTtlMillis) {
+        this.fileRepository = fileRepository;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.entries = new ClockMap<>(maxEntries);
+        this.unknownNames = new ClockMap<>(negativeMaxEntries);
+    }
+
+    /**
+     * Metadata of a stored file, loading it on a miss; unknown names throw FileNotFoundException.
+     */
+    public FileMetadata get(String fileName) throws FileNotFoundException {
+        long now = System.currentTimeMillis();
+        Cached cached = entries.get(fileName);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.metadata();
+        }
+        Long unknownUntil = unknownNames.get(fileName);
+        if (unknownUntil != null && unknownUntil > now) {
+            throw notFound(fileName);
+        }
+
+        FileEntity file = fileRepository.findByFileName(fileName);
+        if (file == null) {
+            unknownNames.put(fileName, now + negativeTtlMillis);
+            entries.remove(fileName);
+            throw notFound(fileName);
+        }
+        FileMetadata metadata = new FileMetadata(file.getFileName(), file.getContentHash(),
+                variantsOf(file), new ConcurrentHashMap<>());
+        entries.put(fileName, new Cached(metadata, now + ttlMillis));
+        unknownNames.remove(fileName);
+        return metadata;
+    }
+
+    /**
+     * Storage metadata of one object of a cached file; missing objects are not cached.
+     */
+    public StoredObject object(FileMetadata metadata, String key, FileStorage fileStorage) throws IOException {
+        StoredObject object = metadata.objects().get(key);
+        if (object != null) {
+            return object;
+        }
+        FileStorage.ObjectInfo info = fileStorage.stat(key)
+                .orElseThrow(() -> notFound(metadata.fileName()));
+        String etag = "\"" + Long.toHexString(info.size()) + "-" + Long.toHexString(info.lastModified()) + "\"";
+        MediaType contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        object = new StoredObject(info, contentType, etag);
+        metadata.objects().put(key, object);
+        return object;
+    }
+
+    /**
+     * Drops everything known about the names, e.g. after an insert, a variant update or a delete.
+     */
+    public void evict(Collection<String> fileNames) {
+        fileNames.forEach(fileName -> {
+            entries.remove(fileName);
+            unknownNames.remove(fileName);
+        });
+    }
+
+    public void evict(String fileName) {
+        evict(List.of(fileName));
+    }
+
+    private static Set<String> variantsOf(FileEntity file) {
+        if (file.getVariants() == null || file.getVariants().isBlank()) {
+            return Set.of();
+        }
+        return Set.copyOf(Arrays.asList(file.getVariants().split(",")));
+    }
+
+    private static FileNotFoundException notFound(String fileName) {
+        return new FileNotFoundException("File not found with name: " + fileName);
+    }
+
+    /**
+     * ConcurrentHashMap bounded by the clock algorithm: a read only sets the entry's referenced bit, and
+     * once the map is full the thread that holds the hand sweeps it, clearing set bits and removing the first
+     * entry found without one. Other writers do not wait for the sweep, so the size may briefly exceed the bound.
+     */
+    private static final class ClockMap<V> {
+
+        private final ConcurrentHashMap<String, Slot<V>> slots = new ConcurrentHashMap<>();
+        private final ReentrantLock handLock = new ReentrantLock();
+        private final int maxEntries;
+        private Iterator<Map.Entry<String, Slot<V>>> hand = Collections.emptyIterator();
+
+        private static final class Slot<V> {
+            private final V value;
+            private volatile boolean referenced;
+
+            private Slot(V value) {
+                this.value = value;
+            }
+        }
+
+        private ClockMap(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        V get(String key) {
+            Slot<V> slot = slots.get(key);
+            if (slot == null) {
+                return null;
+            }
+            // Skip the write when the bit is already set, so hot entries do not bounce their cache line
+            if (!slot.referenced) {
+                slot.referenced = true;
+            }
+            return slot.value;
+        }
+
+        void put(String key, V value) {
+            slots.put(key, new Slot<>(value));
+            if (slots.size() > maxEntries && handLock.tryLock()) {
+                try {
+                    evict();
+                } finally {
+                    handLock.unlock();
+                }
+            }
+        }
+
+        void remove(String key) {
+            slots.remove(key);
+        }
+
+        // Two laps at most: the first clears every referenced bit it passes, so the second finds a victim
+        private void evict() {
+            long steps = 2L * slots.size() + 2;
+            while (slots.size() > maxEntries && steps-- > 0) {
+                if (!hand.hasNext()) {
+                    hand = slots.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, Slot<V>> entry = hand.next();
+                Slot<V> slot = entry.getValue();
+                if (slot.referenced) {
+                    slot.referenced = false;
+                } else {
+                    slots.remove(entry.getKey(), slot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.kshrd.kroya_api.service.File;
+
+/**
+ * Direct download location for a stored file; clients may reuse it for maxAgeSeconds.
+ */
+public record FileRedirect(String url, long maxAgeSeconds) {
+}
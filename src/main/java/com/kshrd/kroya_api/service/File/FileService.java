@@ -1,17 +1,20 @@
 package com.kshrd.kroya_api.service.File;
 
-import com.kshrd.kroya_api.entity.FileEntity;
-import org.springframework.core.io.Resource;
+import com.kshrd.kroya_api.payload.File.FileUploadResult;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 public interface FileService {
-    FileEntity InsertFile(FileEntity fileEntity);
+    List<FileUploadResult> uploadFiles(List<MultipartFile> files, String urlPrefix);
 
-    String Uplaodfile(MultipartFile file) throws IOException;
+    StoredFile getFile(String fileName) throws IOException;
 
-    Resource getFile(String fileName) throws IOException;
+    StoredFile getFile(String fileName, ImageVariant variant) throws IOException;
+
+    Optional<FileRedirect> getRedirect(String fileName, ImageVariant variant) throws IOException;
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.kshrd.kroya_api.service.File;
 
 import com.kshrd.kroya_api.entity.FileEntity;
-import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
+import com.kshrd.kroya_api.payload.File.FileUploadResult;
 import com.kshrd.kroya_api.repository.File.FileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,61 +17,144 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class FileServiceImpl implements FileService {
     @Autowired
     private final FileRepository fileRepository;
-    private final Path root = Paths.get("src/main/resources/Datauplaod");
-//    private final Path root= Paths.get("/home/hrd123/easycartImage/");
+    private final FileStorage fileStorage;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final FileMetadataCache fileMetadataCache;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final Clock clock;
 
-    public FileServiceImpl(FileRepository fileRepository) {
+    public FileServiceImpl(FileRepository fileRepository, FileStorage fileStorage, ImageVariantGenerator imageVariantGenerator,
+                           FileMetadataCache fileMetadataCache, Clock clock,
+                           @Value("${file.upload.workers:4}") int uploadWorkers,
+                           @Value("${file.upload.queue-capacity:64}") int uploadQueueCapacity) {
         this.fileRepository = fileRepository;
+        this.fileStorage = fileStorage;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.fileMetadataCache = fileMetadataCache;
+        this.clock = clock;
+        // When the pool is saturated the request thread stores its own files, which throttles the caller
+        this.uploadExecutor = new ThreadPoolExecutor(uploadWorkers, uploadWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity), new CustomizableThreadFactory("file-upload-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
-    @Override
-    public FileEntity InsertFile(FileEntity fileEntity) {
-        return fileRepository.save(fileEntity);
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
     }
 
     @Override
-    public String Uplaodfile(MultipartFile file) throws IOException {
-        try {
-            String fileName = file.getOriginalFilename();
-            if (fileName != null) {
-                fileName = UUID.randomUUID() + "." + StringUtils.getFilenameExtension(fileName);
-                if (!Files.exists(root)) {
-                    Files.createDirectories(root);
-                }
-                Files.copy(file.getInputStream(), root.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
-                return fileName;
-            } else {
-                return "File Not Found!";
+    public List<FileUploadResult> uploadFiles(List<MultipartFile> files, String urlPrefix) {
+        // Step 1: Store every file concurrently, hashing the bytes while they are copied
+        List<CompletableFuture<StoredUpload>> pending = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> storeUpload(file), uploadExecutor))
+                .toList();
+        List<StoredUpload> stored = pending.stream().map(CompletableFuture::join).toList();
+
+        // Step 2: Touch the rows already holding this content, in one statement, which protects them from
+        // garbage collection; content whose row was collected first is stored again from its upload below
+        Set<String> hashes = stored.stream()
+                .filter(StoredUpload::succeeded)
+                .map(StoredUpload::contentHash)
+                .collect(Collectors.toSet());
+        Map<String, String> urlsByHash = new HashMap<>();
+        if (!hashes.isEmpty()) {
+            fileRepository.touchByContentHashIn(hashes, LocalDateTime.now(clock))
+                    .forEach(existing -> urlsByHash.putIfAbsent(existing.getContentHash(), existing.getUrl()));
+        }
+
+        // Step 3: Move the first copy of each new content to its content address, drop the other copies
+        List<FileUploadResult> results = new ArrayList<>(stored.size());
+        List<FileEntity> newFiles = new ArrayList<>();
+        for (StoredUpload upload : stored) {
+            if (!upload.succeeded()) {
+                results.add(FileUploadResult.failed(upload.originalFileName(), upload.error()));
+                continue;
+            }
+            String existingUrl = urlsByHash.get(upload.contentHash());
+            if (existingUrl != null) {
+                deleteQuietly(upload.tempKey());
+                results.add(new FileUploadResult(upload.originalFileName(), FileUploadResult.Status.DUPLICATE, existingUrl, null));
+                continue;
             }
-        } catch (IOException ex) {
-            throw new IOException("File not found!");
+            String fileName = contentAddress(upload);
+            try {
+                fileStorage.rename(upload.tempKey(), fileName);
+            } catch (IOException e) {
+                log.warn("Could not move upload {} to {}: {}", upload.tempKey(), fileName, e.getMessage());
+                deleteQuietly(upload.tempKey());
+                results.add(FileUploadResult.failed(upload.originalFileName(), "Could not store file."));
+                continue;
+            }
+            FileEntity fileEntity = new FileEntity(urlPrefix + fileName, fileName);
+            fileEntity.setContentHash(upload.contentHash());
+            newFiles.add(fileEntity);
+            urlsByHash.put(upload.contentHash(), fileEntity.getUrl());
+            results.add(new FileUploadResult(upload.originalFileName(), FileUploadResult.Status.UPLOADED, fileEntity.getUrl(), null));
         }
+
+        // Step 4: Insert the new rows with one statement
+        Set<String> inserted;
+        try {
+            inserted = new HashSet<>(fileRepository.insertAll(newFiles));
+        } catch (RuntimeException e) {
+            // Content addresses are shared with concurrent uploads of the same bytes, so keep any a row points at
+            deleteUnreferenced(newFiles);
+            throw e;
+        }
+        // New names may have been probed before the upload finished
+        fileMetadataCache.evict(newFiles.stream().map(FileEntity::getFileName).toList());
+
+        // Step 5: A concurrent upload of the same content may have stored the name first; its row is the file now
+        List<FileEntity> lostFiles = newFiles.stream()
+                .filter(file -> !inserted.contains(file.getFileName()))
+                .toList();
+        if (!lostFiles.isEmpty()) {
+            resolveToExistingRows(lostFiles, results);
+        }
+
+        newFiles.stream()
+                .filter(file -> inserted.contains(file.getFileName()))
+                .forEach(file -> scheduleVariants(file.getFileName()));
+        return results;
+    }
+
+    @Override
+    public StoredFile getFile(String fileName) {
+        return getFile(fileName, null);
     }
 
     @Override
-    public Resource getFile(String fileName) {
+    public StoredFile getFile(String fileName, ImageVariant variant) {
         try {
-            // Find the file entity from the repository
-            FileEntity files = fileRepository.findByFileName(fileName);
-            if (files == null) {
-                throw new FileNotFoundException("File not found with name: " + fileName);
-            }
+            // Find the file metadata, from memory when it was seen recently
+            FileMetadataCache.FileMetadata metadata = fileMetadataCache.get(fileName);
 
-            // Define the path to the file
-            Path path = Paths.get("src/main/resources/Datauplaod/" + files.getFileName());
-            // Read the file into a Resource object
-            Resource file = new ByteArrayResource(Files.readAllBytes(path));
-            return file;
+            // Fall back to the original until the variant has been generated
+            boolean pendingVariant = variant != null && metadata.isPending(variant);
+            String key = metadata.storageKey(variant);
+            FileMetadataCache.StoredObject object = fileMetadataCache.object(metadata, key, fileStorage);
+
+            // Stream the file from storage instead of buffering it on the heap
+            return new StoredFile(fileStorage.resource(key, object.info()), object.contentType(),
+                    object.info().lastModified(), object.etag(), !pendingVariant);
 
         } catch (FileNotFoundException e) {
             // Handle the case when the file entity is not found
@@ -84,4 +170,125 @@ public class FileServiceImpl implements FileService {
         }
     }
 
-}
\ No newline at end of file
+    @Override
+    public Optional<FileRedirect> getRedirect(String fileName, ImageVariant variant) {
+        if (!fileStorage.supportsPresignedUrls()) {
+            return Optional.empty();
+        }
+        try {
+            FileMetadataCache.FileMetadata metadata = fileMetadataCache.get(fileName);
+            boolean pendingVariant = variant != null && metadata.isPending(variant);
+            String key = metadata.storageKey(variant);
+
+            // Let clients reuse the link for half its lifetime, or not at all while a variant is pending
+            return fileStorage.presignedGetUrl(key)
+                    .map(presigned -> new FileRedirect(presigned.url(),
+                            pendingVariant ? 0 : presigned.validFor().toSeconds() / 2));
+
+        } catch (FileNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading file: " + fileName, e);
+        }
+    }
+
+    private record StoredUpload(String originalFileName, String tempKey, String contentHash, String error) {
+
+        boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    // Never throws, so one bad file does not fail the rest of the request
+    private StoredUpload storeUpload(MultipartFile file) {
+        String originalFileName = file.getOriginalFilename();
+        if (file.isEmpty() || !StringUtils.hasText(originalFileName)) {
+            return new StoredUpload(originalFileName, null, null, "File is empty.");
+        }
+        // The content address is only known once the bytes have been read, so stream to a temporary key first
+        String tempKey = UUID.randomUUID() + ".upload";
+        try (DigestInputStream content = new DigestInputStream(file.getInputStream(), MessageDigest.getInstance("SHA-256"))) {
+            fileStorage.store(tempKey, content, file.getSize(), file.getContentType());
+            String contentHash = HexFormat.of().formatHex(content.getMessageDigest().digest());
+            return new StoredUpload(originalFileName, tempKey, contentHash, null);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            log.warn("Upload of {} failed: {}", originalFileName, e.getMessage());
+            deleteQuietly(tempKey);
+            return new StoredUpload(originalFileName, null, null, "Could not store file.");
+        }
+    }
+
+    // Points the results of files that lost their name to the row that won it, which holds the same bytes
+    private void resolveToExistingRows(List<FileEntity> lostFiles, List<FileUploadResult> results) {
+        Map<String, String> existingUrls = new HashMap<>();
+        fileRepository.findAllByFileNameIn(lostFiles.stream().map(FileEntity::getFileName).toList())
+                .forEach(existing -> existingUrls.put(existing.getFileName(), existing.getUrl()));
+
+        Map<String, String> replacedUrls = new HashMap<>();
+        lostFiles.forEach(file -> replacedUrls.put(file.getUrl(), existingUrls.get(file.getFileName())));
+        for (FileUploadResult result : results) {
+            if (result.getUrl() == null || !replacedUrls.containsKey(result.getUrl())) {
+                continue;
+            }
+            String existingUrl = replacedUrls.get(result.getUrl());
+            if (existingUrl == null) {
+                // The row was collected before it could be read back; the object is left to the next upload
+                log.warn("File row for {} disappeared during upload", result.getUrl());
+                result.setStatus(FileUploadResult.Status.FAILED);
+                result.setUrl(null);
+                result.setError("Could not store file.");
+                continue;
+            }
+            result.setStatus(FileUploadResult.Status.DUPLICATE);
+            result.setUrl(existingUrl);
+        }
+    }
+
+    // Deletes moved uploads no row points at; when that cannot be checked they are left in storage
+    private void deleteUnreferenced(List<FileEntity> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        Set<String> referenced;
+        try {
+            referenced = fileRepository.findAllByFileNameIn(files.stream().map(FileEntity::getFileName).toList())
+                    .stream()
+                    .map(FileEntity::getFileName)
+                    .collect(Collectors.toSet());
+        } catch (RuntimeException e) {
+            log.warn("Could not check rows of {} uploaded files, leaving them in storage: {}", files.size(), e.getMessage());
+            return;
+        }
+        files.stream()
+                .map(FileEntity::getFileName)
+                .filter(fileName -> !referenced.contains(fileName))
+                .forEach(this::deleteQuietly);
+    }
+
+    // Stored name of an upload: "<sha-256>.<extension>", so identical content always maps to the same file
+    private static String contentAddress(StoredUpload upload) {
+        String extension = StringUtils.getFilenameExtension(upload.originalFileName());
+        return StringUtils.hasText(extension)
+                ? upload.contentHash() + "." + extension.toLowerCase(Locale.ROOT)
+                : upload.contentHash();
+    }
+
+    private void deleteQuietly(String fileName) {
+        try {
+            fileStorage.delete(fileName);
+        } catch (IOException e) {
+            log.warn("Could not delete {} from storage: {}", fileName, e.getMessage());
+        }
+    }
+
+    // Thumbnails are generated in the background; the original is served until they are recorded
+    private void scheduleVariants(String fileName) {
+        if (MediaTypeFactory.getMediaType(fileName)
+                .filter(mediaType -> "image".equals(mediaType.getType()))
+                .isPresent()) {
+            imageVariantGenerator.submit(fileName);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.kshrd.kroya_api.service.File;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Backend holding uploaded files by key (the generated file name stored in file_tb.filename).
+ * Selected with file.storage.type: "local" (default) or "minio".
+ */
+public interface FileStorage {
+
+    /**
+     * Copies the stream into the store without buffering it in memory; an existing key is replaced.
+     */
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    Optional<ObjectInfo> stat(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * A re-readable resource over the object, so the HTTP layer can stream it and serve byte ranges.
+     */
+    Resource resource(String key, ObjectInfo info) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Moves an object to a new key, replacing any object already stored there.
+     */
+    void rename(String fromKey, String toKey) throws IOException;
+
+    /**
+     * Time-limited direct download URL, or empty when the backend can only be read through the API.
+     */
+    default Optional<PresignedUrl> presignedGetUrl(String key) throws IOException {
+        return Optional.empty();
+    }
+
+    default boolean supportsPresignedUrls() {
+        return false;
+    }
+
+    record ObjectInfo(long size, long lastModified) {
+    }
+
+    record PresignedUrl(String url, Duration validFor) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.kshrd.kroya_api.service.File;
+
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Re-encoded JPEG renditions generated for every uploaded image, bounded by their longest edge.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMB(160),
+    CARD(480),
+    FULL(1280);
+
+    private static final String FILE_VIEW_PATH = "/api/v1/fileView/";
+
+    private final int maxEdge;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Name of the variant file next to the original, e.g. "abc.png" -> "abc_card.jpg".
+     */
+    public String fileNameOf(String originalFileName) {
+        return StringUtils.stripFilenameExtension(originalFileName) + "_" + key() + ".jpg";
+    }
+
+    /**
+     * URL of this variant for a stored photo reference; photos that are not served by the file
+     * endpoint (external links) are returned unchanged.
+     */
+    public String urlOf(String photo) {
+        if (photo == null || photo.contains("?") || (photo.contains("://") && !photo.contains(FILE_VIEW_PATH))) {
+            return photo;
+        }
+        return photo + "?variant=" + key();
+    }
+
+    /**
+     * Parses the ?variant= request parameter; a missing value means the original file.
+     */
+    public static ImageVariant fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(variant -> variant.key().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new FieldBlankExceptionHandler(
+                        "Unknown variant '" + value + "', expected one of thumb, card, full."));
+    }
+}
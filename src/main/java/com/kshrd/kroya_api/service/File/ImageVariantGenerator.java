@@ -0,0 +1,171 @@
+package com.kshrd.kroya_api.service.File;
+
+import com.kshrd.kroya_api.repository.File.FileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the {@link ImageVariant} renditions of uploaded photos on a small bounded pool, off the
+ * upload request. Variants are plain JPEGs stored next to the original in {@link FileStorage}, written without the source metadata (EXIF, GPS) and are
+ * recorded on file_tb once all of them exist; until then the original is served.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final FileRepository fileRepository;
+    private final FileStorage fileStorage;
+    private final FileMetadataCache fileMetadataCache;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${file.variants.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    public ImageVariantGenerator(FileRepository fileRepository,
+                                 FileStorage fileStorage,
+                                 FileMetadataCache fileMetadataCache,
+                                 @Value("${file.variants.workers:2}") int workers,
+                                 @Value("${file.variants.queue-capacity:200}") int queueCapacity) {
+        this.fileRepository = fileRepository;
+        this.fileStorage = fileStorage;
+        this.fileMetadataCache = fileMetadataCache;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("image-variants-"));
+    }
+
+    /**
+     * Queues variant generation for a stored upload; when the queue is full the upload keeps only its original.
+     */
+    public void submit(String fileName) {
+        try {
+            executor.execute(() -> generate(fileName));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue is full, serving original only for {}", fileName);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void generate(String fileName) {
+        try {
+            BufferedImage source = read(fileName);
+            if (source == null) {
+                return;
+            }
+            List<String> generated = new ArrayList<>();
+            for (ImageVariant variant : ImageVariant.values()) {
+                write(resize(source, variant.getMaxEdge()), variant.fileNameOf(fileName));
+                generated.add(variant.key());
+            }
+            fileRepository.updateVariantsByFileName(fileName, String.join(",", generated));
+            fileMetadataCache.evict(fileName);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate image variants for {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    // Returns null for files ImageIO cannot decode (not an image, or an unsupported format)
+    private BufferedImage read(String fileName) throws IOException {
+        try (InputStream content = fileStorage.open(fileName);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Check the header before decoding so a huge image cannot exhaust the heap
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxSourcePixels) {
+                    log.warn("Skipping image variants for {}: image is too large", fileName);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Downscales in halving steps, which keeps bilinear filtering sharp on large reductions
+    private static BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Draws onto an opaque RGB canvas; transparent areas become white since JPEG has no alpha
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // Variants are small, so they are encoded in memory and stored in one call
+    private void write(BufferedImage image, String key) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(encoded)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        fileStorage.store(key, new ByteArrayInputStream(encoded.toByteArray()), encoded.size(), "image/jpeg");
+    }
+}
@@ -0,0 +1,199 @@
+package com.kshrd.kroya_api.service.File;
+
+import io.minio.*;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.MinioException;
+import io.minio.http.Method;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores files as objects in the MinIO/S3 bucket minio.bucketName. Downloads are handed out as
+ * presigned URLs so the bytes go straight from the bucket to the client.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "minio")
+public class MinioFileStorage implements FileStorage {
+
+    // Let the SDK pick the multipart part size when the stream length is known
+    private static final long AUTO_PART_SIZE = -1;
+
+    private final MinioClient minioClient;
+
+    @Value("${minio.bucketName}")
+    private String bucket;
+
+    @Value("${file.storage.minio.presign-expiry-seconds:3600}")
+    private int presignExpirySeconds;
+
+    @PostConstruct
+    public void ensureBucket() {
+        try {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+                log.info("Created MinIO bucket {}", bucket);
+            }
+        } catch (MinioException | IOException | GeneralSecurityException e) {
+            log.warn("Could not verify MinIO bucket {}: {}", bucket, e.getMessage());
+        }
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        try {
+            PutObjectArgs.Builder args = PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(key)
+                    .stream(content, size, AUTO_PART_SIZE);
+            if (contentType != null) {
+                args.contentType(contentType);
+            }
+            minioClient.putObject(args.build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not store " + key + " in MinIO", e);
+        }
+    }
+
+    @Override
+    public Optional<ObjectInfo> stat(String key) throws IOException {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(key).build());
+            return Optional.of(new ObjectInfo(stat.size(), stat.lastModified().toInstant().toEpochMilli()));
+        } catch (ErrorResponseException e) {
+            if (isNotFound(e)) {
+                return Optional.empty();
+            }
+            throw new IOException("Could not read " + key + " from MinIO", e);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not read " + key + " from MinIO", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(key).build());
+        } catch (ErrorResponseException e) {
+            if (isNotFound(e)) {
+                throw new FileNotFoundException("File not found with name: " + key);
+            }
+            throw new IOException("Could not read " + key + " from MinIO", e);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not read " + key + " from MinIO", e);
+        }
+    }
+
+    @Override
+    public Resource resource(String key, ObjectInfo info) {
+        return new ObjectResource(key, info);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(key).build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not delete " + key + " from MinIO", e);
+        }
+    }
+
+    // S3 has no rename: copy server-side, then remove the source
+    @Override
+    public void rename(String fromKey, String toKey) throws IOException {
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(toKey)
+                    .source(CopySource.builder().bucket(bucket).object(fromKey).build())
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not move " + fromKey + " to " + toKey + " in MinIO", e);
+        }
+        delete(fromKey);
+    }
+
+    @Override
+    public Optional<PresignedUrl> presignedGetUrl(String key) throws IOException {
+        try {
+            String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(bucket)
+                    .object(key)
+                    .expiry(presignExpirySeconds, TimeUnit.SECONDS)
+                    .build());
+            return Optional.of(new PresignedUrl(url, Duration.ofSeconds(presignExpirySeconds)));
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Could not presign " + key, e);
+        }
+    }
+
+    @Override
+    public boolean supportsPresignedUrls() {
+        return true;
+    }
+
+    private static boolean isNotFound(ErrorResponseException e) {
+        String code = e.errorResponse().code();
+        return "NoSuchKey".equals(code) || "NoSuchObject".equals(code);
+    }
+
+    /**
+     * Opens a fresh GET for every read so Spring can serve byte ranges from it.
+     */
+    private class ObjectResource extends AbstractResource {
+
+        private final String key;
+        private final ObjectInfo info;
+
+        private ObjectResource(String key, ObjectInfo info) {
+            this.key = key;
+            this.info = info;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return open(key);
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return info.size();
+        }
+
+        @Override
+        public long lastModified() {
+            return info.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return key;
+        }
+
+        @Override
+        public String getDescription() {
+            return "MinIO object [" + bucket + "/" + key + "]";
+        }
+    }
+}
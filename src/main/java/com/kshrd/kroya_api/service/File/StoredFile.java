@@ -0,0 +1,12 @@
+package com.kshrd.kroya_api.service.File;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+/**
+ * A stored file ready to be streamed: the resource is read lazily by the HTTP layer,
+ * which also serves Range requests from it. A file is immutable unless it stands in for a variant
+ * that has not been generated yet.
+ */
+public record StoredFile(Resource resource, MediaType contentType, long lastModified, String etag, boolean immutable) {
+}
@@ -5,18 +5,21 @@ import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
 import com.kshrd.kroya_api.payload.BaseResponse;
 import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.FoodRecipe.*;
-import com.kshrd.kroya_api.dto.PhotoDTO;
+import com.kshrd.kroya_api.mapper.FoodMapper;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import com.kshrd.kroya_api.repository.Category.CategoryRepository;
-import com.kshrd.kroya_api.repository.Cuisine.CuisineRepository;
-import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.Category.CategoryCache;
+import com.kshrd.kroya_api.service.Cuisine.CuisineCache;
+import com.kshrd.kroya_api.service.Favorite.FavoriteIds;
+import com.kshrd.kroya_api.service.Foods.FoodFeedAssembler;
+import com.kshrd.kroya_api.service.Foods.FoodNameIndex;
+import com.kshrd.kroya_api.service.Foods.FoodSearch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -36,10 +39,11 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
 
     private final FoodRecipeRepository foodRecipeRepository;
     private final FoodSellRepository foodSellRepository;
-    private final CategoryRepository categoryRepository;
-    private final CuisineRepository cuisineRepository;
-    private final FavoriteRepository favoriteRepository;
-    private final ModelMapper modelMapper;
+    private final CategoryCache categoryCache;
+    private final CuisineCache cuisineCache;
+    private final FoodFeedAssembler foodFeedAssembler;
+    private final FoodSearch foodSearch;
+    private final FoodNameIndex foodNameIndex;
 
     @Override
     public BaseResponse<?> createRecipe(FoodRecipeRequest foodRecipeRequest) {
@@ -49,7 +53,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         // Fetch CategoryEntity by category ID
-        Optional<CategoryEntity> categoryOptional = categoryRepository.findById(foodRecipeRequest.getCategoryId());
+        Optional<CategoryEntity> categoryOptional = categoryCache.findById(foodRecipeRequest.getCategoryId());
         if (categoryOptional.isEmpty()) {
             log.error("Category with ID {} not found", foodRecipeRequest.getCategoryId());
             return BaseResponse.builder()
@@ -60,7 +64,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         CategoryEntity categoryEntity = categoryOptional.get();
 
         // Fetch CuisineEntity by cuisine ID
-        Optional<CuisineEntity> cuisineOptional = cuisineRepository.findById(foodRecipeRequest.getCuisineId());
+        Optional<CuisineEntity> cuisineOptional = cuisineCache.findById(foodRecipeRequest.getCuisineId());
         if (cuisineOptional.isEmpty()) {
             log.error("Cuisine with ID {} not found", foodRecipeRequest.getCuisineId());
             return BaseResponse.builder()
@@ -121,27 +125,16 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
 
         // Save the recipe again to persist the photos
         foodRecipeRepository.save(savedRecipe);
+        foodNameIndex.put(savedRecipe);
 
         // Log the newly created recipe's ID
         log.info("Recipe saved successfully with ID: {}", savedRecipe.getId());
 
-        // Map the saved entity to RecipeResponse using ModelMapper
-        FoodRecipeResponse foodRecipeResponse = modelMapper.map(savedRecipe, FoodRecipeResponse.class);
-
-        // Map photo entities to PhotoResponse objects
-        List<PhotoDTO> photoRespons = savedRecipe.getPhotos().stream()
-                .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                .collect(Collectors.toList());
-        foodRecipeResponse.setPhoto(photoRespons);
-
-        // Set category name in the response
-        foodRecipeResponse.setCategoryName(categoryEntity.getCategoryName());
-
-        // Set cuisine name in the response
-        foodRecipeResponse.setCuisineName(cuisineEntity.getCuisineName());
+        // Map the saved entity to RecipeResponse, including photos, category and cuisine names
+        FoodRecipeResponse foodRecipeResponse = FoodMapper.toRecipeResponse(savedRecipe);
 
         // Check if this recipe is a favorite for the current user
-        boolean isFavorite = favoriteRepository.existsByUserAndFoodRecipe(currentUser, savedRecipe);
+        boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsRecipe(savedRecipe.getId());
         foodRecipeResponse.setIsFavorite(isFavorite);
 
         // Return a success response with the saved recipe as the payload
@@ -162,36 +155,12 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         // Create a Pageable object for pagination with sorting by ID in descending order
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
 
-        // Fetch FoodRecipe entities with pagination
-        Page<FoodRecipeEntity> foodRecipePage = foodRecipeRepository.findAll(pageable);
-
-        // Fetch the user's favorite recipes
-        List<FavoriteEntity> userFavorites = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser);
-        List<Long> userFavoriteRecipeIds = userFavorites.stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        // Filter out FoodRecipeEntities that have a related FoodSellEntity
-        List<FoodRecipeCardResponse> foodRecipeResponses = foodRecipePage.getContent().stream()
-                .filter(foodRecipeEntity -> !foodSellRepository.existsByFoodRecipe(foodRecipeEntity))
-                .map(foodRecipeEntity -> {
-                    // Map to FoodRecipeCardResponse using ModelMapper
-                    FoodRecipeCardResponse response = modelMapper.map(foodRecipeEntity, FoodRecipeCardResponse.class);
+        // Fetch FoodRecipe entities not linked to a FoodSellEntity with pagination
+        Page<FoodRecipeEntity> foodRecipePage = foodRecipeRepository.findAllWithoutFoodSell(pageable);
 
-                    // Set isFavorite if it's in the user's favorites
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(foodRecipeEntity.getId()));
-
-                    // Map photos to PhotoResponse
-                    List<PhotoDTO> photoResponses = foodRecipeEntity.getPhotos().stream()
-                            .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                            .collect(Collectors.toList());
-
-                    // Set the photo field in the response
-                    response.setPhoto(photoResponses);
-
-                    return response;
-                })
-                .toList();
+        // Map to FoodRecipeCardResponse with the user's favorite status
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCards(
+                foodRecipePage.getContent(), foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare pagination details
         long totalFoodRecipes = foodRecipePage.getTotalElements();
@@ -223,7 +192,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         // Fetch the existing recipe by ID
-        Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findById(Math.toIntExact(recipeId));
+        Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findDetailById(recipeId);
         if (recipeOptional.isEmpty()) {
             log.error("Recipe with ID {} not found", recipeId);
             return BaseResponse.builder()
@@ -244,7 +213,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         }
 
         // Fetch and validate CategoryEntity and CuisineEntity
-        Optional<CategoryEntity> categoryOptional = categoryRepository.findById(foodRecipeRequest.getCategoryId());
+        Optional<CategoryEntity> categoryOptional = categoryCache.findById(foodRecipeRequest.getCategoryId());
         if (categoryOptional.isEmpty()) {
             log.error("Category with ID {} not found", foodRecipeRequest.getCategoryId());
             return BaseResponse.builder()
@@ -253,7 +222,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
                     .build();
         }
 
-        Optional<CuisineEntity> cuisineOptional = cuisineRepository.findById(foodRecipeRequest.getCuisineId());
+        Optional<CuisineEntity> cuisineOptional = cuisineCache.findById(foodRecipeRequest.getCuisineId());
         if (cuisineOptional.isEmpty()) {
             log.error("Cuisine with ID {} not found", foodRecipeRequest.getCuisineId());
             return BaseResponse.builder()
@@ -321,25 +290,16 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
 
         // Save the updated recipe
         foodRecipeRepository.save(existingRecipe);
+        foodNameIndex.put(existingRecipe);
 
         // Check if this recipe is a favorite for the current user
-        boolean isFavorite = favoriteRepository.existsByUserAndFoodRecipe(currentUser, existingRecipe);
+        boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsRecipe(existingRecipe.getId());
 
         // Log the updated recipe's ID
         log.info("Recipe updated successfully with ID: {}", existingRecipe.getId());
 
-        // Map the updated recipe to FoodRecipeResponse using ModelMapper
-        FoodRecipeResponse foodRecipeResponse = modelMapper.map(existingRecipe, FoodRecipeResponse.class);
-
-        // Map photo entities to PhotoDTO objects
-        List<PhotoDTO> photoRespons = existingRecipe.getPhotos().stream()
-                .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                .collect(Collectors.toList());
-        foodRecipeResponse.setPhoto(photoRespons);
-
-        // Set category and cuisine names in the response
-        foodRecipeResponse.setCategoryName(categoryEntity.getCategoryName());
-        foodRecipeResponse.setCuisineName(cuisineEntity.getCuisineName());
+        // Map the updated recipe to FoodRecipeResponse, including photos, category and cuisine names
+        FoodRecipeResponse foodRecipeResponse = FoodMapper.toRecipeResponse(existingRecipe);
 
         // Set isFavorite in the response
         foodRecipeResponse.setIsFavorite(isFavorite);
@@ -362,33 +322,10 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         // Fetch FoodRecipe entities by Cuisine ID
         List<FoodRecipeEntity> foodRecipeEntities = foodRecipeRepository.findByCuisineId(cuisineId);
 
-        // Fetch the user's favorite recipes
-        List<FavoriteEntity> userFavorites = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser);
-        List<Long> userFavoriteRecipeIds = userFavorites.stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        // Filter out FoodRecipeEntities that have a related FoodSellEntity
-        List<FoodRecipeCardResponse> foodRecipeResponses = foodRecipeEntities.stream()
-                .filter(foodRecipeEntity -> !foodSellRepository.existsByFoodRecipe(foodRecipeEntity))
-                .map(foodRecipeEntity -> {
-                    // Map to FoodRecipeCardResponse using ModelMapper
-                    FoodRecipeCardResponse response = modelMapper.map(foodRecipeEntity, FoodRecipeCardResponse.class);
-
-                    // Set isFavorite if it's in the user's favorites
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(foodRecipeEntity.getId()));
-
-                    // Map photos to PhotoResponse
-                    List<PhotoDTO> photoResponses = foodRecipeEntity.getPhotos().stream()
-                            .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                            .collect(Collectors.toList());
-
-                    // Set the photo field in the response
-                    response.setPhoto(photoResponses);
-
-                    return response;
-                })
-                .toList();
+        // Filter out FoodRecipeEntities that have a related FoodSellEntity and map them to cards
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCards(
+                foodFeedAssembler.excludeRecipesLinkedToSells(foodRecipeEntities),
+                foodFeedAssembler.favoritesOf(currentUser));
 
         // Return the response
         return BaseResponse.builder()
@@ -403,8 +340,8 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        // Fetch all food recipes that match the name
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByNameContainingIgnoreCase(name);
+        // Fetch the food recipes that match the name, best matches first
+        List<FoodRecipeCard> foodRecipes = foodSearch.recipes(foodSearch.search(name));
 
         // Check if no records were found for the provided name
         if (foodRecipes.isEmpty()) {
@@ -412,24 +349,15 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         }
 
         // Retrieve user's favorite recipe IDs
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
+        FavoriteIds favorites = foodFeedAssembler.favoritesOf(currentUser);
 
         // Map food recipes to FoodRecipeCardResponse
         List<FoodRecipeCardResponse> recipeResponses = foodRecipes.stream()
                 .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
+                    FoodRecipeCardResponse response = FoodMapper.toRecipeCard(recipe);
 
                     // Set favorite status based on user's favorites
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId()));
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
+                    response.setIsFavorite(favorites.containsRecipe(recipe.getId()));
 
                     return response;
                 })
@@ -450,7 +378,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         // Fetch the existing recipe by ID
-        Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findById(Math.toIntExact(recipeId));
+        Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findWithOwnerById(recipeId);
         if (recipeOptional.isEmpty()) {
             log.error("Recipe with ID {} not found", recipeId);
             return BaseResponse.builder()
@@ -472,6 +400,7 @@ public class FoodRecipeServiceImpl implements FoodRecipeService {
 
         // Delete the recipe
         foodRecipeRepository.delete(existingRecipe);
+        foodNameIndex.remove(existingRecipe.getId());
 
         // Log the deleted recipe's ID
         log.info("Recipe deleted successfully with ID: {}", existingRecipe.getId());
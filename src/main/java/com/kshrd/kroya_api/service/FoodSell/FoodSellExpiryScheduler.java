@@ -0,0 +1,143 @@
+package com.kshrd.kroya_api.service.FoodSell;
+
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellDeadline;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Keeps food_sell_tb.is_orderable in sync with dateCooking without writing on the read path.
+ * Upcoming deadlines are held in a time-ordered in-memory schedule and expired with one bulk
+ * UPDATE at the moment they pass; a periodic sweep covers restarts and other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoodSellExpiryScheduler {
+
+    public static final ZoneId PHNOM_PENH = ZoneId.of("Asia/Phnom_Penh");
+
+    private final FoodSellRepository foodSellRepository;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+
+    // Upcoming dateCooking deadlines, earliest first
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Long>> deadlines = new ConcurrentSkipListMap<>();
+
+    private ScheduledFuture<?> nextRun;
+    private LocalDateTime nextRunAt;
+
+    @Value("${food-sell.expiry.horizon-hours:24}")
+    private long horizonHours;
+
+    /**
+     * Orderability as seen by read paths, computed from the clock only.
+     */
+    public boolean isOrderable(LocalDateTime dateCooking) {
+        return dateCooking != null && !dateCooking.isBefore(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Registers the cooking deadline of a created or edited food sell.
+     * Deadlines beyond the horizon are picked up later by the periodic sweep.
+     */
+    public void schedule(Long foodSellId, LocalDateTime dateCooking) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (foodSellId == null || dateCooking == null || dateCooking.isBefore(now)
+                || dateCooking.isAfter(now.plusHours(horizonHours))) {
+            return;
+        }
+        deadlines.computeIfAbsent(dateCooking, key -> new ConcurrentSkipListSet<>()).add(foodSellId);
+        scheduleNext();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        sweep();
+    }
+
+    /**
+     * Expires everything already due and reloads the deadlines that fall inside the horizon.
+     */
+    @Scheduled(fixedDelayString = "${food-sell.expiry.sweep-interval-ms:300000}",
+            initialDelayString = "${food-sell.expiry.sweep-interval-ms:300000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        // Expire all sells whose cooking time has passed
+        int expired = foodSellRepository.expireAllDue(now);
+        if (expired > 0) {
+            log.info("Expiry sweep marked {} food sells as not orderable", expired);
+        }
+
+        // Reload upcoming deadlines inside the horizon
+        List<FoodSellDeadline> upcoming = foodSellRepository.findDeadlinesBetween(now, now.plusHours(horizonHours));
+        for (FoodSellDeadline deadline : upcoming) {
+            deadlines.computeIfAbsent(deadline.getDateCooking(), key -> new ConcurrentSkipListSet<>()).add(deadline.getId());
+        }
+        log.debug("Expiry schedule holds {} deadlines", deadlines.size());
+        scheduleNext();
+    }
+
+    /**
+     * Flips every deadline that has passed in a single bulk UPDATE, then arms the next one.
+     */
+    void expireDue() {
+        synchronized (this) {
+            nextRun = null;
+            nextRunAt = null;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        Set<Long> dueIds = new HashSet<>();
+        NavigableMap<LocalDateTime, Set<Long>> due = deadlines.headMap(now, false);
+        while (!due.isEmpty()) {
+            Map.Entry<LocalDateTime, Set<Long>> entry = due.pollFirstEntry();
+            if (entry != null) {
+                dueIds.addAll(entry.getValue());
+            }
+        }
+
+        // Edited sells may still be listed under an old deadline; the UPDATE re-checks dateCooking
+        if (!dueIds.isEmpty()) {
+            try {
+                int expired = foodSellRepository.expireByIdIn(dueIds, now);
+                log.info("Expired {} of {} scheduled food sells", expired, dueIds.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to expire food sells {}, leaving them to the next sweep", dueIds, e);
+            }
+        }
+
+        scheduleNext();
+    }
+
+    private synchronized void scheduleNext() {
+        Map.Entry<LocalDateTime, Set<Long>> first = deadlines.firstEntry();
+        if (first == null || first.getKey().equals(nextRunAt)) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+
+        // Fire just after the deadline so the sell is strictly past its cooking time
+        nextRunAt = first.getKey();
+        nextRun = taskScheduler.schedule(this::expireDue,
+                nextRunAt.atZone(PHNOM_PENH).toInstant().plus(Duration.ofMillis(1)));
+    }
+}
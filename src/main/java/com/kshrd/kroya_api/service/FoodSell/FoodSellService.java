@@ -7,7 +7,7 @@ import com.kshrd.kroya_api.payload.FoodSell.FoodSellRequest;
 public interface FoodSellService {
     BaseResponse<?> createFoodSell(FoodSellRequest foodRecipeRequest, Long foodRecipeId, CurrencyType currencyType);
 
-    BaseResponse<?> getAllFoodSells();
+    BaseResponse<?> getAllFoodSells(String cursor, int size);
 
     BaseResponse<?> editFoodSell(Long foodSellId, FoodSellRequest foodSellRequest);
 
@@ -1,41 +1,33 @@
 package com.kshrd.kroya_api.service.FoodSell;
 
-import com.kshrd.kroya_api.dto.FoodRecipeDTO;
-import com.kshrd.kroya_api.dto.PhotoDTO;
-import com.kshrd.kroya_api.dto.UserProfileDTO;
 import com.kshrd.kroya_api.entity.*;
 import com.kshrd.kroya_api.enums.CurrencyType;
 import com.kshrd.kroya_api.exception.DuplicateFieldExceptionHandler;
 import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
 import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
 import com.kshrd.kroya_api.exception.exceptionValidateInput.Validation;
+import com.kshrd.kroya_api.mapper.FoodMapper;
 import com.kshrd.kroya_api.payload.BaseResponse;
-import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
+import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellRequest;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellResponse;
-import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.Foods.FoodFeedAssembler;
+import com.kshrd.kroya_api.service.Foods.FoodFeedPager;
+import com.kshrd.kroya_api.service.Foods.FoodSearch;
+import com.kshrd.kroya_api.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -44,9 +36,11 @@ public class FoodSellServiceImpl implements FoodSellService {
 
     private final FoodRecipeRepository foodRecipeRepository;
     private final FoodSellRepository foodSellRepository;
-    private final FavoriteRepository favoriteRepository;
-    private final ModelMapper modelMapper;
     private final Validation validation;
+    private final FoodFeedAssembler foodFeedAssembler;
+    private final FoodFeedPager foodFeedPager;
+    private final FoodSearch foodSearch;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
 
     @Override
     public BaseResponse<?> createFoodSell(FoodSellRequest foodSellRequest, Long foodRecipeId, CurrencyType currencyType) {
@@ -76,20 +70,13 @@ public class FoodSellServiceImpl implements FoodSellService {
             throw new DuplicateFieldExceptionHandler("FoodSell already exists for this Food Recipe");
         }
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-        ZonedDateTime dateCookingZoned = foodSellRequest.getDateCooking()
-                .atZone(ZoneId.of("Asia/Phnom_Penh"));
-
         // Determine if the food is orderable based on the dateCooking
-        boolean isOrderable = !dateCookingZoned.isBefore(currentDateTimeInPhnomPenh);
+        boolean isOrderable = foodSellExpiryScheduler.isOrderable(foodSellRequest.getDateCooking());
 
         // Create a new FoodSellEntity with the correct isOrderable value
         FoodSellEntity foodSellEntity = FoodSellEntity.builder()
                 .foodRecipe(foodRecipeEntity)
-                .dateCooking(dateCookingZoned.toLocalDateTime()) // Save as LocalDateTime
+                .dateCooking(foodSellRequest.getDateCooking())
                 .amount(foodSellRequest.getAmount())
                 .price(foodSellRequest.getPrice())
                 .currencyType(currencyType.name())
@@ -100,30 +87,14 @@ public class FoodSellServiceImpl implements FoodSellService {
         FoodSellEntity savedFoodSell = foodSellRepository.save(foodSellEntity);
         log.info("FoodSell entity saved successfully with ID: {}", savedFoodSell.getId());
 
-        // Map the photos from FoodRecipeEntity to PhotoDTO
-        List<PhotoDTO> photoDTOs = foodRecipeEntity.getPhotos().stream()
-                .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                .toList();
-
-        // Map FoodRecipeEntity to FoodRecipeDTO including photos
-        FoodRecipeDTO foodRecipeDTO = modelMapper.map(foodRecipeEntity, FoodRecipeDTO.class);
-        foodRecipeDTO.setPhoto(photoDTOs);
-
-        // Set cuisine and category names
-        if (foodRecipeEntity.getCuisine() != null) {
-            foodRecipeDTO.setCuisineName(foodRecipeEntity.getCuisine().getCuisineName());
-        }
-        if (foodRecipeEntity.getCategory() != null) {
-            foodRecipeDTO.setCategoryName(foodRecipeEntity.getCategory().getCategoryName());
-        }
+        // Register the cooking deadline so isOrderable is expired on time
+        foodSellExpiryScheduler.schedule(savedFoodSell.getId(), savedFoodSell.getDateCooking());
 
-        boolean isFavorite = favoriteRepository.existsByUserAndFoodSell(currentUser, savedFoodSell);
+        boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsSell(savedFoodSell.getId());
 
-        // Map FoodSellEntity to FoodSellResponse and set the mapped FoodRecipeDTO
-        FoodSellResponse foodSellResponse = modelMapper.map(savedFoodSell, FoodSellResponse.class);
-        foodSellResponse.setFoodRecipeDTO(foodRecipeDTO);
+        // Map FoodSellEntity to FoodSellResponse, including the linked recipe with its photos
+        FoodSellResponse foodSellResponse = FoodMapper.toSellResponse(savedFoodSell);
         foodSellResponse.setIsFavorite(isFavorite);
-        foodSellResponse.setIsOrderable(savedFoodSell.getIsOrderable()); // Ensure isOrderable is transferred to the response
 
         return BaseResponse.builder()
                 .message("FoodSell created successfully")
@@ -133,76 +104,28 @@ public class FoodSellServiceImpl implements FoodSellService {
     }
 
     @Override
-    public BaseResponse<?> getAllFoodSells() {
+    public BaseResponse<?> getAllFoodSells(String cursor, int size) {
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Fetch all FoodSellEntity records from the database
-//        List<FoodSellEntity> foodSellEntities = foodSellRepository.findAll();
-
-        List<FoodSellEntity> foodSellEntities = foodSellRepository.findAllByOrderByIdDesc();
-        // Fetch the user's favorite sell items
-        List<FavoriteEntity> userFavorites = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser);
-        List<Long> userFavoriteSellIds = userFavorites.stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Map each FoodSellEntity to FoodSellCardResponse
-        List<FoodSellCardResponse> foodSellCardResponses = foodSellEntities.stream()
-                .map(foodSellEntity -> {
-                    // Check if dateCooking is in the future to set isOrderable
-                    ZonedDateTime dateCookingZoned = foodSellEntity.getDateCooking().atZone(ZoneId.of("Asia/Phnom_Penh"));
-                    log.info("DateCookingZoned: {}", dateCookingZoned);
-
-                    boolean isOrderable = !dateCookingZoned.isBefore(currentDateTimeInPhnomPenh);
-                    foodSellEntity.setIsOrderable(isOrderable);
-                    foodSellRepository.save(foodSellEntity);  // Update the entity
-
-                    // Map to FoodSellCardResponse
-                    FoodSellCardResponse response = modelMapper.map(foodSellEntity, FoodSellCardResponse.class);
-
-                    // Set specific fields in response
-                    response.setFoodSellId(foodSellEntity.getId());
-                    response.setIsOrderable(isOrderable);
-
-                    // Map additional fields from FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = foodSellEntity.getFoodRecipe();
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    // Set isFavorite based on user preferences
-                    response.setIsFavorite(userFavoriteSellIds.contains(foodSellEntity.getId()));
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Fetch the next page of FoodSellEntity records, newest first
+        Slice<FoodSellCard> foodSellEntities = foodFeedPager.sellsBefore(null, feedCursor.getSells(), size);
+
+        // Map each FoodSellEntity to FoodSellCardResponse with the user's favorites
+        List<FoodSellCardResponse> foodSellCardResponses = foodFeedAssembler.toSellCardsFromViews(
+                foodSellEntities.getContent(), foodFeedAssembler.favoritesOf(currentUser));
 
         // Return the response with the list of FoodSellCardResponse objects
         return BaseResponse.builder()
                 .message("All FoodSell records fetched successfully")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(foodSellCardResponses)
+                .paginationMeta(PaginationMeta.ofCursor(null, size,
+                        FeedCursor.encode(null, FoodFeedPager.nextById(foodSellEntities, FoodSellCard::getId))))
                 .build();
     }
 
@@ -213,7 +136,7 @@ public class FoodSellServiceImpl implements FoodSellService {
         log.info("User authenticated: {}", currentUser.getEmail());
 
         // Fetch the existing FoodSell by ID
-        Optional<FoodSellEntity> foodSellOptional = foodSellRepository.findById(foodSellId);
+        Optional<FoodSellEntity> foodSellOptional = foodSellRepository.findDetailById(foodSellId);
         if (foodSellOptional.isEmpty()) {
             log.error("FoodSell with ID {} not found", foodSellId);
             return BaseResponse.builder()
@@ -236,49 +159,38 @@ public class FoodSellServiceImpl implements FoodSellService {
         // Validate and update fields
         validation.validationDateWithLocalDateTime(foodSellRequest.getDateCooking()); // Validate LocalDateTime
 
+        // Apply the new amount as a difference in one conditional UPDATE, so portions ordered since the row
+        // was read are not handed out again
+        int seenAmount = existingFoodSell.getAmount() != null ? existingFoodSell.getAmount() : 0;
+        int delta = foodSellRequest.getAmount() != null ? foodSellRequest.getAmount() - seenAmount : 0;
+        if (delta != 0 && foodSellRepository.adjustAmount(foodSellId, delta) == 0) {
+            log.error("FoodSell {} has more portions ordered than the new amount leaves", foodSellId);
+            return BaseResponse.builder()
+                    .message("More portions have been ordered than the new amount leaves")
+                    .statusCode(String.valueOf(HttpStatus.CONFLICT.value()))
+                    .build();
+        }
+
         existingFoodSell.setDateCooking(foodSellRequest.getDateCooking());  // Set LocalDateTime
-        existingFoodSell.setAmount(foodSellRequest.getAmount());
         existingFoodSell.setPrice(foodSellRequest.getPrice());
 
         // Update isOrderable based on dateCooking
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-        ZonedDateTime dateCookingZoned = foodSellRequest.getDateCooking()
-                .atZone(ZoneId.of("Asia/Phnom_Penh")); // Convert LocalDateTime to ZonedDateTime
-
-        boolean isOrderable = !dateCookingZoned.isBefore(currentDateTimeInPhnomPenh);
-        existingFoodSell.setIsOrderable(isOrderable);
+        existingFoodSell.setIsOrderable(foodSellExpiryScheduler.isOrderable(foodSellRequest.getDateCooking()));
 
         // Save the updated FoodSell
         FoodSellEntity updatedFoodSell = foodSellRepository.save(existingFoodSell);
         log.info("FoodSell updated successfully with ID: {}", updatedFoodSell.getId());
 
-        // Map to FoodSellResponse
-        FoodSellResponse foodSellResponse = modelMapper.map(updatedFoodSell, FoodSellResponse.class);
-
-        // Map the foodRecipe and its photos
-        FoodRecipeEntity linkedRecipe = updatedFoodSell.getFoodRecipe();
-        FoodRecipeDTO foodRecipeDTO = modelMapper.map(linkedRecipe, FoodRecipeDTO.class);
-
-        // Map photos from FoodRecipeEntity to PhotoDTO
-        List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                .collect(Collectors.toList());
-        foodRecipeDTO.setPhoto(photoDTOs);
-
-        // Set cuisine and category names
-        if (linkedRecipe.getCuisine() != null) {
-            foodRecipeDTO.setCuisineName(linkedRecipe.getCuisine().getCuisineName());
-        }
-        if (linkedRecipe.getCategory() != null) {
-            foodRecipeDTO.setCategoryName(linkedRecipe.getCategory().getCategoryName());
-        }
+        // Re-register the cooking deadline in case dateCooking moved
+        foodSellExpiryScheduler.schedule(updatedFoodSell.getId(), updatedFoodSell.getDateCooking());
 
-        foodSellResponse.setFoodRecipeDTO(foodRecipeDTO);
+        // Map the entity loaded with the detail graph, with the amount as the UPDATE left it
+        existingFoodSell.setAmount(foodSellRepository.findAmountById(foodSellId));
+        FoodSellResponse foodSellResponse = FoodMapper.toSellResponse(existingFoodSell);
 
         // Check if the food sell is a favorite for the current user
-        boolean isFavorite = favoriteRepository.existsByUserAndFoodSell(currentUser, updatedFoodSell);
+        boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsSell(updatedFoodSell.getId());
         foodSellResponse.setIsFavorite(isFavorite);
-        foodSellResponse.setIsOrderable(updatedFoodSell.getIsOrderable());
 
         return BaseResponse.builder()
                 .payload(foodSellResponse)
@@ -297,74 +209,9 @@ public class FoodSellServiceImpl implements FoodSellService {
         // Fetch FoodSell entities by Cuisine ID
         List<FoodSellEntity> foodSellEntities = foodSellRepository.findByCuisineId(cuisineId);
 
-        // Fetch the user's favorite sell items
-        List<FavoriteEntity> userFavorites = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser);
-        List<Long> userFavoriteSellIds = userFavorites.stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define the corrected DateTimeFormatter
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
-
-        // Map each FoodSellEntity to FoodSellCardResponse
-        List<FoodSellCardResponse> foodSellCardResponses = foodSellEntities.stream()
-                .map(foodSellEntity -> {
-                    try {
-                        // Parse the dateCooking using ISO format
-                        LocalDateTime dateCooking = LocalDateTime.parse(foodSellEntity.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        foodSellEntity.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(foodSellEntity);
-
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", foodSellEntity.getDateCooking(), e);
-                    }
-
-                    // Map using ModelMapper
-                    FoodSellCardResponse response = modelMapper.map(foodSellEntity, FoodSellCardResponse.class);
-
-                    // Set isOrderable and foodSellId explicitly
-                    response.setIsOrderable(foodSellEntity.getIsOrderable());
-                    response.setFoodSellId(foodSellEntity.getId());
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = foodSellEntity.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Set isFavorite based on user preferences
-                    response.setIsFavorite(userFavoriteSellIds.contains(foodSellEntity.getId()));
-
-                    // Map seller information from the linked FoodRecipeEntity's user
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .toList();
+        // Map each FoodSellEntity to FoodSellCardResponse with the user's favorites
+        List<FoodSellCardResponse> foodSellCardResponses = foodFeedAssembler.toSellCards(
+                foodSellEntities, foodFeedAssembler.favoritesOf(currentUser));
 
         // Return the response
         return BaseResponse.builder()
@@ -379,55 +226,17 @@ public class FoodSellServiceImpl implements FoodSellService {
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        // Fetch all food sells that match the name
-        List<FoodSellEntity> foodSells = foodSellRepository.findByFoodRecipeNameContainingIgnoreCase(name);
+        // Fetch the food sells that match the name, best matches first
+        List<FoodSellCard> foodSells = foodSearch.sells(foodSearch.search(name));
 
         // Check if no records were found for the provided name
         if (foodSells.isEmpty()) {
             throw new NotFoundExceptionHandler("No foods found for the specified name.");
         }
 
-        // Retrieve user's favorite recipe and food sell IDs
-
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set foodSellId directly from FoodSellEntity ID
-                    response.setFoodSellId(sell.getId());
-
-                    // Set name from related FoodRecipeEntity
-                    response.setName(sell.getFoodRecipe().getName());
-
-                    // Set favorite status
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-
-                    // Map photos from FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map seller information from FoodRecipeEntity user
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .toList();
+        // Map food sells to FoodSellCardResponse with the user's favorites, deriving isOrderable like the feeds do
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCardsFromViews(
+                foodSells, foodFeedAssembler.favoritesOf(currentUser));
 
         // Build and return the BaseResponse
         return BaseResponse.builder()
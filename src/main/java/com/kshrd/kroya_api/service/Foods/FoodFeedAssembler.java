@@ -0,0 +1,121 @@
+package com.kshrd.kroya_api.service.Foods;
+
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.mapper.FoodMapper;
+import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.Favorite.FavoriteIdCache;
+import com.kshrd.kroya_api.service.Favorite.FavoriteIds;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellExpiryScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds food feed cards from recipes and sells that were loaded with set-based queries.
+ * Linked sells are resolved once per feed instead of once per item, favorites through FavoriteIdCache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoodFeedAssembler {
+
+    private final FoodSellRepository foodSellRepository;
+    private final FavoriteIdCache favoriteIdCache;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
+
+    /**
+     * Drops the recipes that are already linked to a food sell, using a single IN query.
+     */
+    public List<FoodRecipeEntity> excludeRecipesLinkedToSells(List<FoodRecipeEntity> recipes) {
+        if (recipes.isEmpty()) {
+            return recipes;
+        }
+
+        // Resolve every linked recipe id in one round trip
+        List<Long> recipeIds = recipes.stream().map(FoodRecipeEntity::getId).toList();
+        Set<Long> linkedRecipeIds = new HashSet<>(foodSellRepository.findFoodRecipeIdsByFoodRecipeIdIn(recipeIds));
+
+        return recipes.stream()
+                .filter(recipe -> !linkedRecipeIds.contains(recipe.getId()))
+                .toList();
+    }
+
+    public FavoriteIds favoritesOf(UserEntity user) {
+        return favoriteIdCache.get(user);
+    }
+
+    /**
+     * Maps recipes to cards. When favorites is null (guest feeds) isFavorite is left unset.
+     */
+    public List<FoodRecipeCardResponse> toRecipeCards(List<FoodRecipeEntity> recipes, FavoriteIds favorites) {
+        return recipes.stream()
+                .map(recipe -> {
+                    FoodRecipeCardResponse response = FoodMapper.toRecipeCard(recipe);
+                    if (favorites != null) {
+                        response.setIsFavorite(favorites.containsRecipe(recipe.getId()));
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Same as toRecipeCards for the card projections of the feeds and the search.
+     */
+    public List<FoodRecipeCardResponse> toRecipeCardsFromViews(List<FoodRecipeCard> recipes, FavoriteIds favorites) {
+        return recipes.stream()
+                .map(recipe -> {
+                    FoodRecipeCardResponse response = FoodMapper.toRecipeCard(recipe);
+                    if (favorites != null) {
+                        response.setIsFavorite(favorites.containsRecipe(recipe.getId()));
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Maps sells to cards. When favorites is null (guest feeds) isFavorite is left unset.
+     * isOrderable is computed from the clock; the stored flag is maintained by FoodSellExpiryScheduler.
+     */
+    public List<FoodSellCardResponse> toSellCards(List<FoodSellEntity> sells, FavoriteIds favorites) {
+        List<FoodSellCardResponse> responses = sells.stream()
+                .map(sell -> {
+                    FoodSellCardResponse response = FoodMapper.toSellCard(sell);
+                    response.setIsOrderable(foodSellExpiryScheduler.isOrderable(sell.getDateCooking()));
+                    if (favorites != null) {
+                        response.setIsFavorite(favorites.containsSell(sell.getId()));
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+
+        log.debug("Assembled {} food sell cards", responses.size());
+        return responses;
+    }
+
+    /**
+     * Same as toSellCards for the card projections of the feeds and the search.
+     */
+    public List<FoodSellCardResponse> toSellCardsFromViews(List<FoodSellCard> sells, FavoriteIds favorites) {
+        return sells.stream()
+                .map(sell -> {
+                    FoodSellCardResponse response = FoodMapper.toSellCard(sell);
+                    response.setIsOrderable(foodSellExpiryScheduler.isOrderable(sell.getDateCooking()));
+                    if (favorites != null) {
+                        response.setIsFavorite(favorites.containsSell(sell.getId()));
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,143 @@
+package com.kshrd.kroya_api.service.Foods;
+
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.util.FeedCursor.Position;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Loads keyset pages for the food feeds. Each page is resolved with an index-ordered id query
+ * (one extra row to detect a following page) and then fetched by id as card projections, so the
+ * jsonb ingredients and cooking steps are only read by the detail views.
+ * A null position means the stream is exhausted and no query is issued.
+ */
+@Component
+@RequiredArgsConstructor
+public class FoodFeedPager {
+
+    private final FoodRecipeRepository foodRecipeRepository;
+    private final FoodSellRepository foodSellRepository;
+
+    public Slice<FoodRecipeCard> recipesBefore(Position after, int size) {
+        if (after == null) {
+            return emptySlice(size);
+        }
+        return loadRecipes(foodRecipeRepository.findIdsBefore(after.id(), probe(size)), size);
+    }
+
+    public Slice<FoodRecipeCard> recipesWithoutFoodSellBefore(Long categoryId, Position after, int size) {
+        if (after == null) {
+            return emptySlice(size);
+        }
+        List<Long> ids = categoryId == null
+                ? foodRecipeRepository.findIdsWithoutFoodSellBefore(after.id(), probe(size))
+                : foodRecipeRepository.findIdsByCategoryIdWithoutFoodSellBefore(categoryId, after.id(), probe(size));
+        return loadRecipes(ids, size);
+    }
+
+    public Slice<FoodRecipeCard> popularRecipesWithoutFoodSell(Position after, int size) {
+        if (after == null) {
+            return emptySlice(size);
+        }
+        return loadRecipes(foodRecipeRepository.findIdsWithoutFoodSellRankedAfter(after.rating(), after.id(), probe(size)), size);
+    }
+
+    public Slice<FoodSellCard> sellsBefore(Long categoryId, Position after, int size) {
+        if (after == null) {
+            return emptySlice(size);
+        }
+        List<Long> ids = categoryId == null
+                ? foodSellRepository.findIdsBefore(after.id(), probe(size))
+                : foodSellRepository.findIdsByCategoryIdBefore(categoryId, after.id(), probe(size));
+        return loadSells(ids, size);
+    }
+
+    public Slice<FoodSellCard> popularSells(Position after, int size) {
+        if (after == null) {
+            return emptySlice(size);
+        }
+        return loadSells(foodSellRepository.findIdsRankedAfter(after.rating(), after.id(), probe(size)), size);
+    }
+
+    /**
+     * Position to resume an id-ordered stream from, or null when the slice was the last one.
+     */
+    public static <T> Position nextById(Slice<T> slice, Function<T, Long> id) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        return Position.ofId(id.apply(last(slice)));
+    }
+
+    /**
+     * Position to resume a rating-ordered stream from; sells are keyed on their linked recipe.
+     */
+    public static Position nextRecipeByRating(Slice<FoodRecipeCard> slice) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        FoodRecipeCard recipe = last(slice);
+        return Position.ofRating(recipe.getAverageRating(), recipe.getId());
+    }
+
+    public static Position nextSellByRating(Slice<FoodSellCard> slice) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        FoodSellCard sell = last(slice);
+        return Position.ofRating(sell.getAverageRating(), sell.getRecipeId());
+    }
+
+    private Slice<FoodRecipeCard> loadRecipes(List<Long> ids, int size) {
+        List<Long> pageIds = ids.size() > size ? ids.subList(0, size) : ids;
+        List<FoodRecipeCard> recipes = pageIds.isEmpty()
+                ? List.of()
+                : inIdOrder(pageIds, foodRecipeRepository.findCardsByIdIn(pageIds), FoodRecipeCard::getId);
+        return new SliceImpl<>(recipes, PageRequest.ofSize(size), ids.size() > size);
+    }
+
+    private Slice<FoodSellCard> loadSells(List<Long> ids, int size) {
+        List<Long> pageIds = ids.size() > size ? ids.subList(0, size) : ids;
+        List<FoodSellCard> sells = pageIds.isEmpty()
+                ? List.of()
+                : inIdOrder(pageIds, foodSellRepository.findCardsByIdIn(pageIds), FoodSellCard::getId);
+        return new SliceImpl<>(sells, PageRequest.ofSize(size), ids.size() > size);
+    }
+
+    // Restores the keyset order of the id query, which the IN fetch does not preserve
+    static <T> List<T> inIdOrder(List<Long> ids, List<T> entities, Function<T, Long> id) {
+        Map<Long, T> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(id.apply(entity), entity));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long entityId : ids) {
+            T entity = byId.get(entityId);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private static Pageable probe(int size) {
+        return PageRequest.ofSize(size + 1);
+    }
+
+    private static <T> Slice<T> emptySlice(int size) {
+        return new SliceImpl<>(List.of(), PageRequest.ofSize(size), false);
+    }
+
+    private static <T> T last(Slice<T> slice) {
+        List<T> content = slice.getContent();
+        return content.get(content.size() - 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.kshrd.kroya_api.service.Foods;
+
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeName;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory autocomplete over food recipe names (food sells share the name of their recipe).
+ * Every word start of a normalized name is a key in a sorted map, so a prefix lookup is a range
+ * scan; matches are ranked by average rating. Recipe writes update the index incrementally and a
+ * periodic rebuild picks up rating changes and cascaded deletes by applying only the difference.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoodNameIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final Comparator<Suggestion> BY_RATING = Comparator
+            .comparingDouble(Suggestion::rating).reversed()
+            .thenComparing(Suggestion::name);
+
+    private final FoodRecipeRepository foodRecipeRepository;
+
+    // "<normalized name from a word start>\0<recipe id>" -> suggestion
+    private final ConcurrentSkipListMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, Indexed> indexedByRecipeId = new ConcurrentHashMap<>();
+
+    // Serializes rebuilds without blocking put, remove or suggest
+    private final Object rebuildLock = new Object();
+
+    // Recipes put or removed while a rebuild loads its snapshot, which may be older than those writes; guarded by this
+    private Set<Long> writtenDuringRebuild;
+
+    private record Suggestion(long recipeId, String name, double rating) {
+    }
+
+    private record Indexed(Suggestion suggestion, List<String> keys) {
+    }
+
+    /**
+     * Names starting with the prefix (at any word), best rated first, without duplicates.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the best rated recipe per distinct name
+        Map<String, Suggestion> bestByName = new HashMap<>();
+        for (Suggestion suggestion : entries.subMap(key, key + Character.MAX_VALUE).values()) {
+            bestByName.merge(suggestion.name(), suggestion,
+                    (current, candidate) -> BY_RATING.compare(candidate, current) < 0 ? candidate : current);
+        }
+
+        // Bounded top-k selection: the heap keeps the k best, worst on top
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, BY_RATING.reversed());
+        for (Suggestion suggestion : bestByName.values()) {
+            top.add(suggestion);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Suggestion> ranked = new ArrayList<>(top);
+        ranked.sort(BY_RATING);
+        return ranked.stream().map(Suggestion::name).toList();
+    }
+
+    /**
+     * Every distinct food name currently indexed.
+     */
+    public List<String> allNames() {
+        Set<String> names = new TreeSet<>();
+        entries.values().forEach(suggestion -> names.add(suggestion.name()));
+        return new ArrayList<>(names);
+    }
+
+    public void put(FoodRecipeEntity recipe) {
+        put(recipe.getId(), recipe.getName(), recipe.getAverageRating());
+    }
+
+    public synchronized void remove(Long recipeId) {
+        noteWrite(recipeId);
+        unindex(recipeId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads names and ratings. The query runs without the lock and only changed recipes are rewritten;
+     * recipes put or removed meanwhile are left as those calls wrote them.
+     */
+    @Scheduled(fixedDelayString = "${food.autocomplete.rebuild-interval-ms:600000}",
+            initialDelayString = "${food.autocomplete.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildChanged();
+        }
+    }
+
+    private void rebuildChanged() {
+        synchronized (this) {
+            writtenDuringRebuild = new HashSet<>();
+        }
+        List<FoodRecipeName> names;
+        try {
+            names = foodRecipeRepository.findAllNames();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                writtenDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Set<Long> written = writtenDuringRebuild;
+            writtenDuringRebuild = null;
+            Set<Long> ids = new HashSet<>();
+            int changed = 0;
+            for (FoodRecipeName name : names) {
+                ids.add(name.getId());
+                if (!written.contains(name.getId()) && index(name.getId(), name.getName(), name.getAverageRating())) {
+                    changed++;
+                }
+            }
+            List<Long> gone = indexedByRecipeId.keySet().stream()
+                    .filter(id -> !ids.contains(id) && !written.contains(id))
+                    .toList();
+            gone.forEach(this::unindex);
+            log.debug("Food name index rebuilt with {} recipes, {} changed and {} removed", ids.size(), changed, gone.size());
+        }
+    }
+
+    private synchronized void put(Long recipeId, String name, Double averageRating) {
+        if (recipeId == null) {
+            return;
+        }
+        noteWrite(recipeId);
+        index(recipeId, name, averageRating);
+    }
+
+    private void noteWrite(Long recipeId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(recipeId);
+        }
+    }
+
+    // Writes the new keys before removing stale ones, so suggest never misses a live name; returns whether anything changed
+    private boolean index(Long recipeId, String name, Double averageRating) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return unindex(recipeId);
+        }
+
+        Suggestion suggestion = new Suggestion(recipeId, name.trim(), averageRating != null ? averageRating : 0);
+        Indexed current = indexedByRecipeId.get(recipeId);
+        if (current != null && current.suggestion().equals(suggestion)) {
+            return false;
+        }
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                String key = normalized.substring(i) + KEY_SEPARATOR + recipeId;
+                entries.put(key, suggestion);
+                keys.add(key);
+            }
+        }
+        indexedByRecipeId.put(recipeId, new Indexed(suggestion, keys));
+        if (current != null) {
+            current.keys().stream()
+                    .filter(key -> !keys.contains(key))
+                    .forEach(entries::remove);
+        }
+        return true;
+    }
+
+    private boolean unindex(Long recipeId) {
+        Indexed indexed = indexedByRecipeId.remove(recipeId);
+        if (indexed == null) {
+            return false;
+        }
+        indexed.keys().forEach(entries::remove);
+        return true;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replace(KEY_SEPARATOR, ' ')
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,81 @@
+package com.kshrd.kroya_api.service.Foods;
+
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodSearchHit;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Food name search shared by the recipe, sell, favorite and guest search endpoints.
+ * One ranked, limited query resolves the matching recipe and food sell ids; their cards
+ * are then fetched by id, keeping the rank order.
+ */
+@Component
+@RequiredArgsConstructor
+public class FoodSearch {
+
+    private final FoodRecipeRepository foodRecipeRepository;
+    private final FoodSellRepository foodSellRepository;
+
+    @Value("${food.search.limit:50}")
+    private int limit;
+
+    public List<FoodSearchHit> search(String name) {
+        return search(name, 0);
+    }
+
+    /**
+     * Searches only among the favorite recipes and food sells of a user.
+     */
+    public List<FoodSearchHit> searchFavorites(String name, Integer userId) {
+        return search(name, userId);
+    }
+
+    /**
+     * Every matching recipe, including the ones listed as food sells.
+     */
+    public List<FoodRecipeCard> recipes(List<FoodSearchHit> hits) {
+        return loadRecipes(hits.stream().map(FoodSearchHit::getRecipeId).toList());
+    }
+
+    public List<FoodRecipeCard> recipesWithoutFoodSell(List<FoodSearchHit> hits) {
+        return loadRecipes(hits.stream()
+                .filter(hit -> hit.getFoodSellId() == null)
+                .map(FoodSearchHit::getRecipeId)
+                .toList());
+    }
+
+    public List<FoodSellCard> sells(List<FoodSearchHit> hits) {
+        List<Long> ids = hits.stream()
+                .map(FoodSearchHit::getFoodSellId)
+                .filter(Objects::nonNull)
+                .toList();
+        return ids.isEmpty()
+                ? List.of()
+                : FoodFeedPager.inIdOrder(ids, foodSellRepository.findCardsByIdIn(ids), FoodSellCard::getId);
+    }
+
+    private List<FoodSearchHit> search(String name, Integer favoritesOfUserId) {
+        String query = name == null ? "" : name.trim();
+        String escaped = escapeLike(query);
+        return foodRecipeRepository.search(query, "%" + escaped + "%", escaped + "%", favoritesOfUserId, limit);
+    }
+
+    private List<FoodRecipeCard> loadRecipes(List<Long> ids) {
+        return ids.isEmpty()
+                ? List.of()
+                : FoodFeedPager.inIdOrder(ids, foodRecipeRepository.findCardsByIdIn(ids), FoodRecipeCard::getId);
+    }
+
+    // Postgres uses backslash as the default LIKE escape character
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
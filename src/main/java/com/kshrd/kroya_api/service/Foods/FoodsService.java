@@ -4,9 +4,9 @@ import com.kshrd.kroya_api.enums.ItemType;
 import com.kshrd.kroya_api.payload.BaseResponse;
 
 public interface FoodsService {
-    BaseResponse<?> getAllFoodsByCategory(Long categoryId);
+    BaseResponse<?> getAllFoodsByCategory(Long categoryId, String cursor, int size);
 
-    BaseResponse<?> getPopularFoods();
+    BaseResponse<?> getPopularFoods(String cursor, int size);
 
     BaseResponse<?> getFoodDetail(Long id, ItemType itemType);
 
@@ -14,6 +14,6 @@ public interface FoodsService {
 
     BaseResponse<?> searchFoodsByName(String foodName);
 
-    BaseResponse<?> getAllFoods();
+    BaseResponse<?> getAllFoods(String cursor, int size);
 }
 
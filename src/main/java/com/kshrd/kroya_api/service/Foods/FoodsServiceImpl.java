@@ -1,10 +1,5 @@
 package com.kshrd.kroya_api.service.Foods;
 
-import com.kshrd.kroya_api.dto.FoodRecipeDTO;
-import com.kshrd.kroya_api.dto.PhotoDTO;
-import com.kshrd.kroya_api.dto.UserDTO;
-import com.kshrd.kroya_api.dto.UserProfileDTO;
-import com.kshrd.kroya_api.entity.FeedbackEntity;
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
 import com.kshrd.kroya_api.entity.UserEntity;
@@ -12,31 +7,29 @@ import com.kshrd.kroya_api.enums.ItemType;
 import com.kshrd.kroya_api.exception.ForbiddenException;
 import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
 import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import com.kshrd.kroya_api.mapper.FoodMapper;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellResponse;
-import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
-import com.kshrd.kroya_api.repository.Feedback.FeedbackRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodSearchHit;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.Feedback.RatingHistogram;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellExpiryScheduler;
+import com.kshrd.kroya_api.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -45,253 +38,100 @@ public class FoodsServiceImpl implements FoodsService {
 
     private final FoodRecipeRepository foodRecipeRepository;
     private final FoodSellRepository foodSellRepository;
-    private final FavoriteRepository favoriteRepository;
-    private final ModelMapper modelMapper;
-    private final FeedbackRepository feedbackRepository;
+    private final FoodFeedAssembler foodFeedAssembler;
+    private final FoodFeedPager foodFeedPager;
+    private final FoodSearch foodSearch;
+    private final FoodNameIndex foodNameIndex;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
+    private final RatingHistogram ratingHistogram;
 
     // Get all food by category ID
     @Override
-    public BaseResponse<?> getAllFoodsByCategory(Long categoryId) {
+    public BaseResponse<?> getAllFoodsByCategory(Long categoryId, String cursor, int size) {
         // Validate the categoryId to ensure it's not null and is positive
         if (categoryId == null || categoryId <= 0) {
             throw new FieldBlankExceptionHandler("Category ID must be a positive number and cannot be null.");
         }
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Fetch all food recipes by category
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByCategoryId(categoryId);
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        // Filter out food recipes that are linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = foodRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
-
-        // Fetch all food sells by category
-        List<FoodSellEntity> foodSells = foodSellRepository.findByCategoryId(categoryId);
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
+        // Fetch the next page of food recipes of the category that are not linked to food sells
+        Slice<FoodRecipeCard> pureFoodRecipes = foodFeedPager.recipesWithoutFoodSellBefore(categoryId, feedCursor.getRecipes(), size);
+
+        // Fetch the next page of food sells by category
+        Slice<FoodSellCard> foodSells = foodFeedPager.sellsBefore(categoryId, feedCursor.getSells(), size);
 
         // Check if no records were found for the provided categoryId
-        if (foodRecipes.isEmpty() && foodSells.isEmpty()) {
+        if (feedCursor.isFirstPage() && !pureFoodRecipes.hasContent() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No foods found for the specified category ID.");
         }
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define a flexible DateTimeFormatter to handle ISO-like format with 'T' and optional milliseconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")   // Base pattern with 'T' separator
-                .optionalStart()                          // Optional milliseconds
-                .appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true)
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure FoodRecipeEntities to FoodRecipeCardResponse using ModelMapper
-        List<FoodRecipeCardResponse> foodRecipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId()));
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map FoodSellEntities to FoodSellCardResponse using ModelMapper
-        List<FoodSellCardResponse> foodSellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-
-                    // Set foodSellId
-                    response.setFoodSellId(sell.getId());
-
-                    // Map seller information
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    try {
-                        // Parse the dateCooking using the flexible DateTimeFormatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(sell);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses with the user's favorite status
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(
+                pureFoodRecipes.getContent(), foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> foodSellResponses = foodFeedAssembler.toSellCardsFromViews(
+                foodSells.getContent(), foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare the response map
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("foodRecipes", foodRecipeResponses);
         responseMap.put("foodSells", foodSellResponses);
 
+        // Continue both streams from their last returned ids
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextById(pureFoodRecipes, FoodRecipeCard::getId),
+                FoodFeedPager.nextById(foodSells, FoodSellCard::getId));
+
         // Build and return the BaseResponse
         return BaseResponse.builder()
                 .message("All foods fetched successfully")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/foods/" + categoryId, size, nextCursor))
                 .build();
     }
 
     @Override
-    public BaseResponse<?> getPopularFoods() {
+    public BaseResponse<?> getPopularFoods(String cursor, int size) {
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Fetch all food recipes ordered by average rating
-        List<FoodRecipeEntity> allRecipes = foodRecipeRepository.findAllByOrderByAverageRatingDesc();
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        // Filter out food recipes linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = allRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
-
-        // Fetch all food sells ordered by average rating and user favorites
-        List<FoodSellEntity> popularSells = foodSellRepository.findAllByOrderByAverageRatingDesc();
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-        // Current time in Phnom Penh time zone
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // DateTimeFormatter for parsing dateCooking with optional fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .optionalStart()
-                .appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true)
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure FoodRecipeEntities to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> popularRecipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId())); // Set favorite status
-
-                    // Map photos from FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map FoodSellEntities to FoodSellCardResponse
-        List<FoodSellCardResponse> popularSellResponses = popularSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set foodSellId
-                    response.setFoodSellId(sell.getId());
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId())); // Set favorite status
-
-                    try {
-                        // Parse dateCooking with formatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-                        // Save updated isOrderable value
-                        foodSellRepository.save(sell);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Map details from linked FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-
-                    // Map photos from linked FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set additional fields from linked recipe
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Set seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    // Ensure isOrderable is transferred correctly
-                    response.setIsOrderable(sell.getIsOrderable());
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Fetch the next page of food recipes not linked to food sells, ordered by average rating
+        Slice<FoodRecipeCard> pureFoodRecipes = foodFeedPager.popularRecipesWithoutFoodSell(feedCursor.getRecipes(), size);
+
+        // Fetch the next page of food sells ordered by average rating
+        Slice<FoodSellCard> popularSells = foodFeedPager.popularSells(feedCursor.getSells(), size);
+
+        // Map entities to card responses with the user's favorite status
+        List<FoodRecipeCardResponse> popularRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(
+                pureFoodRecipes.getContent(), foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> popularSellResponses = foodFeedAssembler.toSellCardsFromViews(
+                popularSells.getContent(), foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare response map
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("popularRecipes", popularRecipeResponses);
         responseMap.put("popularSells", popularSellResponses);
 
+        // Continue both streams from their last returned (average rating, id) keys
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextRecipeByRating(pureFoodRecipes),
+                FoodFeedPager.nextSellByRating(popularSells));
+
         // Build and return the BaseResponse
         return BaseResponse.builder()
                 .message("Popular foods fetched successfully")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/foods/popular", size, nextCursor))
                 .build();
     }
 
@@ -308,12 +148,9 @@ public class FoodsServiceImpl implements FoodsService {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Calculate rating percentages
-        LinkedHashMap<Integer, Double> ratingPercentages = calculateRatingPercentages(id, itemType);
-
         if (itemType == ItemType.FOOD_RECIPE) {
             // Fetch FoodRecipe details
-            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findById(Math.toIntExact(id));
+            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findDetailById(id);
             if (recipeOptional.isEmpty()) {
                 log.error("FoodRecipe with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodRecipe with ID " + id + " not found.");
@@ -327,27 +164,14 @@ public class FoodsServiceImpl implements FoodsService {
                 throw new FieldBlankExceptionHandler("This recipe is part of a Food Sell. Please select the Food Sell item instead.");
             }
 
-            FoodRecipeResponse foodRecipeResponse = modelMapper.map(foodRecipe, FoodRecipeResponse.class);
-
-            // Map the photo entities
-            List<PhotoDTO> photoResponses = foodRecipe.getPhotos().stream()
-                    .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                    .collect(Collectors.toList());
-            foodRecipeResponse.setPhoto(photoResponses);
-
-            // Set the cuisine and category names
-            if (foodRecipe.getCuisine() != null) {
-                foodRecipeResponse.setCuisineName(foodRecipe.getCuisine().getCuisineName());
-            }
-            if (foodRecipe.getCategory() != null) {
-                foodRecipeResponse.setCategoryName(foodRecipe.getCategory().getCategoryName());
-            }
+            // Map the recipe, including photos, cuisine and category names
+            FoodRecipeResponse foodRecipeResponse = FoodMapper.toRecipeResponse(foodRecipe);
 
             // Set rating percentages
-            foodRecipeResponse.setRatingPercentages(ratingPercentages);
+            foodRecipeResponse.setRatingPercentages(ratingHistogram.percentages(foodRecipe));
 
             // Check if the food recipe is a favorite for the current user
-            boolean isFavorite = favoriteRepository.existsByUserAndFoodRecipe(currentUser, foodRecipe);
+            boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsRecipe(foodRecipe.getId());
             foodRecipeResponse.setIsFavorite(isFavorite);
 
             return BaseResponse.builder()
@@ -358,38 +182,26 @@ public class FoodsServiceImpl implements FoodsService {
 
         } else if (itemType == ItemType.FOOD_SELL) {
             // Fetch FoodSell details
-            Optional<FoodSellEntity> sellOptional = foodSellRepository.findById(id);
+            Optional<FoodSellEntity> sellOptional = foodSellRepository.findDetailById(id);
             if (sellOptional.isEmpty()) {
                 log.error("FoodSell with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodSell with ID " + id + " not found.");
             }
 
             FoodSellEntity foodSell = sellOptional.get();
-            FoodSellResponse foodSellResponse = modelMapper.map(foodSell, FoodSellResponse.class);
 
-            // Map the linked FoodRecipe details
+            // Map the sell, including the linked recipe with its photos, cuisine and category names
+            FoodSellResponse foodSellResponse = FoodMapper.toSellResponse(foodSell);
             FoodRecipeEntity linkedRecipe = foodSell.getFoodRecipe();
-            FoodRecipeDTO foodRecipeDTO = modelMapper.map(linkedRecipe, FoodRecipeDTO.class);
-            List<PhotoDTO> photoResponses = linkedRecipe.getPhotos().stream()
-                    .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                    .collect(Collectors.toList());
-            foodRecipeDTO.setPhoto(photoResponses);
-
-            // Set cuisine and category names in the FoodSellResponse
-            if (linkedRecipe.getCuisine() != null) {
-                foodRecipeDTO.setCuisineName(linkedRecipe.getCuisine().getCuisineName());
-            }
-            if (linkedRecipe.getCategory() != null) {
-                foodRecipeDTO.setCategoryName(linkedRecipe.getCategory().getCategoryName());
-            }
 
-            foodSellResponse.setFoodRecipeDTO(foodRecipeDTO);
+            // Determine if the food is orderable based on the dateCooking
+            foodSellResponse.setIsOrderable(foodSellExpiryScheduler.isOrderable(foodSell.getDateCooking()));
 
             // Set rating percentages
-            foodSellResponse.setRatingPercentages(ratingPercentages);
+            foodSellResponse.setRatingPercentages(ratingHistogram.percentages(linkedRecipe));
 
             // Check if the food sell is a favorite for the current user
-            boolean isFavorite = favoriteRepository.existsByUserAndFoodSell(currentUser, foodSell);
+            boolean isFavorite = foodFeedAssembler.favoritesOf(currentUser).containsSell(foodSell.getId());
             foodSellResponse.setIsFavorite(isFavorite);
 
             return BaseResponse.builder()
@@ -417,7 +229,7 @@ public class FoodsServiceImpl implements FoodsService {
 
         if (itemType == ItemType.FOOD_RECIPE) {
             // Delete FoodRecipe
-            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findById(Math.toIntExact(id));
+            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findWithOwnerById(id);
             if (recipeOptional.isEmpty()) {
                 log.error("FoodRecipe with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodRecipe with ID " + id + " not found.");
@@ -432,6 +244,7 @@ public class FoodsServiceImpl implements FoodsService {
             }
 
             foodRecipeRepository.delete(foodRecipe);
+            foodNameIndex.remove(foodRecipe.getId());
 
             return BaseResponse.builder()
                     .message("FoodRecipe deleted successfully")
@@ -440,7 +253,7 @@ public class FoodsServiceImpl implements FoodsService {
 
         } else if (itemType == ItemType.FOOD_SELL) {
             // Delete FoodSell
-            Optional<FoodSellEntity> sellOptional = foodSellRepository.findById(id);
+            Optional<FoodSellEntity> sellOptional = foodSellRepository.findWithOwnerById(id);
             if (sellOptional.isEmpty()) {
                 log.error("FoodSell with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodSell with ID " + id + " not found.");
@@ -456,6 +269,7 @@ public class FoodsServiceImpl implements FoodsService {
 
             // Since cascade is set to ALL, deleting the FoodSell will automatically delete the associated FoodRecipe
             foodSellRepository.delete(foodSell);
+            foodNameIndex.remove(foodSell.getFoodRecipe().getId());
 
             return BaseResponse.builder()
                     .message("FoodSell and associated FoodRecipe deleted successfully")
@@ -473,75 +287,21 @@ public class FoodsServiceImpl implements FoodsService {
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Fetch all food recipes and food sells that match the name
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByNameContainingIgnoreCase(foodName);
-        List<FoodSellEntity> foodSells = foodSellRepository.findByFoodRecipeNameContainingIgnoreCase(foodName);
+        // Run one ranked search and load the matching food recipes and food sells
+        List<FoodSearchHit> hits = foodSearch.search(foodName);
+        List<FoodRecipeCard> foodRecipes = foodSearch.recipes(hits);
+        List<FoodSellCard> foodSells = foodSearch.sells(hits);
 
         // Check if no records were found for the provided name
         if (foodRecipes.isEmpty() && foodSells.isEmpty()) {
             throw new NotFoundExceptionHandler("No foods found for the specified name.");
         }
 
-        // Retrieve user's favorite recipe and food sell IDs
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-        // Map food recipes to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> recipeResponses = foodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId())); // Set favorite status
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set foodSellId directly from FoodSellEntity ID
-                    response.setFoodSellId(sell.getId());
-
-                    // Set name from related FoodRecipeEntity
-                    response.setName(sell.getFoodRecipe().getName());
-
-                    // Set favorite status
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-
-                    // Map photos from FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map seller information from FoodRecipeEntity user
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses with the user's favorite status
+        List<FoodRecipeCardResponse> recipeResponses = foodFeedAssembler.toRecipeCardsFromViews(
+                foodRecipes, foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCardsFromViews(
+                foodSells, foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare the response map
         Map<String, List<?>> responseMap = new HashMap<>();
@@ -557,163 +317,50 @@ public class FoodsServiceImpl implements FoodsService {
     }
 
     @Override
-    public BaseResponse<?> getAllFoods() {
+    public BaseResponse<?> getAllFoods(String cursor, int size) {
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+
         // Get the currently authenticated user
         UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         log.info("User authenticated: {}", currentUser.getEmail());
 
-        // Fetch and filter all food recipes not linked to food sells
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findAll().stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
+        // Fetch the next page of food recipes not linked to food sells
+        Slice<FoodRecipeCard> foodRecipes = foodFeedPager.recipesWithoutFoodSellBefore(null, feedCursor.getRecipes(), size);
+
+        // Fetch the next page of food sells
+        Slice<FoodSellCard> foodSells = foodFeedPager.sellsBefore(null, feedCursor.getSells(), size);
 
-        // Validate if there are no food recipes
-        if (foodRecipes.isEmpty()) {
+        // Validate the first page: every linked recipe has a food sell, so both are empty only when there are no recipes
+        if (feedCursor.isFirstPage() && !foodRecipes.hasContent() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No food recipes found.");
         }
-
-        // Fetch all food sells
-        List<FoodSellEntity> foodSells = foodSellRepository.findAll();
-        if (foodSells.isEmpty()) {
+        if (feedCursor.isFirstPage() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No food sells found.");
         }
 
-        // Fetch favorite IDs for recipes and sells
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
-        // Current time for orderable status calculation
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // DateTimeFormatter to handle dateCooking parsing with optional fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .optionalStart()
-                .appendFraction(ChronoField.MICRO_OF_SECOND, 0, 6, true)
-                .optionalEnd()
-                .toFormatter();
-
-        // Map FoodRecipeEntity to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> foodRecipeResponses = foodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId()));
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map user info to UserDTO
-                    UserDTO userDTO = new UserDTO(
-                            recipe.getUser().getId(),
-                            recipe.getUser().getFullName(),
-                            recipe.getUser().getProfileImage(),
-                            recipe.getUser().getRole(),
-                            recipe.getUser().isDeleted());
-                    response.setUser(userDTO);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map FoodSellEntity to FoodSellCardResponse
-        List<FoodSellCardResponse> foodSellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-                    response.setFoodSellId(sell.getId());
-
-                    try {
-                        // Parse and set orderable status based on dateCooking
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-                        foodSellRepository.save(sell); // Update database
-
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Map additional fields from FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Map photos from FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses with the user's favorite status
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(
+                foodRecipes.getContent(), foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> foodSellResponses = foodFeedAssembler.toSellCardsFromViews(
+                foodSells.getContent(), foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare response payload
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("foodRecipes", foodRecipeResponses);
         responseMap.put("foodSells", foodSellResponses);
 
+        // Continue both streams from their last returned ids
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextById(foodRecipes, FoodRecipeCard::getId),
+                FoodFeedPager.nextById(foodSells, FoodSellCard::getId));
+
         // Build and return BaseResponse
         return BaseResponse.builder()
                 .message("All foods fetched successfully with authentication")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/foods/list", size, nextCursor))
                 .build();
     }
-
-    /**
-     * Helper method to calculate the rating percentages for each star level (1 to 5).
-     */
-    private LinkedHashMap<Integer, Double> calculateRatingPercentages(Long foodId, ItemType itemType) {
-        List<FeedbackEntity> feedbacks;
-        if (itemType == ItemType.FOOD_RECIPE) {
-            feedbacks = feedbackRepository.findByFoodRecipeId(foodId);
-        } else {
-            feedbacks = feedbackRepository.findByFoodSellId(foodId);
-        }
-
-        // Count ratings
-        Map<Integer, Long> ratingCount = feedbacks.stream()
-                .filter(feedback -> feedback.getRatingValue() != null)
-                .collect(Collectors.groupingBy(FeedbackEntity::getRatingValue, Collectors.counting()));
-
-        long totalRatings = ratingCount.values().stream().mapToLong(Long::longValue).sum();
-
-        // Use a LinkedHashMap to ensure the order of keys from 5 to 1 in the JSON response
-        LinkedHashMap<Integer, Double> ratingPercentages = new LinkedHashMap<>();
-        for (int i = 5; i >= 1; i--) {
-            double percentage = totalRatings > 0 ? (ratingCount.getOrDefault(i, 0L) * 100.0 / totalRatings) : 0.0;
-            ratingPercentages.put(i, Math.round(percentage * 100.0) / 100.0); // Round to two decimal places
-        }
-
-        // Log the rating distribution for verification
-        log.info("Total ratings for item {}: {}", foodId, totalRatings);
-        ratingPercentages.forEach((rating, percentage) ->
-                log.info("Rating {}: {} users ({}%)", rating, ratingCount.getOrDefault(rating, 0L), percentage));
-
-        return ratingPercentages;
-    }
-
-
-}
\ No newline at end of file
+}
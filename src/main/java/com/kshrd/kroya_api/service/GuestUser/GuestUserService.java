@@ -5,13 +5,13 @@ import com.kshrd.kroya_api.payload.BaseResponse;
 
 public interface GuestUserService {
 
-    BaseResponse<?> getAllFoodSells();
+    BaseResponse<?> getAllFoodSells(String cursor, int size);
 
-    BaseResponse<?>  getAllFoodRecipes();
+    BaseResponse<?>  getAllFoodRecipes(String cursor, int size);
 
-    BaseResponse<?> getAllFoodsByCategory(Long categoryId);
+    BaseResponse<?> getAllFoodsByCategory(Long categoryId, String cursor, int size);
 
-    BaseResponse<?> getPopularFoods();
+    BaseResponse<?> getPopularFoods(String cursor, int size);
 
     BaseResponse<?> getFoodDetail(Long id, ItemType itemType);
 
@@ -25,7 +25,9 @@ public interface GuestUserService {
 
     BaseResponse<?> getAllFoodName();
 
-    BaseResponse<?> getAllFoods();
+    BaseResponse<?> autocompleteFoodNames(String prefix, int limit);
+
+    BaseResponse<?> getAllFoods(String cursor, int size);
 
     BaseResponse<?> searchFoodsRecipeByName(String name);
 }
\ No newline at end of file
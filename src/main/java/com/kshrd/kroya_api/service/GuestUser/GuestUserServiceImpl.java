@@ -1,34 +1,36 @@
 package com.kshrd.kroya_api.service.GuestUser;
 
 import com.kshrd.kroya_api.dto.*;
-import com.kshrd.kroya_api.entity.FeedbackEntity;
 import com.kshrd.kroya_api.entity.FoodRecipeEntity;
 import com.kshrd.kroya_api.entity.FoodSellEntity;
-import com.kshrd.kroya_api.entity.UserEntity;
 import com.kshrd.kroya_api.enums.ItemType;
 import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
 import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import com.kshrd.kroya_api.mapper.FoodMapper;
 import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.Category.PaginationMeta;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellCardResponse;
 import com.kshrd.kroya_api.payload.FoodSell.FoodSellResponse;
-import com.kshrd.kroya_api.repository.Feedback.FeedbackRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeCard;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodSearchHit;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellCard;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.service.Feedback.RatingHistogram;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellExpiryScheduler;
+import com.kshrd.kroya_api.service.Foods.FoodFeedAssembler;
+import com.kshrd.kroya_api.service.Foods.FoodFeedPager;
+import com.kshrd.kroya_api.service.Foods.FoodNameIndex;
+import com.kshrd.kroya_api.service.Foods.FoodSearch;
+import com.kshrd.kroya_api.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -39,122 +41,61 @@ public class GuestUserServiceImpl implements GuestUserService {
 
     private final FoodSellRepository foodSellRepository;
     private final FoodRecipeRepository foodRecipeRepository;
-    private final ModelMapper modelMapper;
-    private final FeedbackRepository feedbackRepository;
+    private final FoodFeedAssembler foodFeedAssembler;
+    private final FoodFeedPager foodFeedPager;
+    private final FoodSearch foodSearch;
+    private final FoodNameIndex foodNameIndex;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
+    private final RatingHistogram ratingHistogram;
 
     //Get all food sells
     @Override
-    public BaseResponse<?> getAllFoodSells() {
+    public BaseResponse<?> getAllFoodSells(String cursor, int size) {
         log.info("Fetching all FoodSell records for guest user");
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
-        // Fetch all FoodSellEntity records from the database
-        List<FoodSellEntity> foodSellEntities = foodSellRepository.findAll();
+        // Fetch the next page of FoodSellEntity records with their recipe, seller and photos
+        Slice<FoodSellCard> foodSellEntities = foodFeedPager.sellsBefore(null, feedCursor.getSells(), size);
 
         // Check if no records were found
-        if (foodSellEntities.isEmpty()) {
+        if (feedCursor.isFirstPage() && !foodSellEntities.hasContent()) {
             log.warn("No FoodSell records found in the database");
             throw new NotFoundExceptionHandler("No FoodSell records found.");
         }
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
         // Map each FoodSellEntity to FoodSellCardResponse
-        List<FoodSellCardResponse> foodSellCardResponses = foodSellEntities.stream()
-                .map(foodSellEntity -> {
-                    // Determine if the food is orderable based on the dateCooking
-                    boolean isOrderable = !foodSellEntity.getDateCooking()
-                            .atZone(ZoneId.of("Asia/Phnom_Penh"))
-                            .isBefore(currentDateTimeInPhnomPenh);
-                    foodSellEntity.setIsOrderable(isOrderable);
-
-                    // Map using ModelMapper
-                    FoodSellCardResponse response = modelMapper.map(foodSellEntity, FoodSellCardResponse.class);
-
-                    // Set foodSellId explicitly
-                    response.setFoodSellId(foodSellEntity.getId());
-
-                    // Set isOrderable explicitly
-                    response.setIsOrderable(isOrderable);
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = foodSellEntity.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map additional details from linked recipe
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Set seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<FoodSellCardResponse> foodSellCardResponses = foodFeedAssembler.toSellCardsFromViews(foodSellEntities.getContent(), null);
 
         // Return the response with the list of FoodSellCardResponse objects
         return BaseResponse.builder()
                 .message("All FoodSell records fetched successfully for guest user")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(foodSellCardResponses)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/guest-user/food-sell/list", size,
+                        FeedCursor.encode(null, FoodFeedPager.nextById(foodSellEntities, FoodSellCard::getId))))
                 .build();
     }
 
     //Get all food recipes
     @Override
-    public BaseResponse<?> getAllFoodRecipes() {
+    public BaseResponse<?> getAllFoodRecipes(String cursor, int size) {
         log.info("Fetching all FoodRecipe records for guest user");
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
-        // Fetch all FoodRecipeEntity records from the database
-        List<FoodRecipeEntity> foodRecipeEntities = foodRecipeRepository.findAll();
+        // Fetch the next page of FoodRecipeEntity records with their owner and photos
+        Slice<FoodRecipeCard> foodRecipeEntities = foodFeedPager.recipesBefore(feedCursor.getRecipes(), size);
 
         // Check if no records were found
-        if (foodRecipeEntities.isEmpty()) {
+        if (feedCursor.isFirstPage() && !foodRecipeEntities.hasContent()) {
             log.warn("No FoodRecipe records found in the database");
             throw new NotFoundExceptionHandler("No FoodRecipe records found.");
         }
 
         // Map each FoodRecipeEntity to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> foodRecipeCardResponses = foodRecipeEntities.stream()
-                .map(foodRecipeEntity -> {
-                    // Use ModelMapper to map entity to response
-                    FoodRecipeCardResponse response = modelMapper.map(foodRecipeEntity, FoodRecipeCardResponse.class);
-
-                    // Set additional fields from FoodRecipeEntity
-                    response.setName(foodRecipeEntity.getName());
-                    response.setAverageRating(foodRecipeEntity.getAverageRating());
-                    response.setTotalRaters(foodRecipeEntity.getTotalRaters());
-
-                    // Map photos to a list of PhotoDTOs
-                    List<PhotoDTO> photoDTOs = foodRecipeEntity.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Map user information to UserDTO
-                    UserEntity creator = foodRecipeEntity.getUser();
-                    UserDTO userDTO = UserDTO.builder()
-                            .id(creator.getId())
-                            .fullName(creator.getFullName())
-                            .profileImage(creator.getProfileImage())
-                            .build();
-                    response.setUser(userDTO);
-
-                    return response;
-                })
+        List<FoodRecipeCardResponse> foodRecipeCardResponses = foodRecipeEntities.getContent().stream()
+                .map(FoodMapper::toRecipeCard)
                 .collect(Collectors.toList());
 
         // Return the response with the list of FoodRecipeCardResponse objects
@@ -162,232 +103,86 @@ public class GuestUserServiceImpl implements GuestUserService {
                 .message("All FoodRecipe records fetched successfully for guest user")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(foodRecipeCardResponses)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/guest-user/food-recipe/list", size,
+                        FeedCursor.encode(FoodFeedPager.nextById(foodRecipeEntities, FoodRecipeCard::getId), null)))
                 .build();
     }
 
     //Get all food by category id
     @Override
-    public BaseResponse<?> getAllFoodsByCategory(Long categoryId) {
+    public BaseResponse<?> getAllFoodsByCategory(Long categoryId, String cursor, int size) {
         log.info("Fetching all foods by category ID: {} for guest user", categoryId);
 
         // Validate the categoryId to ensure it's not null and is positive
         if (categoryId == null || categoryId <= 0) {
             throw new FieldBlankExceptionHandler("Category ID must be a positive number and cannot be null.");
         }
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
-        // Fetch all food recipes and food sells by category
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByCategoryId(categoryId);
-        List<FoodSellEntity> foodSells = foodSellRepository.findByCategoryId(categoryId);
+        // Fetch the next page of food recipes not linked to food sells and of food sells by category
+        Slice<FoodRecipeCard> pureFoodRecipes = foodFeedPager.recipesWithoutFoodSellBefore(categoryId, feedCursor.getRecipes(), size);
+        Slice<FoodSellCard> foodSells = foodFeedPager.sellsBefore(categoryId, feedCursor.getSells(), size);
 
         // Check if no records were found for the provided categoryId
-        if (foodRecipes.isEmpty() && foodSells.isEmpty()) {
+        if (feedCursor.isFirstPage() && !pureFoodRecipes.hasContent() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No foods found for the specified category ID.");
         }
 
-        // Filter out food recipes that are linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = foodRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
-
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define a flexible DateTimeFormatter to handle variable fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd HH:mm:ss")  // Base pattern
-                .optionalStart()                       // Optional fractional seconds
-                .appendFraction(ChronoField.MICRO_OF_SECOND, 0, 6, true)
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure FoodRecipeEntities to FoodRecipeCardResponse using ModelMapper
-        List<FoodRecipeCardResponse> foodRecipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map FoodSellEntities to FoodSellCardResponse using ModelMapper
-        List<FoodSellCardResponse> foodSellResponses = foodSells.stream()
-                .map(sell -> {
-                    // Map basic properties from FoodSellEntity to FoodSellCardResponse
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set foodSellId directly from the sell entity's ID
-                    response.setFoodSellId(sell.getId());
-
-                    // Set sellerInformation by retrieving the seller details from FoodRecipeEntity
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    try {
-                        // Parse the dateCooking using the flexible DateTimeFormatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(sell);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(pureFoodRecipes.getContent(), null);
+        List<FoodSellCardResponse> foodSellResponses = foodFeedAssembler.toSellCardsFromViews(foodSells.getContent(), null);
 
         // Prepare the response map
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("foodRecipes", foodRecipeResponses);
         responseMap.put("foodSells", foodSellResponses);
 
+        // Continue both streams from their last returned ids
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextById(pureFoodRecipes, FoodRecipeCard::getId),
+                FoodFeedPager.nextById(foodSells, FoodSellCard::getId));
+
         // Build and return the BaseResponse
         return BaseResponse.builder()
                 .message("All foods fetched successfully by category for guest user")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/guest-user/foods/" + categoryId, size, nextCursor))
                 .build();
     }
 
     //Get all popular foods
     @Override
-    public BaseResponse<?> getPopularFoods() {
+    public BaseResponse<?> getPopularFoods(String cursor, int size) {
         log.info("Fetching popular foods for guest user");
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
-        // Fetch all food recipes ordered by average rating
-        List<FoodRecipeEntity> popularRecipes = foodRecipeRepository.findAllByOrderByAverageRatingDesc();
-
-        // Filter out recipes linked to food sells to get standalone popular recipes
-        List<FoodRecipeEntity> purePopularRecipes = popularRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
-
-        // Fetch all food sells ordered by average rating
-        List<FoodSellEntity> popularSells = foodSellRepository.findAllByOrderByAverageRatingDesc();
+        // Fetch the next page of standalone recipes and food sells ordered by average rating
+        Slice<FoodRecipeCard> purePopularRecipes = foodFeedPager.popularRecipesWithoutFoodSell(feedCursor.getRecipes(), size);
+        Slice<FoodSellCard> popularSells = foodFeedPager.popularSells(feedCursor.getSells(), size);
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm") // Base pattern for hours and minutes
-                .optionalStart()
-                .appendPattern(":ss") // Optional seconds pattern
-                .optionalEnd()
-                .optionalStart()
-                .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true) // Optional fractional seconds
-                .optionalEnd()
-                .toFormatter();
-
-
-        // Map pure popular FoodRecipeEntities to FoodRecipeCardResponse using ModelMapper
-        List<FoodRecipeCardResponse> popularRecipeResponses = purePopularRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map popular FoodSellEntities to FoodSellCardResponse using ModelMapper
-        List<FoodSellCardResponse> popularSellResponses = popularSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set foodSellId explicitly
-                    response.setFoodSellId(sell.getId());
-
-                    LocalDateTime dateCooking;
-                    try {
-                        dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                        dateCooking = LocalDateTime.now(); // Fallback to current date-time
-                    }
-
-                    // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                    ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                    // Update isOrderable based on whether dateCooking is expired or not
-                    if (dateCookingZoned.isBefore(currentDateTimeInPhnomPenh)) {
-                        sell.setIsOrderable(false);
-                    } else {
-                        sell.setIsOrderable(true);
-                    }
-
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    // Set other details from the recipe
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses
+        List<FoodRecipeCardResponse> popularRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(purePopularRecipes.getContent(), null);
+        List<FoodSellCardResponse> popularSellResponses = foodFeedAssembler.toSellCardsFromViews(popularSells.getContent(), null);
 
         // Prepare the response map
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("popularRecipes", popularRecipeResponses);
         responseMap.put("popularSells", popularSellResponses);
 
+        // Continue both streams from their last returned (average rating, id) keys
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextRecipeByRating(purePopularRecipes),
+                FoodFeedPager.nextSellByRating(popularSells));
+
         // Build and return the BaseResponse
         return BaseResponse.builder()
                 .message("Popular foods fetched successfully for guest user")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/guest-user/foods/popular", size, nextCursor))
                 .build();
     }
 
@@ -401,36 +196,21 @@ public class GuestUserServiceImpl implements GuestUserService {
             throw new FieldBlankExceptionHandler("Food ID must be a positive number and cannot be null.");
         }
 
-        // **Calculate rating percentages**
-        LinkedHashMap<Integer, Double> ratingPercentages = calculateRatingPercentages(id, itemType);
-
         if (itemType == ItemType.FOOD_RECIPE) {
             // Fetch FoodRecipe details
-            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findById(Math.toIntExact(id));
+            Optional<FoodRecipeEntity> recipeOptional = foodRecipeRepository.findDetailById(id);
             if (recipeOptional.isEmpty()) {
                 log.error("FoodRecipe with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodRecipe with ID " + id + " not found");
             }
 
             FoodRecipeEntity foodRecipe = recipeOptional.get();
-            FoodRecipeResponse foodRecipeResponse = modelMapper.map(foodRecipe, FoodRecipeResponse.class);
 
-            // Map the photo entities
-            List<PhotoDTO> photoResponses = foodRecipe.getPhotos().stream()
-                    .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                    .collect(Collectors.toList());
-            foodRecipeResponse.setPhoto(photoResponses);
-
-            // Set the cuisine and category names
-            if (foodRecipe.getCuisine() != null) {
-                foodRecipeResponse.setCuisineName(foodRecipe.getCuisine().getCuisineName());
-            }
-            if (foodRecipe.getCategory() != null) {
-                foodRecipeResponse.setCategoryName(foodRecipe.getCategory().getCategoryName());
-            }
+            // Map the recipe, including photos, cuisine and category names
+            FoodRecipeResponse foodRecipeResponse = FoodMapper.toRecipeResponse(foodRecipe);
 
             // Set rating percentages
-            foodRecipeResponse.setRatingPercentages(ratingPercentages);
+            foodRecipeResponse.setRatingPercentages(ratingHistogram.percentages(foodRecipe));
 
             return BaseResponse.builder()
                     .payload(foodRecipeResponse)
@@ -440,36 +220,23 @@ public class GuestUserServiceImpl implements GuestUserService {
 
         } else if (itemType == ItemType.FOOD_SELL) {
             // Fetch FoodSell details
-            Optional<FoodSellEntity> sellOptional = foodSellRepository.findById(id);
+            Optional<FoodSellEntity> sellOptional = foodSellRepository.findDetailById(id);
             if (sellOptional.isEmpty()) {
                 log.error("FoodSell with ID {} not found", id);
                 throw new NotFoundExceptionHandler("FoodSell with ID " + id + " not found");
             }
 
             FoodSellEntity foodSell = sellOptional.get();
-            FoodSellResponse foodSellResponse = modelMapper.map(foodSell, FoodSellResponse.class);
 
-            // Map the linked FoodRecipe details
+            // Map the sell, including the linked recipe with its photos, cuisine and category names
+            FoodSellResponse foodSellResponse = FoodMapper.toSellResponse(foodSell);
             FoodRecipeEntity linkedRecipe = foodSell.getFoodRecipe();
-            FoodRecipeDTO foodRecipeDTO = modelMapper.map(linkedRecipe, FoodRecipeDTO.class);
-            List<PhotoDTO> photoResponses = linkedRecipe.getPhotos().stream()
-                    .map(photoEntity -> new PhotoDTO(photoEntity.getId(), photoEntity.getPhoto()))
-                    .collect(Collectors.toList());
-            foodRecipeDTO.setPhoto(photoResponses);
-
-            // Set cuisine and category names in the FoodSellResponse
-            if (linkedRecipe.getCuisine() != null) {
-                foodRecipeDTO.setCuisineName(linkedRecipe.getCuisine().getCuisineName());
-            }
-            if (linkedRecipe.getCategory() != null) {
-                foodRecipeDTO.setCategoryName(linkedRecipe.getCategory().getCategoryName());
-            }
 
             // Set rating percentages
-            foodSellResponse.setRatingPercentages(ratingPercentages);
+            foodSellResponse.setRatingPercentages(ratingHistogram.percentages(linkedRecipe));
 
-            // Map additional foodRecipe details to FoodSellResponse
-            foodSellResponse.setFoodRecipeDTO(foodRecipeDTO);
+            // Determine if the food is orderable based on the dateCooking
+            foodSellResponse.setIsOrderable(foodSellExpiryScheduler.isOrderable(foodSell.getDateCooking()));
 
             return BaseResponse.builder()
                     .payload(foodSellResponse)
@@ -491,63 +258,21 @@ public class GuestUserServiceImpl implements GuestUserService {
     public BaseResponse<?> searchFoodsByName(String name) {
         log.info("Searching foods by name: {}", name);
 
-        // Fetch all food recipes and food sells that match the name
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByNameContainingIgnoreCase(name);
-        List<FoodSellEntity> foodSells = foodSellRepository.findByFoodRecipeNameContainingIgnoreCase(name);
+        // Run one ranked search over food recipes and food sells
+        List<FoodSearchHit> hits = foodSearch.search(name);
 
         // Check if no records were found for the provided name
-        if (foodRecipes.isEmpty() && foodSells.isEmpty()) {
+        if (hits.isEmpty()) {
             throw new NotFoundExceptionHandler("No foods found for the specified name.");
         }
 
-        // Filter out food recipes that are linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = foodRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
+        // Food recipes linked to food sells are only returned as food sells
+        List<FoodRecipeCard> pureFoodRecipes = foodSearch.recipesWithoutFoodSell(hits);
+        List<FoodSellCard> foodSells = foodSearch.sells(hits);
 
-        // Map pure food recipes to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> recipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set the foodSellId
-                    response.setFoodSellId(sell.getId());
-                    // Set name food sell
-                    response.setName(sell.getFoodRecipe().getName());
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set seller information
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(sell.getFoodRecipe().getUser().getId()))
-                            .fullName(sell.getFoodRecipe().getUser().getFullName())
-                            .phoneNumber(sell.getFoodRecipe().getUser().getPhoneNumber())
-                            .profileImage(sell.getFoodRecipe().getUser().getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses
+        List<FoodRecipeCardResponse> recipeResponses = foodFeedAssembler.toRecipeCardsFromViews(pureFoodRecipes, null);
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCardsFromViews(foodSells, null);
 
         // Prepare the response
         Map<String, List<?>> responseMap = new HashMap<>();
@@ -580,35 +305,9 @@ public class GuestUserServiceImpl implements GuestUserService {
             throw new NotFoundExceptionHandler("No food recipes found for the specified cuisine ID.");
         }
 
-        // Map each FoodRecipeEntity to FoodRecipeCardResponse using ModelMapper
+        // Map each FoodRecipeEntity to FoodRecipeCardResponse
         List<FoodRecipeCardResponse> foodRecipeResponses = foodRecipes.stream()
-                .map(foodRecipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(foodRecipe, FoodRecipeCardResponse.class);
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = foodRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set additional details such as name, average rating, and total raters
-                    response.setName(foodRecipe.getName());
-                    response.setAverageRating(foodRecipe.getAverageRating());
-                    response.setTotalRaters(foodRecipe.getTotalRaters());
-
-                    // Map user information to UserDTO if present
-                    if (foodRecipe.getUser() != null) {
-                        UserEntity user = foodRecipe.getUser();
-                        UserDTO userDTO = new UserDTO(user.getId(),
-                                user.getFullName(),
-                                user.getProfileImage(),
-                                user.getRole(),
-                                user.isDeleted());
-                        response.setUser(userDTO);
-                    }
-
-                    return response;
-                })
+                .map(FoodMapper::toRecipeCard)
                 .collect(Collectors.toList());
 
         // Return the response with the list of FoodRecipeCardResponse objects
@@ -639,47 +338,8 @@ public class GuestUserServiceImpl implements GuestUserService {
             throw new NotFoundExceptionHandler("No food sells found for the specified cuisine ID.");
         }
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Map each FoodSellEntity to FoodSellCardResponse using ModelMapper
-        List<FoodSellCardResponse> foodSellResponses = foodSells.stream()
-                .map(foodSell -> {
-                    FoodSellCardResponse response = modelMapper.map(foodSell, FoodSellCardResponse.class);
-
-                    // Set foodSellId explicitly
-                    response.setFoodSellId(foodSell.getId());
-
-                    // Determine if the food is orderable based on the dateCooking
-                    boolean isOrderable = !foodSell.getDateCooking().atZone(ZoneId.of("Asia/Phnom_Penh"))
-                            .isBefore(currentDateTimeInPhnomPenh);
-                    response.setIsOrderable(isOrderable);
-
-                    // Map photos from the related FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = foodSell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set additional details from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = foodSell.getFoodRecipe();
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    // Map the seller's details
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map each FoodSellEntity to FoodSellCardResponse
+        List<FoodSellCardResponse> foodSellResponses = foodFeedAssembler.toSellCards(foodSells, null);
 
         // Return the response with the list of FoodSellCardResponse objects
         return BaseResponse.builder()
@@ -694,18 +354,8 @@ public class GuestUserServiceImpl implements GuestUserService {
     public BaseResponse<?> getAllFoodName() {
         log.info("Fetching all unique food names for guest user");
 
-        // Fetch all food names from FoodRecipe and FoodSell entities
-        List<String> foodRecipeNames = foodRecipeRepository.findAll().stream()
-                .map(FoodRecipeEntity::getName)
-                .toList();
-
-        List<String> foodSellNames = foodSellRepository.findAll().stream()
-                .map(foodSell -> foodSell.getFoodRecipe().getName())
-                .toList();
-
-        // Combine both lists and filter for unique names
-        Set<String> uniqueFoodNames = new HashSet<>(foodRecipeNames);
-        uniqueFoodNames.addAll(foodSellNames);
+        // Food sells share the name of their recipe, so the name index covers both
+        List<String> uniqueFoodNames = foodNameIndex.allNames();
 
         // Check if there are no unique food names
         if (uniqueFoodNames.isEmpty()) {
@@ -714,7 +364,7 @@ public class GuestUserServiceImpl implements GuestUserService {
         }
 
         // Map unique names to FoodNameDTO with a list of food names
-        FoodNameDTO foodNameDTO = new FoodNameDTO(new ArrayList<>(uniqueFoodNames));
+        FoodNameDTO foodNameDTO = new FoodNameDTO(uniqueFoodNames);
 
         // Build the response with the unique food names
         return BaseResponse.builder()
@@ -724,120 +374,61 @@ public class GuestUserServiceImpl implements GuestUserService {
                 .build();
     }
 
+    @Override
+    public BaseResponse<?> autocompleteFoodNames(String prefix, int limit) {
+        if (limit < 1 || limit > FoodNameIndex.MAX_LIMIT) {
+            throw new FieldBlankExceptionHandler("Limit must be between 1 and " + FoodNameIndex.MAX_LIMIT + ".");
+        }
+
+        // Answered from the in-memory name index, best rated first
+        FoodNameDTO foodNameDTO = new FoodNameDTO(foodNameIndex.suggest(prefix, limit));
+
+        return BaseResponse.builder()
+                .message("Food name suggestions fetched successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(foodNameDTO)
+                .build();
+    }
+
 
     @Override
-    public BaseResponse<?> getAllFoods() {
+    public BaseResponse<?> getAllFoods(String cursor, int size) {
         log.info("Fetching all foods for guest user");
+        FeedCursor.validateSize(size);
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
 
-        // Fetch all food recipes
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findAll();
-        if (foodRecipes.isEmpty()) {
+        // Fetch the next page of food recipes not linked to food sells and of food sells
+        Slice<FoodRecipeCard> pureFoodRecipes = foodFeedPager.recipesWithoutFoodSellBefore(null, feedCursor.getRecipes(), size);
+        Slice<FoodSellCard> foodSells = foodFeedPager.sellsBefore(null, feedCursor.getSells(), size);
+
+        // Every linked recipe has a food sell, so both lists are empty only when there are no recipes at all
+        if (feedCursor.isFirstPage() && !pureFoodRecipes.hasContent() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No food recipes found.");
         }
-
-        // Filter out food recipes that are linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = foodRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
-
-        // Fetch all food sells
-        List<FoodSellEntity> foodSells = foodSellRepository.findAll();
-        if (foodSells.isEmpty()) {
+        if (feedCursor.isFirstPage() && !foodSells.hasContent()) {
             throw new NotFoundExceptionHandler("No food sells found.");
         }
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define a flexible DateTimeFormatter to handle variable fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .optionalStart()
-                .appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true) // For milliseconds
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure FoodRecipeEntities to FoodRecipeCardResponse with UserDTO
-        List<FoodRecipeCardResponse> foodRecipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Map user info to UserDTO
-                    UserDTO userDTO = new UserDTO(recipe.getUser().getId(), recipe.getUser().getFullName(),
-                            recipe.getUser().getProfileImage(),
-                            recipe.getUser().getRole()
-                            , recipe.getUser().isDeleted());
-                    response.setUser(userDTO);
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map FoodSellEntities to FoodSellCardResponse with UserDTO
-        List<FoodSellCardResponse> foodSellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-                    response.setFoodSellId(sell.getId());
-
-                    try {
-                        // Parse the dateCooking using the flexible DateTimeFormatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(sell);
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Set additional fields from the related FoodRecipeEntity
-                    FoodRecipeEntity linkedRecipe = sell.getFoodRecipe();
-
-                    // Map photos from FoodRecipeEntity to structured list
-                    List<PhotoDTO> photoDTOs = linkedRecipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set seller information
-                    UserEntity seller = linkedRecipe.getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    // Set other details from the recipe
-                    response.setName(linkedRecipe.getName());
-                    response.setAverageRating(linkedRecipe.getAverageRating());
-                    response.setTotalRaters(linkedRecipe.getTotalRaters());
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map entities to card responses
+        List<FoodRecipeCardResponse> foodRecipeResponses = foodFeedAssembler.toRecipeCardsFromViews(pureFoodRecipes.getContent(), null);
+        List<FoodSellCardResponse> foodSellResponses = foodFeedAssembler.toSellCardsFromViews(foodSells.getContent(), null);
 
         // Prepare the response map
         Map<String, List<?>> responseMap = new HashMap<>();
         responseMap.put("foodRecipes", foodRecipeResponses);
         responseMap.put("foodSells", foodSellResponses);
 
+        // Continue both streams from their last returned ids
+        String nextCursor = FeedCursor.encode(
+                FoodFeedPager.nextById(pureFoodRecipes, FoodRecipeCard::getId),
+                FoodFeedPager.nextById(foodSells, FoodSellCard::getId));
+
         // Build and return the BaseResponse
         return BaseResponse.builder()
                 .message("All foods fetched successfully for guest user")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
                 .payload(responseMap)
+                .paginationMeta(PaginationMeta.ofCursor("/api/v1/guest-user/foods/list", size, nextCursor))
                 .build();
     }
 
@@ -845,33 +436,19 @@ public class GuestUserServiceImpl implements GuestUserService {
     public BaseResponse<?> searchFoodsRecipeByName(String name) {
         log.info("Searching food recipes by name: {}", name);
 
-        // Fetch all food recipes that match the name
-        List<FoodRecipeEntity> foodRecipes = foodRecipeRepository.findByNameContainingIgnoreCase(name);
+        // Fetch the food recipes that match the name, best matches first
+        List<FoodSearchHit> hits = foodSearch.search(name);
 
         // Check if no records were found for the provided name
-        if (foodRecipes.isEmpty()) {
+        if (hits.isEmpty()) {
             throw new NotFoundExceptionHandler("No food recipes found for the specified name.");
         }
 
         // Filter out food recipes that are linked to food sells
-        List<FoodRecipeEntity> pureFoodRecipes = foodRecipes.stream()
-                .filter(recipe -> foodSellRepository.findByFoodRecipe(recipe).isEmpty())
-                .toList();
+        List<FoodRecipeCard> pureFoodRecipes = foodSearch.recipesWithoutFoodSell(hits);
 
         // Map pure food recipes to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> recipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<FoodRecipeCardResponse> recipeResponses = foodFeedAssembler.toRecipeCardsFromViews(pureFoodRecipes, null);
 
         // Prepare the response
         Map<String, List<?>> responseMap = new HashMap<>();
@@ -888,42 +465,16 @@ public class GuestUserServiceImpl implements GuestUserService {
     public BaseResponse<?> searchFoodsSellByName(String name) {
         log.info("Searching food sells by name: {}", name);
 
-        // Fetch all food sells that match the name
-        List<FoodSellEntity> foodSells = foodSellRepository.findByFoodRecipeNameContainingIgnoreCase(name);
+        // Fetch the food sells that match the name, best matches first
+        List<FoodSellCard> foodSells = foodSearch.sells(foodSearch.search(name));
 
         // Check if no records were found for the provided name
         if (foodSells.isEmpty()) {
             throw new NotFoundExceptionHandler("No food sells found for the specified name.");
         }
 
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = foodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    // Set the foodSellId
-                    response.setFoodSellId(sell.getId());
-                    // Set name from linked FoodRecipeEntity
-                    response.setName(sell.getFoodRecipe().getName());
-
-                    // Map photos from FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set seller information
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(sell.getFoodRecipe().getUser().getId()))
-                            .fullName(sell.getFoodRecipe().getUser().getFullName())
-                            .phoneNumber(sell.getFoodRecipe().getUser().getPhoneNumber())
-                            .profileImage(sell.getFoodRecipe().getUser().getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map food sells to FoodSellCardResponse, deriving isOrderable like the feeds do
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCardsFromViews(foodSells, null);
 
         // Prepare the response
         Map<String, List<?>> responseMap = new HashMap<>();
@@ -935,39 +486,4 @@ public class GuestUserServiceImpl implements GuestUserService {
                 .payload(responseMap)
                 .build();
     }
-
-
-    /**
-     * Helper method to calculate the rating percentages for each star level (1 to 5).
-     */
-    private LinkedHashMap<Integer, Double> calculateRatingPercentages(Long foodId, ItemType itemType) {
-        List<FeedbackEntity> feedbacks;
-        if (itemType == ItemType.FOOD_RECIPE) {
-            feedbacks = feedbackRepository.findByFoodRecipeId(foodId);
-        } else {
-            feedbacks = feedbackRepository.findByFoodSellId(foodId);
-        }
-
-        // Count ratings
-        Map<Integer, Long> ratingCount = feedbacks.stream()
-                .filter(feedback -> feedback.getRatingValue() != null)
-                .collect(Collectors.groupingBy(FeedbackEntity::getRatingValue, Collectors.counting()));
-
-        long totalRatings = ratingCount.values().stream().mapToLong(Long::longValue).sum();
-
-        // Use a LinkedHashMap to ensure the order of keys from 5 to 1 in the JSON response
-        LinkedHashMap<Integer, Double> ratingPercentages = new LinkedHashMap<>();
-        for (int i = 5; i >= 1; i--) {
-            double percentage = totalRatings > 0 ? (ratingCount.getOrDefault(i, 0L) * 100.0 / totalRatings) : 0.0;
-            ratingPercentages.put(i, Math.round(percentage * 100.0) / 100.0); // Round to two decimal places
-        }
-
-        // Log the rating distribution for verification
-        log.info("Total ratings for item {}: {}", foodId, totalRatings);
-        ratingPercentages.forEach((rating, percentage) ->
-                log.info("Rating {}: {} users ({}%)", rating, ratingCount.getOrDefault(rating, 0L), percentage));
-
-        return ratingPercentages;
-    }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.kshrd.kroya_api.service.Purchase;
+
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.FoodSell.BuyerOrderCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.SellerOrderCardResponse;
+import com.kshrd.kroya_api.payload.Purchase.PurchaseRequest;
+import com.kshrd.kroya_api.payload.Receipt.ReceiptResponse;
+
+import java.util.List;
+
+public interface PurchaseService {
+
+    BaseResponse<BuyerOrderCardResponse> createPurchase(PurchaseRequest purchaseRequest);
+
+    BaseResponse<?> updatePurchaseStatus(Long purchaseId, PurchaseStatusType status);
+
+    BaseResponse<List<BuyerOrderCardResponse>> getBuyerOrders();
+
+    BaseResponse<List<SellerOrderCardResponse>> getSellerOrders();
+
+    BaseResponse<List<BuyerOrderCardResponse>> getPendingOrdersOfFoodSell(Long foodSellId);
+
+    BaseResponse<ReceiptResponse> getReceipt(Long purchaseId);
+}
@@ -0,0 +1,264 @@
+package com.kshrd.kroya_api.service.Purchase;
+
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.PurchaseEntity;
+import com.kshrd.kroya_api.entity.RecipeEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import com.kshrd.kroya_api.exception.ForbiddenException;
+import com.kshrd.kroya_api.exception.InvalidValueExceptionHandler;
+import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import com.kshrd.kroya_api.mapper.PurchaseMapper;
+import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.FoodSell.BuyerOrderCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.SellerOrderCardResponse;
+import com.kshrd.kroya_api.payload.Purchase.PurchaseRequest;
+import com.kshrd.kroya_api.payload.Receipt.ReceiptResponse;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.repository.Purchase.PendingOrderCount;
+import com.kshrd.kroya_api.repository.Purchase.PurchaseRepository;
+import com.kshrd.kroya_api.repository.Receipt.RecipeRepository;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellExpiryScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Order engine on purchase_tb. Placing an order reserves its portions from food_sell_tb.amount with one
+ * conditional UPDATE, so concurrent buyers can never take more than is left. The order then waits in PENDING
+ * until the seller accepts it, which issues a receipt, or rejects it, which gives the portions back.
+ * Each transition is a conditional UPDATE from PENDING, so a double tap cannot release portions twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseServiceImpl implements PurchaseService {
+
+    private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final PurchaseRepository purchaseRepository;
+    private final FoodSellRepository foodSellRepository;
+    private final RecipeRepository recipeRepository;
+    private final FoodSellExpiryScheduler foodSellExpiryScheduler;
+    private final Clock clock;
+
+    @Override
+    @Transactional
+    public BaseResponse<BuyerOrderCardResponse> createPurchase(PurchaseRequest purchaseRequest) {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        log.info("User {} ordering food sell {}", currentUser.getEmail(), purchaseRequest.getFoodSellId());
+
+        // Validate the request
+        if (purchaseRequest.getFoodSellId() == null) {
+            throw new FieldBlankExceptionHandler("Food sell ID cannot be empty.");
+        }
+        if (purchaseRequest.getQuantity() == null || purchaseRequest.getQuantity() < 1) {
+            throw new FieldBlankExceptionHandler("Quantity must be at least 1.");
+        }
+        if (purchaseRequest.getPaymentType() == null) {
+            throw new FieldBlankExceptionHandler("Payment type cannot be empty.");
+        }
+
+        // Reserve the portions; nothing is read before this, so there is no window to oversell
+        LocalDateTime now = LocalDateTime.now(clock);
+        int reserved = foodSellRepository.reserveAmount(
+                purchaseRequest.getFoodSellId(), purchaseRequest.getQuantity(), currentUser.getId(), now);
+        if (reserved == 0) {
+            throw reservationFailure(purchaseRequest, currentUser, now);
+        }
+
+        // Record the order as PENDING at the current price
+        FoodSellEntity foodSell = foodSellRepository.findById(purchaseRequest.getFoodSellId())
+                .orElseThrow(() -> new NotFoundExceptionHandler("Food Sell not found with ID: " + purchaseRequest.getFoodSellId()));
+        PurchaseEntity purchase = purchaseRepository.save(PurchaseEntity.builder()
+                .buyer(currentUser)
+                .foodSell(foodSell)
+                .quantity(purchaseRequest.getQuantity())
+                .totalPrice(foodSell.getPrice() * purchaseRequest.getQuantity())
+                .paymentType(purchaseRequest.getPaymentType())
+                .purchaseStatusType(PurchaseStatusType.PENDING)
+                .remark(purchaseRequest.getRemark())
+                .createdDate(now)
+                .build());
+        log.info("Purchase {} reserved {} portions of food sell {}", purchase.getId(), purchase.getQuantity(), foodSell.getId());
+
+        return BaseResponse.<BuyerOrderCardResponse>builder()
+                .message("Order placed successfully")
+                .statusCode(String.valueOf(HttpStatus.CREATED.value()))
+                .payload(PurchaseMapper.toBuyerOrderCard(purchase, PurchaseStatusType.PENDING,
+                        foodSellExpiryScheduler.isOrderable(foodSell.getDateCooking())))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public BaseResponse<?> updatePurchaseStatus(Long purchaseId, PurchaseStatusType status) {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        log.info("User {} moving purchase {} to {}", currentUser.getEmail(), purchaseId, status);
+
+        if (status != PurchaseStatusType.ACCEPTED && status != PurchaseStatusType.REJECTED) {
+            throw new InvalidValueExceptionHandler("A purchase can only be ACCEPTED or REJECTED.");
+        }
+
+        // Only the seller of the food sell decides on its orders
+        PurchaseEntity purchase = purchaseRepository.findCardById(purchaseId)
+                .orElseThrow(() -> new NotFoundExceptionHandler("Purchase not found with ID: " + purchaseId));
+        if (!Objects.equals(sellerOf(purchase).getId(), currentUser.getId())) {
+            throw new ForbiddenException("You can only accept or reject orders of your own food sells.");
+        }
+
+        // Leave PENDING atomically; a concurrent accept or reject of the same order gets 0 rows
+        if (purchaseRepository.transitionFromPending(purchaseId, status) == 0) {
+            throw new InvalidValueExceptionHandler("Purchase has already been accepted or rejected.");
+        }
+
+        if (status == PurchaseStatusType.REJECTED) {
+            foodSellRepository.releaseAmount(purchase.getFoodSell().getId(), purchase.getQuantity());
+            log.info("Purchase {} rejected, {} portions released", purchaseId, purchase.getQuantity());
+            return BaseResponse.<BuyerOrderCardResponse>builder()
+                    .message("Order rejected successfully")
+                    .statusCode(String.valueOf(HttpStatus.OK.value()))
+                    .payload(PurchaseMapper.toBuyerOrderCard(purchase, PurchaseStatusType.REJECTED,
+                            foodSellExpiryScheduler.isOrderable(purchase.getFoodSell().getDateCooking())))
+                    .build();
+        }
+
+        // Issue the receipt of the accepted order
+        LocalDateTime now = LocalDateTime.now(clock);
+        RecipeEntity receipt = new RecipeEntity();
+        receipt.setPurchase(purchase);
+        receipt.setPaidBy(purchase.getPaymentType());
+        receipt.setPaidDate(now);
+        receipt.setStatus(PurchaseStatusType.ACCEPTED.name());
+        receipt.setReference("KR-" + REFERENCE_DATE.format(now) + "-" + purchaseId);
+        receipt = recipeRepository.save(receipt);
+        log.info("Purchase {} accepted with receipt {}", purchaseId, receipt.getReference());
+
+        return BaseResponse.<ReceiptResponse>builder()
+                .message("Order accepted successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(PurchaseMapper.toReceiptResponse(receipt, purchase))
+                .build();
+    }
+
+    @Override
+    public BaseResponse<List<BuyerOrderCardResponse>> getBuyerOrders() {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        List<BuyerOrderCardResponse> orders = purchaseRepository.findByBuyerIdOrderByCreatedDateDescIdDesc(currentUser.getId())
+                .stream()
+                .map(purchase -> PurchaseMapper.toBuyerOrderCard(purchase, purchase.getPurchaseStatusType(),
+                        foodSellExpiryScheduler.isOrderable(purchase.getFoodSell().getDateCooking())))
+                .toList();
+
+        return BaseResponse.<List<BuyerOrderCardResponse>>builder()
+                .message("Orders fetched successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(orders)
+                .build();
+    }
+
+    @Override
+    public BaseResponse<List<SellerOrderCardResponse>> getSellerOrders() {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        // Pending order counts grouped in the database, then matched to the seller's food sells
+        Map<Long, Long> pendingCounts = purchaseRepository.countPendingBySellerId(currentUser.getId()).stream()
+                .collect(Collectors.toMap(PendingOrderCount::getFoodSellId, PendingOrderCount::getOrderCount));
+        List<SellerOrderCardResponse> orders = foodSellRepository.findByFoodRecipeUserId(currentUser.getId()).stream()
+                .filter(sell -> pendingCounts.containsKey(sell.getId()))
+                .map(sell -> PurchaseMapper.toSellerOrderCard(sell, pendingCounts.get(sell.getId()),
+                        foodSellExpiryScheduler.isOrderable(sell.getDateCooking())))
+                .toList();
+
+        return BaseResponse.<List<SellerOrderCardResponse>>builder()
+                .message("Orders fetched successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(orders)
+                .build();
+    }
+
+    @Override
+    public BaseResponse<List<BuyerOrderCardResponse>> getPendingOrdersOfFoodSell(Long foodSellId) {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        FoodSellEntity foodSell = foodSellRepository.findWithOwnerById(foodSellId)
+                .orElseThrow(() -> new NotFoundExceptionHandler("Food Sell not found with ID: " + foodSellId));
+        if (!Objects.equals(foodSell.getFoodRecipe().getUser().getId(), currentUser.getId())) {
+            throw new ForbiddenException("You can only view orders of your own food sells.");
+        }
+
+        // Oldest first, the order in which the seller should handle them
+        List<BuyerOrderCardResponse> orders = purchaseRepository
+                .findByFoodSellIdAndPurchaseStatusTypeOrderByCreatedDateAscIdAsc(foodSellId, PurchaseStatusType.PENDING)
+                .stream()
+                .map(purchase -> PurchaseMapper.toBuyerOrderCard(purchase, purchase.getPurchaseStatusType(),
+                        foodSellExpiryScheduler.isOrderable(purchase.getFoodSell().getDateCooking())))
+                .toList();
+
+        return BaseResponse.<List<BuyerOrderCardResponse>>builder()
+                .message("Pending orders fetched successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(orders)
+                .build();
+    }
+
+    @Override
+    public BaseResponse<ReceiptResponse> getReceipt(Long purchaseId) {
+        // Get the currently authenticated user
+        UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        // The buyer and the seller can both read the receipt
+        PurchaseEntity purchase = purchaseRepository.findCardById(purchaseId)
+                .orElseThrow(() -> new NotFoundExceptionHandler("Purchase not found with ID: " + purchaseId));
+        if (!Objects.equals(purchase.getBuyer().getId(), currentUser.getId())
+                && !Objects.equals(sellerOf(purchase).getId(), currentUser.getId())) {
+            throw new ForbiddenException("You can only view receipts of your own orders.");
+        }
+        RecipeEntity receipt = recipeRepository.findByPurchaseId(purchaseId)
+                .orElseThrow(() -> new NotFoundExceptionHandler("No receipt found for purchase with ID: " + purchaseId));
+
+        return BaseResponse.<ReceiptResponse>builder()
+                .message("Receipt fetched successfully")
+                .statusCode(String.valueOf(HttpStatus.OK.value()))
+                .payload(PurchaseMapper.toReceiptResponse(receipt, purchase))
+                .build();
+    }
+
+    private static UserEntity sellerOf(PurchaseEntity purchase) {
+        return purchase.getFoodSell().getFoodRecipe().getUser();
+    }
+
+    // Explains a failed reservation; only runs on the rejected path
+    private RuntimeException reservationFailure(PurchaseRequest purchaseRequest, UserEntity buyer, LocalDateTime now) {
+        FoodSellEntity foodSell = foodSellRepository.findWithOwnerById(purchaseRequest.getFoodSellId()).orElse(null);
+        if (foodSell == null) {
+            return new NotFoundExceptionHandler("Food Sell not found with ID: " + purchaseRequest.getFoodSellId());
+        }
+        if (Objects.equals(foodSell.getFoodRecipe().getUser().getId(), buyer.getId())) {
+            return new ForbiddenException("You cannot order your own food sell.");
+        }
+        if (foodSell.getDateCooking() == null || foodSell.getDateCooking().isBefore(now)) {
+            return new InvalidValueExceptionHandler("This food sell is no longer orderable.");
+        }
+        int left = foodSell.getAmount() != null ? foodSell.getAmount() : 0;
+        return new InvalidValueExceptionHandler("Only " + left + " portions are left.");
+    }
+}
@@ -1,13 +1,13 @@
 package com.kshrd.kroya_api.service.User;
 
-import com.kshrd.kroya_api.dto.PhotoDTO;
+import com.kshrd.kroya_api.config.TokenAuthenticationCache;
 import com.kshrd.kroya_api.dto.UserDTO;
-import com.kshrd.kroya_api.dto.UserProfileDTO;
 import com.kshrd.kroya_api.entity.*;
 import com.kshrd.kroya_api.entity.token.TokenRepository;
 import com.kshrd.kroya_api.exception.DuplicateFieldExceptionHandler;
 import com.kshrd.kroya_api.exception.NotFoundExceptionHandler;
 import com.kshrd.kroya_api.exception.exceptionValidateInput.Validation;
+import com.kshrd.kroya_api.mapper.UserMapper;
 import com.kshrd.kroya_api.payload.Auth.UserProfileUpdateRequest;
 import com.kshrd.kroya_api.payload.BaseResponse;
 import com.kshrd.kroya_api.payload.FoodRecipe.FoodRecipeCardResponse;
@@ -19,11 +19,11 @@ import com.kshrd.kroya_api.repository.Favorite.FavoriteRepository;
 import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
 import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
 import com.kshrd.kroya_api.repository.User.UserRepository;
+import com.kshrd.kroya_api.service.Foods.FoodFeedAssembler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,13 +34,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -54,11 +47,12 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
     private final FoodSellRepository foodSellRepository;
     private final TokenRepository tokenRepository;
     private final FavoriteRepository favoriteRepository;
-    private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
     private final CredentialRepository credentialRepository;
     private final DeviceTokenRepository deviceTokenRepository;
     private final Validation validation;
+    private final FoodFeedAssembler foodFeedAssembler;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
     @Override
     public BaseResponse<?> getFoodsByCurrentUser() {
@@ -80,107 +74,16 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
                 .filter(recipe -> !foodSellRecipeIds.contains(recipe.getId()))
                 .collect(Collectors.toList());
 
-        // Fetch the favorite food recipe and food sell IDs for the current user
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
         // Count total posts
         int totalFoodRecipes = pureFoodRecipes.size();
         int totalFoodSells = userFoodSells.size();
         int totalPosts = totalFoodRecipes + totalFoodSells;
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define a flexible DateTimeFormatter to handle variable fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .optionalStart()
-                .appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true) // For milliseconds
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure food recipes (not linked to food sells) to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> recipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Set isFavorite based on user's favorite food recipes
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId()));
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = userFoodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-                    response.setFoodSellId(sell.getId());
-
-                    try {
-                        // Parse the dateCooking using the flexible DateTimeFormatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        if (dateCookingZoned.isBefore(currentDateTimeInPhnomPenh)) {
-                            sell.setIsOrderable(false);
-                        } else {
-                            sell.setIsOrderable(true);
-                        }
-
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(sell);
-
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Set isFavorite based on user's favorite food sells
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-
-                    // Map photos from the associated FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set additional fields from FoodRecipeEntity
-                    response.setName(sell.getFoodRecipe().getName());
-                    response.setAverageRating(sell.getFoodRecipe().getAverageRating());
-                    response.setTotalRaters(sell.getFoodRecipe().getTotalRaters());
-                    response.setIsOrderable(sell.getIsOrderable());
-
-                    // Map seller information from FoodRecipeEntity's user
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
+        // Map recipes and food sells to card responses with the user's favorite status
+        List<FoodRecipeCardResponse> recipeResponses = foodFeedAssembler.toRecipeCards(
+                pureFoodRecipes, foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCards(
+                userFoodSells, foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare response payload
         Map<String, Object> profileData = new LinkedHashMap<>();
@@ -225,104 +128,16 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
                 .filter(recipe -> !foodSellRecipeIds.contains(recipe.getId()))
                 .collect(Collectors.toList());
 
-        // Fetch the favorite food recipe and food sell IDs for the current user
-        List<Long> userFavoriteRecipeIds = favoriteRepository.findByUserAndFoodRecipeIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodRecipe().getId())
-                .toList();
-
-        List<Long> userFavoriteFoodSellIds = favoriteRepository.findByUserAndFoodSellIsNotNull(currentUser)
-                .stream()
-                .map(favorite -> favorite.getFoodSell().getId())
-                .toList();
-
         // Count total posts
         int totalFoodRecipes = pureFoodRecipes.size();
         int totalFoodSells = userFoodSells.size();
         int totalPosts = totalFoodRecipes + totalFoodSells;
 
-        // Get the current time in Phnom Penh time zone (UTC+7)
-        ZonedDateTime currentDateTimeInPhnomPenh = ZonedDateTime.now(ZoneId.of("Asia/Phnom_Penh"));
-
-        // Define a flexible DateTimeFormatter to handle variable fractional seconds
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-                .optionalStart()
-                .appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true) // For milliseconds
-                .optionalEnd()
-                .toFormatter();
-
-        // Map pure food recipes (not linked to food sells) to FoodRecipeCardResponse
-        List<FoodRecipeCardResponse> recipeResponses = pureFoodRecipes.stream()
-                .map(recipe -> {
-                    FoodRecipeCardResponse response = modelMapper.map(recipe, FoodRecipeCardResponse.class);
-
-                    // Set isFavorite based on user's favorite food recipes
-                    response.setIsFavorite(userFavoriteRecipeIds.contains(recipe.getId()));
-
-                    // Map photos
-                    List<PhotoDTO> photoDTOs = recipe.getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        // Map food sells to FoodSellCardResponse
-        List<FoodSellCardResponse> sellResponses = userFoodSells.stream()
-                .map(sell -> {
-                    FoodSellCardResponse response = modelMapper.map(sell, FoodSellCardResponse.class);
-
-                    try {
-                        // Parse the dateCooking using the ISO_LOCAL_DATE_TIME formatter
-                        LocalDateTime dateCooking = LocalDateTime.parse(sell.getDateCooking().toString(), formatter);
-
-                        // Convert LocalDateTime to ZonedDateTime in Phnom Penh time zone
-                        ZonedDateTime dateCookingZoned = dateCooking.atZone(ZoneId.of("Asia/Phnom_Penh"));
-
-                        // Update isOrderable based on whether dateCooking is expired or not
-                        sell.setIsOrderable(!dateCookingZoned.isBefore(currentDateTimeInPhnomPenh));
-
-                        // Save the updated isOrderable value to the database
-                        foodSellRepository.save(sell);
-
-                    } catch (DateTimeParseException e) {
-                        log.error("Failed to parse dateCooking: {}", sell.getDateCooking(), e);
-                    }
-
-                    // Set isFavorite based on user's favorite food sells
-                    response.setIsFavorite(userFavoriteFoodSellIds.contains(sell.getId()));
-
-                    // Set foodSellId explicitly
-                    response.setFoodSellId(sell.getId());
-
-                    // Map photos from the associated FoodRecipeEntity
-                    List<PhotoDTO> photoDTOs = sell.getFoodRecipe().getPhotos().stream()
-                            .map(photo -> new PhotoDTO(photo.getId(), photo.getPhoto()))
-                            .collect(Collectors.toList());
-                    response.setPhoto(photoDTOs);
-
-                    // Set additional fields from FoodRecipeEntity
-                    response.setName(sell.getFoodRecipe().getName());
-                    response.setAverageRating(sell.getFoodRecipe().getAverageRating());
-                    response.setTotalRaters(sell.getFoodRecipe().getTotalRaters());
-                    response.setIsOrderable(sell.getIsOrderable());
-
-                    // Map seller information from FoodRecipeEntity's user
-                    UserEntity seller = sell.getFoodRecipe().getUser();
-                    UserProfileDTO sellerInfo = UserProfileDTO.builder()
-                            .userId(Long.valueOf(seller.getId()))
-                            .fullName(seller.getFullName())
-                            .phoneNumber(seller.getPhoneNumber())
-                            .profileImage(seller.getProfileImage())
-                            .build();
-                    response.setSellerInformation(sellerInfo);
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        // Map recipes and food sells to card responses with the current user's favorite status
+        List<FoodRecipeCardResponse> recipeResponses = foodFeedAssembler.toRecipeCards(
+                pureFoodRecipes, foodFeedAssembler.favoritesOf(currentUser));
+        List<FoodSellCardResponse> sellResponses = foodFeedAssembler.toSellCards(
+                userFoodSells, foodFeedAssembler.favoritesOf(currentUser));
 
         // Prepare response payload
         Map<String, Object> profileData = new LinkedHashMap<>();
@@ -388,6 +203,7 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
 
         // Save the updated user details
         userRepository.save(currentUser);
+        tokenAuthenticationCache.evictUser(currentUser.getEmail());
         log.info("Profile updated successfully for user: {}", currentUser.getEmail());
 
         // Use ModelMapper to map the current user to UserEntityDTO
@@ -419,6 +235,7 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
 
         // Proceed to delete the user from the database
         userRepository.deleteById(currentUser.getId());
+        tokenAuthenticationCache.evictUser(currentUser.getEmail());
         log.info("User account deleted successfully with ID: {}", currentUser.getId());
 
         // Return the response
@@ -565,7 +382,7 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
         return BaseResponse.builder()
                 .message("Device token inserted successfully")
                 .statusCode(String.valueOf(HttpStatus.OK.value()))
-                .payload(modelMapper.map(user, UserDTO.class))
+                .payload(UserMapper.toUserDTO(user))
                 .build();
     }
 
@@ -596,7 +413,7 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
         Page<UserEntity> userPage = userRepository.findAll(pageable);
         List<UserDTO> users = userPage.getContent().stream()
                 .filter(user -> user.getRole().equals("ROLE_USER"))
-                .map(user -> modelMapper.map(user, UserDTO.class))
+                .map(UserMapper::toUserDTO)
                 .collect(Collectors.toList());
         Map<String, Object> response = new HashMap<>();
         response.put("users", users);
@@ -621,6 +438,7 @@ public class UserServiceImpl<HttpServletRequest> implements UserService {
         UserEntity user = userOptional.get();
         user.setDeleted(userRequest.isDeleted()); // Update the deletion status
         userRepository.save(user);
+        tokenAuthenticationCache.evictUser(user.getEmail());
 
         return BaseResponse.builder()
                 .message("User updated successfully")
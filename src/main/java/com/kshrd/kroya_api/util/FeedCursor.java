@@ -0,0 +1,101 @@
+package com.kshrd.kroya_api.util;
+
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset-paginated food feeds.
+ * A feed has up to two streams (recipes and sells); each stream keeps the key of the last item
+ * it returned, or null once it is exhausted.
+ */
+@Getter
+@AllArgsConstructor
+public class FeedCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String VERSION = "v1";
+    private static final String EXHAUSTED = "-";
+
+    private final Position recipes;
+    private final Position sells;
+
+    /**
+     * Keyset position: (rating, id) for rating-ordered feeds, id only (rating 0) for id-ordered feeds.
+     */
+    public record Position(double rating, long id) {
+
+        public static final Position START = new Position(Double.MAX_VALUE, Long.MAX_VALUE);
+
+        public static Position ofId(long id) {
+            return new Position(0, id);
+        }
+
+        public static Position ofRating(Double rating, long id) {
+            return new Position(rating != null ? rating : 0, id);
+        }
+    }
+
+    public static FeedCursor start() {
+        return new FeedCursor(Position.START, Position.START);
+    }
+
+    public boolean isFirstPage() {
+        return Position.START.equals(recipes) && Position.START.equals(sells);
+    }
+
+    /**
+     * Decodes a token from the request; a missing token starts both streams from the beginning.
+     */
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return new FeedCursor(decodePosition(parts[1]), decodePosition(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new FieldBlankExceptionHandler("Invalid cursor.");
+        }
+    }
+
+    /**
+     * Encodes the next positions, or returns null when both streams are exhausted.
+     */
+    public static String encode(Position recipes, Position sells) {
+        if (recipes == null && sells == null) {
+            return null;
+        }
+        String raw = VERSION + "|" + encodePosition(recipes) + "|" + encodePosition(sells);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new FieldBlankExceptionHandler("Size must be between 1 and " + MAX_SIZE + ".");
+        }
+    }
+
+    private static String encodePosition(Position position) {
+        return position == null ? EXHAUSTED : position.rating() + "," + position.id();
+    }
+
+    private static Position decodePosition(String value) {
+        if (EXHAUSTED.equals(value)) {
+            return null;
+        }
+        String[] key = value.split(",");
+        if (key.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor position");
+        }
+        return new Position(Double.parseDouble(key[0]), Long.parseLong(key[1]));
+    }
+}
@@ -0,0 +1,50 @@
+package com.kshrd.kroya_api.util;
+
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for the comment list of a food item, ordered by created_at then id, newest first.
+ * Holds the key of the last comment returned; page sizes follow FeedCursor.
+ */
+public record FeedbackCursor(LocalDateTime createdAt, long id) {
+
+    // Later than any stored comment; still inside the range of a Postgres timestamp
+    public static final FeedbackCursor START = new FeedbackCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String VERSION = "v1";
+
+    public boolean isFirstPage() {
+        return START.equals(this);
+    }
+
+    /**
+     * Decodes a token from the request; a missing token starts from the newest comment.
+     */
+    public static FeedbackCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return new FeedbackCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new FieldBlankExceptionHandler("Invalid cursor.");
+        }
+    }
+
+    /**
+     * Encodes the position after the given comment.
+     */
+    public static String encode(LocalDateTime createdAt, long id) {
+        String raw = VERSION + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package com.kshrd.kroya_api.util;
+
+import com.kshrd.kroya_api.exception.constand.FieldBlankExceptionHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Read-through, in-process snapshot of a small reference table (categories, cuisines).
+ * The whole table is loaded on first use and kept until it is invalidated or the TTL passes
+ * (the TTL bounds staleness when another instance wrote the table). A version counter makes sure
+ * a load that raced with an invalidation is served once but never stored.
+ */
+public class VersionedListCache<T> {
+
+    private final Supplier<List<T>> loader;
+    private final Function<T, Long> idOf;
+    private final Function<T, String> nameOf;
+    private final long ttlMillis;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot<T> snapshot;
+
+    public record Snapshot<T>(long version, long loadedAt, List<T> items, Map<Long, T> byId, String checksum) {
+
+        /**
+         * Items of one page, ordered by id.
+         */
+        public List<T> page(int page, int size) {
+            validatePage(page, size);
+            long from = (long) page * size;
+            if (from >= items.size()) {
+                return List.of();
+            }
+            return items.subList((int) from, (int) Math.min(from + size, items.size()));
+        }
+
+        public int totalPages(int size) {
+            return (items.size() + size - 1) / size;
+        }
+
+        /**
+         * Strong ETag of one page; it changes whenever any id or name in the table changes.
+         */
+        public String etag(int page, int size) {
+            validatePage(page, size);
+            return "\"" + checksum + "-" + page + "-" + size + "\"";
+        }
+    }
+
+    public VersionedListCache(Supplier<List<T>> loader, Function<T, Long> idOf, Function<T, String> nameOf, long ttlMillis) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Snapshot<T> get() {
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version() == version.get()
+                && System.currentTimeMillis() - current.loadedAt() < ttlMillis) {
+            return current;
+        }
+        return reload();
+    }
+
+    public Optional<T> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(get().byId().get(id));
+    }
+
+    public String etag(int page, int size) {
+        return get().etag(page, size);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private synchronized Snapshot<T> reload() {
+        long expectedVersion = version.get();
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version() == expectedVersion
+                && System.currentTimeMillis() - current.loadedAt() < ttlMillis) {
+            return current;
+        }
+
+        List<T> items = new ArrayList<>(loader.get());
+        items.sort(Comparator.comparing(idOf));
+        Map<Long, T> byId = new HashMap<>();
+        CRC32 checksum = new CRC32();
+        for (T item : items) {
+            byId.put(idOf.apply(item), item);
+            checksum.update((idOf.apply(item) + ":" + nameOf.apply(item) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        String tableChecksum = Long.toHexString(checksum.getValue()) + "-" + items.size();
+
+        Snapshot<T> loaded = new Snapshot<>(expectedVersion, System.currentTimeMillis(),
+                Collections.unmodifiableList(items), byId, tableChecksum);
+        if (version.get() == expectedVersion) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new FieldBlankExceptionHandler("Page must be zero or positive and size must be at least 1.");
+        }
+    }
+}
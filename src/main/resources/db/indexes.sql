@@ -0,0 +1,110 @@
+-- Indexes, extensions and data fixes that Hibernate's ddl-auto=update does not create.
+-- Run by spring.sql.init on every start, after the ddl update, so every statement must be idempotent.
+-- A failing statement stops the startup instead of leaving the queries that need it broken.
+
+create index if not exists ix_photo_tb_food_recipe_id
+    on photo_tb (food_recipe_id);
+
+create index if not exists ix_favorite_tb_user_id
+    on favorite_tb (user_id);
+
+-- Favorite toggles upsert against the two unique indexes below. Rows duplicated before they existed keep
+-- the oldest; the delete only runs while an index is still missing, so later starts skip the self-join.
+delete from favorite_tb f
+    using favorite_tb d
+where d.user_id = f.user_id
+  and d.id < f.id
+  and (d.food_recipe_id = f.food_recipe_id or d.food_sell_id = f.food_sell_id)
+  and (select count(*)
+       from pg_indexes
+       where indexname in ('ux_favorite_tb_user_id_food_recipe_id', 'ux_favorite_tb_user_id_food_sell_id')) < 2;
+
+create unique index if not exists ux_favorite_tb_user_id_food_recipe_id
+    on favorite_tb (user_id, food_recipe_id)
+    where food_recipe_id is not null;
+
+create unique index if not exists ux_favorite_tb_user_id_food_sell_id
+    on favorite_tb (user_id, food_sell_id)
+    where food_sell_id is not null;
+
+create index if not exists ix_food_sell_tb_orderable_date_cooking
+    on food_sell_tb (date_cooking) where is_orderable;
+
+create index if not exists ix_food_recipe_tb_rating_id
+    on food_recipe_tb ((coalesce(average_rating, 0)) desc, id desc);
+
+create index if not exists ix_food_recipe_tb_category_id_id
+    on food_recipe_tb (category_id, id desc);
+
+create index if not exists ix_token_tb_user_id_active
+    on token_tb (user_id) where not token_expired and not token_revoked;
+
+create index if not exists ix_token_tb_expires_at
+    on token_tb (expires_at);
+
+create extension if not exists pg_trgm;
+
+create index if not exists ix_food_recipe_tb_name_trgm
+    on food_recipe_tb using gin (name gin_trgm_ops);
+
+create index if not exists ix_food_recipe_tb_search_document
+    on food_recipe_tb using gin (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '') || ' '
+        || coalesce(cast(jsonb_path_query_array(ingredients, '$[*].name') as text), '')));
+
+create index if not exists ix_file_tb_content_hash
+    on file_tb (content_hash);
+
+create index if not exists ix_file_tb_unreferenced
+    on file_tb (id)
+    where ref_count = 0;
+
+-- ux_file_tb_filename is the only unique index on the name; drop the constraint that the entity's former
+-- @Column(unique = true) made Hibernate create, so uploads do not maintain the same index twice.
+create unique index if not exists ux_file_tb_filename
+    on file_tb (filename);
+
+alter table file_tb drop constraint if exists ukrrjyuxpm887atv3c9jabhfh5b;
+
+create index if not exists ix_feedback_tb_food_recipe_id_created_at
+    on feedback_tb (food_recipe_id, created_at desc, id desc);
+
+create index if not exists ix_feedback_tb_food_sell_id_created_at
+    on feedback_tb (food_sell_id, created_at desc, id desc);
+
+-- Rated recipes from before the rating_count_* columns existed have empty buckets, and the first flush would
+-- derive total_raters and average_rating from them. Fill them from feedback_tb before the scheduler starts;
+-- once a recipe has any bucket set it is skipped, so this only runs once per recipe.
+update food_recipe_tb r
+set rating_count_1 = h.c1,
+    rating_count_2 = h.c2,
+    rating_count_3 = h.c3,
+    rating_count_4 = h.c4,
+    rating_count_5 = h.c5,
+    total_raters = h.total,
+    average_rating = cast(h.stars as double precision) / h.total
+from (select coalesce(f.food_recipe_id, s.food_recipe_id) as recipe_id,
+             count(*) filter (where f.rating_value = 1) as c1,
+             count(*) filter (where f.rating_value = 2) as c2,
+             count(*) filter (where f.rating_value = 3) as c3,
+             count(*) filter (where f.rating_value = 4) as c4,
+             count(*) filter (where f.rating_value = 5) as c5,
+             count(*) as total,
+             sum(f.rating_value) as stars
+      from feedback_tb f
+      left join food_sell_tb s on s.id = f.food_sell_id
+      where f.rating_value between 1 and 5
+      group by coalesce(f.food_recipe_id, s.food_recipe_id)) h
+where h.recipe_id = r.id
+  and r.total_raters > 0
+  and r.rating_count_1 = 0
+  and r.rating_count_2 = 0
+  and r.rating_count_3 = 0
+  and r.rating_count_4 = 0
+  and r.rating_count_5 = 0;
+
+create index if not exists ix_purchase_tb_buyer_id_created_date
+    on purchase_tb (buyer_id, created_date desc);
+
+create index if not exists ix_purchase_tb_food_sell_id_pending
+    on purchase_tb (food_sell_id)
+    where purchase_status_type = 'PENDING';
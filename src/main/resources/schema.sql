@@ -20,10 +20,14 @@ alter table cusine_tb
 
 create table file_tb
 (
-    id       bigint generated by default as identity
+    id           bigint generated by default as identity
         primary key,
-    filename varchar(255),
-    url      varchar(255)
+    filename     varchar(255),
+    url          varchar(255),
+    content_hash varchar(64),
+    ref_count    integer   default 0 not null,
+    uploaded_at  timestamp default now(),
+    variants     varchar(64)
 );
 
 alter table file_tb
@@ -137,6 +141,11 @@ create table food_recipe_tb
     ingredients         jsonb,
     level               varchar(50),
     name                varchar(255),
+    rating_count_1      integer default 0 not null,
+    rating_count_2      integer default 0 not null,
+    rating_count_3      integer default 0 not null,
+    rating_count_4      integer default 0 not null,
+    rating_count_5      integer default 0 not null,
     total_raters        integer,
     updated_at          timestamp(6),
     category_id         bigint
@@ -316,6 +325,7 @@ create table token_tb
             unique,
     token_expired boolean,
     token_revoked boolean,
+    expires_at    timestamp(6),
     token_type    varchar(255)
         constraint token_tb_token_type_check
             check ((token_type)::text = 'BEARER'::text),
@@ -343,3 +353,5 @@ create table device_token_tb
 alter table device_token_tb
     owner to postgres;
 
+
+-- indexes and extensions: db/indexes.sql, applied on every start after Hibernate's ddl update
@@ -0,0 +1,189 @@
+package com.kshrd.kroya_api;
+
+import com.kshrd.kroya_api.entity.CategoryEntity;
+import com.kshrd.kroya_api.entity.CuisineEntity;
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.PhotoEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.payload.FoodRecipe.CookingStep;
+import com.kshrd.kroya_api.payload.FoodRecipe.Ingredient;
+import com.kshrd.kroya_api.repository.Category.CategoryRepository;
+import com.kshrd.kroya_api.repository.Cuisine.CuisineRepository;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the statements issued per guest endpoint, counted with Hibernate statistics.
+ * Every endpoint must answer 200 with a non-empty payload over seeded recipes with several owners, photos and
+ * sells, so the bounds hold for more than one row and an N+1 on any association fails them.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FoodQueryCountTests extends PostgresTestBase {
+
+    private static final int RECIPES = 8;
+    private static final int OWNERS = 3;
+    private static final int PHOTOS_PER_RECIPE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CuisineRepository cuisineRepository;
+
+    @Autowired
+    private FoodRecipeRepository foodRecipeRepository;
+
+    @Autowired
+    private FoodSellRepository foodSellRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private CuisineEntity cuisine;
+    private FoodRecipeEntity recipeWithoutSell;
+    private FoodSellEntity sell;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> seedFoods());
+    }
+
+    // Half of the recipes are sold, so the mixed feeds have rows in both streams
+    private void seedFoods() {
+        CategoryEntity category = new CategoryEntity();
+        category.setCategoryName("Lunch");
+        category = categoryRepository.save(category);
+        cuisine = new CuisineEntity();
+        cuisine.setCuisineName("Khmer");
+        cuisine = cuisineRepository.save(cuisine);
+
+        List<UserEntity> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(userRepository.save(UserEntity.builder()
+                    .fullName("Owner " + i)
+                    .email("owner-" + i + "@kroya.test")
+                    .password("secret")
+                    .role("USER")
+                    .profileImage("owner-" + i + ".jpg")
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+        }
+
+        for (int i = 0; i < RECIPES; i++) {
+            List<PhotoEntity> photos = new ArrayList<>();
+            FoodRecipeEntity recipe = FoodRecipeEntity.builder()
+                    .name("Amok " + i)
+                    .description("Steamed fish curry number " + i)
+                    .level("Easy")
+                    .durationInMinutes(30 + i)
+                    .ingredients(List.of(new Ingredient(1L, "Fish", "500g", 3.0)))
+                    .cookingSteps(List.of(new CookingStep(1L, "Steam it")))
+                    .totalRaters(i + 1)
+                    .averageRating(1.0 + i % 5)
+                    .createdAt(LocalDateTime.now())
+                    .user(owners.get(i % OWNERS))
+                    .category(category)
+                    .cuisine(cuisine)
+                    .photos(photos)
+                    .favorites(new ArrayList<>())
+                    .feedbacks(new ArrayList<>())
+                    .build();
+            for (int p = 0; p < PHOTOS_PER_RECIPE; p++) {
+                photos.add(PhotoEntity.builder().photo("amok-" + i + "-" + p + ".jpg").foodRecipe(recipe).build());
+            }
+            recipe = foodRecipeRepository.save(recipe);
+
+            if (i % 2 == 0) {
+                sell = foodSellRepository.save(FoodSellEntity.builder()
+                        .foodRecipe(recipe)
+                        .amount(10)
+                        .price(2.5)
+                        .currencyType("DOLLAR")
+                        .isOrderable(true)
+                        .dateCooking(LocalDateTime.now().plusDays(1))
+                        .build());
+            } else {
+                recipeWithoutSell = recipe;
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void feedsIssueOneIdQueryAndOneCardQueryPerStream() throws Exception {
+        assertThat(statementsFor("/api/v1/guest-user/food-recipe/list?size=100", "$.payload")).isLessThanOrEqualTo(2);
+        assertThat(statementsFor("/api/v1/guest-user/food-sell/list?size=100", "$.payload")).isLessThanOrEqualTo(2);
+        assertThat(statementsFor("/api/v1/guest-user/foods/list?size=100",
+                "$.payload.foodRecipes", "$.payload.foodSells")).isLessThanOrEqualTo(4);
+        assertThat(statementsFor("/api/v1/guest-user/foods/popular?size=100",
+                "$.payload.popularRecipes", "$.payload.popularSells")).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void searchIssuesOneRankQueryAndOneCardQueryPerKind() throws Exception {
+        assertThat(statementsFor("/api/v1/guest-user/foods/search?name=amok",
+                "$.payload.foodRecipes", "$.payload.foodSells")).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void recipeDetailAndCuisineListingLoadAssociationsWithTheirEntityGraph() throws Exception {
+        assertThat(statementsFor("/api/v1/guest-user/foods/detail/" + recipeWithoutSell.getId() + "?itemType=FOOD_RECIPE",
+                "$.payload.photo")).isLessThanOrEqualTo(1);
+        assertThat(statementsFor("/api/v1/guest-user/food-recipe/" + cuisine.getId(), "$.payload"))
+                .isLessThanOrEqualTo(1);
+        assertThat(statementsFor("/api/v1/guest-user/food-sell/" + cuisine.getId(), "$.payload"))
+                .isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void sellDetailLoadsItsRecipeWithTheEntityGraph() throws Exception {
+        assertThat(statementsFor("/api/v1/guest-user/foods/detail/" + sell.getId() + "?itemType=FOOD_SELL",
+                "$.payload.foodRecipeDTO.photo")).isLessThanOrEqualTo(1);
+    }
+
+    // An endpoint that fails early or finds nothing issues almost no statements, so the body is checked too:
+    // every path must be a non-empty list, which the "No data available" placeholder payload is not
+    private long statementsFor(String uri, String... nonEmptyLists) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value("200"));
+        long statements = statistics.getPrepareStatementCount();
+        for (String path : nonEmptyLists) {
+            result.andExpect(jsonPath(path).isArray()).andExpect(jsonPath(path).isNotEmpty());
+        }
+        return statements;
+    }
+}
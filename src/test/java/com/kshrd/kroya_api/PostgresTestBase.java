@@ -0,0 +1,61 @@
+package com.kshrd.kroya_api;
+
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.repository.User.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Base of the tests that need a real Postgres. They share one container, started once for the run, and through
+ * identical configuration one Spring context; each test seeds its own rows and asserts only on those.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rating.histogram.settle-ms=200"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresTestBase {
+
+    // Not a @Container, which would stop it after the first class while the cached context still points at it
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        postgres.start();
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected UserEntity newUser(String name) {
+        return userRepository.save(UserEntity.builder()
+                .fullName(name)
+                .email(name + "-" + UUID.randomUUID() + "@kroya.test")
+                .password("secret")
+                .role("USER")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // The services read the current user from the security context, which is bound to the calling thread
+    protected static <T> T as(UserEntity user, Callable<T> action) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        try {
+            return action.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
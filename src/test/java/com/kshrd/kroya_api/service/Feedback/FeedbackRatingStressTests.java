@@ -0,0 +1,212 @@
+package com.kshrd.kroya_api.service.Feedback;
+
+import com.kshrd.kroya_api.PostgresTestBase;
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.enums.ItemType;
+import com.kshrd.kroya_api.payload.Feedback.FeedbackRequest;
+import com.kshrd.kroya_api.payload.Feedback.FeedbackResponse;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Rates a few recipes and a food sell from many users in parallel through FeedbackServiceImpl on a real
+ * Postgres while the accumulator keeps flushing, then checks every histogram against feedback_tb.
+ */
+class FeedbackRatingStressTests extends PostgresTestBase {
+
+    private static final int RECIPES = 3;
+    private static final int USERS = 750;
+    private static final int THREADS = 16;
+
+    // Per recipe: the five bucket counts, the raters and the average as derived from feedback_tb
+    private static final String EXPECTED_AND_STORED = """
+            SELECT r.id,
+                   r.rating_count_1, r.rating_count_2, r.rating_count_3, r.rating_count_4, r.rating_count_5,
+                   r.total_raters, r.average_rating,
+                   count(f.id) FILTER (WHERE f.rating_value = 1) AS c1,
+                   count(f.id) FILTER (WHERE f.rating_value = 2) AS c2,
+                   count(f.id) FILTER (WHERE f.rating_value = 3) AS c3,
+                   count(f.id) FILTER (WHERE f.rating_value = 4) AS c4,
+                   count(f.id) FILTER (WHERE f.rating_value = 5) AS c5,
+                   count(f.rating_value) AS raters,
+                   coalesce(avg(f.rating_value), 0) AS average
+            FROM food_recipe_tb r
+            LEFT JOIN food_sell_tb s ON s.food_recipe_id = r.id
+            LEFT JOIN feedback_tb f ON f.food_recipe_id = r.id OR f.food_sell_id = s.id
+            WHERE r.id IN (%s)
+            GROUP BY r.id
+            """;
+
+    @Autowired
+    private FeedbackService feedbackService;
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+    @Autowired
+    private RatingHistogram ratingHistogram;
+    @Autowired
+    private FoodRecipeRepository foodRecipeRepository;
+    @Autowired
+    private FoodSellRepository foodSellRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelRatingsMatchFeedbackAfterFlush() throws Exception {
+        List<Long> recipeIds = new ArrayList<>();
+        List<Rated> items = listItems(recipeIds);
+        List<UserEntity> raters = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            raters.add(newUser("rater"));
+        }
+
+        // Each user rates all RECIPES + 1 items once, 3000 addFeedback calls, then changes about half of them
+        AtomicBoolean rating = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (rating.get()) {
+                ratingAccumulator.flush();
+            }
+        });
+        flusher.start();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (UserEntity rater : raters) {
+            for (Rated item : items) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return as(rater, () -> {
+                        Long feedbackId = ((FeedbackResponse) feedbackService.addFeedback(
+                                new FeedbackRequest(item.foodId(), randomRating(), null), item.itemType())
+                                .getPayload()).getFeedbackId();
+                        if (ThreadLocalRandom.current().nextBoolean()) {
+                            feedbackService.updateFeedback(feedbackId, new FeedbackRequest(null, randomRating(), null));
+                        }
+                        return null;
+                    });
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        rating.set(false);
+        flusher.join();
+        ratingAccumulator.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM feedback_tb WHERE user_id IN (%s)".formatted(
+                String.join(",", raters.stream().map(rater -> String.valueOf(rater.getId())).toList())), Long.class))
+                .isEqualTo((long) USERS * items.size());
+        assertHistogramsMatchFeedback(recipeIds);
+    }
+
+    @Test
+    void driftRepairRestoresLostAndCorruptedCounts() throws Exception {
+        List<Long> recipeIds = new ArrayList<>();
+        List<Rated> items = listItems(recipeIds);
+        for (int i = 0; i < 10; i++) {
+            UserEntity rater = newUser("rater");
+            for (Rated item : items) {
+                as(rater, () -> feedbackService.addFeedback(
+                        new FeedbackRequest(item.foodId(), randomRating(), null), item.itemType()));
+            }
+        }
+        ratingAccumulator.flush();
+
+        // A crashed instance loses its queued deltas; a manual edit leaves the totals inconsistent
+        jdbcTemplate.update("UPDATE food_recipe_tb SET rating_count_4 = rating_count_4 + 3 WHERE id = ?", recipeIds.get(0));
+        jdbcTemplate.update("UPDATE food_recipe_tb SET rating_count_1 = 0, rating_count_2 = 0 WHERE id = ?", recipeIds.get(1));
+        jdbcTemplate.update("UPDATE food_recipe_tb SET total_raters = 999 WHERE id = ?", recipeIds.get(2));
+
+        ScheduledFuture<?> repair = ratingHistogram.startDriftRepair();
+        assertThat((Object) repair).as("drift to repair").isNotNull();
+        repair.get(60, TimeUnit.SECONDS);
+
+        assertHistogramsMatchFeedback(recipeIds);
+        assertThat(foodRecipeRepository.findRatingDrift()).isEmpty();
+    }
+
+    private void assertHistogramsMatchFeedback(List<Long> recipeIds) {
+        String ids = String.join(",", recipeIds.stream().map(String::valueOf).toList());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(EXPECTED_AND_STORED.formatted(ids));
+        assertThat(rows).hasSize(recipeIds.size());
+        for (Map<String, Object> row : rows) {
+            for (int star = 1; star <= 5; star++) {
+                assertThat(((Number) row.get("rating_count_" + star)).longValue())
+                        .as("recipe %s, %d stars", row.get("id"), star)
+                        .isEqualTo(((Number) row.get("c" + star)).longValue());
+            }
+            assertThat(((Number) row.get("total_raters")).longValue()).as("recipe %s raters", row.get("id"))
+                    .isEqualTo(((Number) row.get("raters")).longValue());
+            assertThat(((Number) row.get("average_rating")).doubleValue()).as("recipe %s average", row.get("id"))
+                    .isCloseTo(((Number) row.get("average")).doubleValue(), within(1e-9));
+        }
+    }
+
+    // RECIPES plain recipes rated directly, plus one recipe rated through its food sell
+    private List<Rated> listItems(List<Long> recipeIds) {
+        return transactionTemplate.execute(status -> {
+            UserEntity owner = newUser("owner");
+            List<Rated> items = new ArrayList<>();
+            for (int i = 0; i < RECIPES; i++) {
+                FoodRecipeEntity recipe = foodRecipeRepository.save(recipe(owner, "Amok " + i));
+                recipeIds.add(recipe.getId());
+                items.add(new Rated(recipe.getId(), ItemType.FOOD_RECIPE));
+            }
+            FoodRecipeEntity sold = foodRecipeRepository.save(recipe(owner, "Lok lak"));
+            recipeIds.add(sold.getId());
+            FoodSellEntity sell = foodSellRepository.save(FoodSellEntity.builder()
+                    .foodRecipe(sold)
+                    .amount(10)
+                    .price(2.5)
+                    .currencyType("DOLLAR")
+                    .isOrderable(true)
+                    .dateCooking(LocalDateTime.now().plusDays(1))
+                    .build());
+            items.add(new Rated(sell.getId(), ItemType.FOOD_SELL));
+            return items;
+        });
+    }
+
+    private static FoodRecipeEntity recipe(UserEntity owner, String name) {
+        return FoodRecipeEntity.builder()
+                .name(name)
+                .user(owner)
+                .totalRaters(0)
+                .averageRating(0.0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String randomRating() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(1, 6));
+    }
+
+    private record Rated(Long foodId, ItemType itemType) {
+    }
+}
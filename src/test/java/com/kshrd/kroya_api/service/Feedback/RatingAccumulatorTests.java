@@ -0,0 +1,134 @@
+package com.kshrd.kroya_api.service.Feedback;
+
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Hammers the rating path below FeedbackServiceImpl: thousands of parallel rating changes while another
+ * thread keeps flushing, then checks that the histograms written to the repository are exact.
+ */
+class RatingAccumulatorTests {
+
+    private static final int RECIPES = 8;
+    private static final int THREADS = 16;
+    private static final int RATINGS_PER_THREAD = 2_000;
+
+    private final Map<Long, long[]> written = new HashMap<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private RatingHistogram ratingHistogram;
+    private RatingAccumulator ratingAccumulator;
+
+    @BeforeEach
+    void setUp() {
+        FoodRecipeRepository repository = mock(FoodRecipeRepository.class);
+        doAnswer(invocation -> {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            SortedMap<Long, int[]> deltas = invocation.getArgument(0);
+            synchronized (written) {
+                deltas.forEach((recipeId, buckets) -> {
+                    long[] counts = written.computeIfAbsent(recipeId, id -> new long[5]);
+                    for (int i = 0; i < 5; i++) {
+                        counts[i] += buckets[i];
+                    }
+                });
+            }
+            return null;
+        }).when(repository).applyRatingDeltas(any());
+
+        ratingAccumulator = new RatingAccumulator(repository, 4);
+        ratingHistogram = new RatingHistogram(repository, ratingAccumulator, mock(TaskScheduler.class), 0);
+    }
+
+    @Test
+    void concurrentRatingsAreCountedExactly() throws Exception {
+        long[][] expected = new long[RECIPES][5];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean rating = new AtomicBoolean(true);
+
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (rating.get()) {
+                ratingAccumulator.flush();
+            }
+            return null;
+        });
+        Future<?>[] raters = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            long[][] local = new long[RECIPES][5];
+            raters[t] = executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < RATINGS_PER_THREAD; i++) {
+                    int recipe = random.nextInt(RECIPES);
+                    int added = random.nextInt(1, 6);
+                    // Every third call is an update that moves a previous rating to another bucket
+                    Integer removed = i % 3 == 0 ? random.nextInt(1, 6) : null;
+                    ratingHistogram.recordRating((long) recipe, added, removed);
+                    if (added != (removed != null ? removed : 0)) {
+                        local[recipe][added - 1]++;
+                        if (removed != null) {
+                            local[recipe][removed - 1]--;
+                        }
+                    }
+                }
+                synchronized (expected) {
+                    for (int r = 0; r < RECIPES; r++) {
+                        for (int b = 0; b < 5; b++) {
+                            expected[r][b] += local[r][b];
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        for (Future<?> rater : raters) {
+            rater.get(30, TimeUnit.SECONDS);
+        }
+        rating.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        ratingAccumulator.flush();
+
+        for (int r = 0; r < RECIPES; r++) {
+            assertThat(written.get((long) r)).as("recipe %d", r).containsExactly(expected[r]);
+        }
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextOne() {
+        ratingHistogram.recordRating(1L, 5, null);
+        ratingHistogram.recordRating(1L, 4, 5);
+
+        failuresLeft.set(1);
+        ratingAccumulator.flush();
+        assertThat(written).isEmpty();
+
+        ratingHistogram.recordRating(1L, 3, null);
+        ratingAccumulator.flush();
+        assertThat(written.get(1L)).containsExactly(0, 0, 1, 1, 0);
+    }
+}
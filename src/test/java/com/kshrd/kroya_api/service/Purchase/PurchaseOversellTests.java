@@ -0,0 +1,232 @@
+package com.kshrd.kroya_api.service.Purchase;
+
+import com.kshrd.kroya_api.PostgresTestBase;
+import com.kshrd.kroya_api.entity.FoodRecipeEntity;
+import com.kshrd.kroya_api.entity.FoodSellEntity;
+import com.kshrd.kroya_api.entity.UserEntity;
+import com.kshrd.kroya_api.enums.PaymentType;
+import com.kshrd.kroya_api.enums.PurchaseStatusType;
+import com.kshrd.kroya_api.exception.InvalidValueExceptionHandler;
+import com.kshrd.kroya_api.payload.BaseResponse;
+import com.kshrd.kroya_api.payload.FoodSell.BuyerOrderCardResponse;
+import com.kshrd.kroya_api.payload.FoodSell.FoodSellRequest;
+import com.kshrd.kroya_api.payload.Purchase.PurchaseRequest;
+import com.kshrd.kroya_api.repository.FoodRecipe.FoodRecipeRepository;
+import com.kshrd.kroya_api.repository.FoodSell.FoodSellRepository;
+import com.kshrd.kroya_api.repository.Purchase.PurchaseRepository;
+import com.kshrd.kroya_api.service.FoodSell.FoodSellService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races many buyers against one food sell on a real Postgres, where the reservation UPDATE relies on row
+ * locks, then checks that exactly the listed portions were sold and none were lost or sold twice.
+ */
+class PurchaseOversellTests extends PostgresTestBase {
+
+    private static final int PORTIONS = 25;
+    private static final int BUYERS = 8;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 200;
+    private static final int EDIT_PORTIONS = 2;
+    private static final int EDITED_AMOUNT = 6;
+    private static final int EDIT_BUYERS = 5;
+
+    @Autowired
+    private PurchaseService purchaseService;
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+    @Autowired
+    private FoodSellRepository foodSellRepository;
+    @Autowired
+    private FoodRecipeRepository foodRecipeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private FoodSellService foodSellService;
+
+    @Test
+    void parallelOrdersNeverOversell() throws Exception {
+        FoodSellEntity foodSell = listFoodSell(newUser("seller"), PORTIONS);
+        List<UserEntity> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.add(newUser("buyer"));
+        }
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            UserEntity buyer = buyers.get(i % BUYERS);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return as(buyer, () -> {
+                    try {
+                        purchaseService.createPurchase(new PurchaseRequest(foodSell.getId(), 1, PaymentType.CASH, null));
+                        placed.incrementAndGet();
+                    } catch (InvalidValueExceptionHandler e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(placed.get()).isEqualTo(PORTIONS);
+        assertThat(refused.get()).isEqualTo(ATTEMPTS - PORTIONS);
+        assertThat(foodSellRepository.findById(foodSell.getId()).orElseThrow().getAmount()).isZero();
+        assertThat(purchaseRepository.findByFoodSellIdAndPurchaseStatusTypeOrderByCreatedDateAscIdAsc(
+                foodSell.getId(), PurchaseStatusType.PENDING)).hasSize(PORTIONS);
+    }
+
+    @Test
+    void concurrentRejectsReleaseOnce() throws Exception {
+        UserEntity seller = newUser("seller");
+        UserEntity buyer = newUser("buyer");
+        FoodSellEntity foodSell = listFoodSell(seller, 5);
+        Long purchaseId = as(buyer, () -> ((BuyerOrderCardResponse) purchaseService
+                .createPurchase(new PurchaseRequest(foodSell.getId(), 3, PaymentType.KHQR, null))
+                .getPayload()).getPurchaseId());
+        assertThat(foodSellRepository.findById(foodSell.getId()).orElseThrow().getAmount()).isEqualTo(2);
+
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return as(seller, () -> {
+                    try {
+                        purchaseService.updatePurchaseStatus(purchaseId, PurchaseStatusType.REJECTED);
+                        rejected.incrementAndGet();
+                    } catch (InvalidValueExceptionHandler e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(rejected.get()).isEqualTo(1);
+        assertThat(refused.get()).isEqualTo(3);
+        assertThat(foodSellRepository.findById(foodSell.getId()).orElseThrow().getAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void sellerEditDuringOrdersKeepsTheirPortions() throws Exception {
+        UserEntity seller = newUser("seller");
+        FoodSellEntity foodSell = listFoodSell(seller, EDIT_PORTIONS);
+        List<UserEntity> buyers = new ArrayList<>();
+        for (int i = 0; i < EDIT_BUYERS; i++) {
+            buyers.add(newUser("buyer"));
+        }
+
+        // Hold the row lock, so the edit reads the listed amount and then queues behind it with every order
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(EDIT_BUYERS + 2);
+        Future<?> lock = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT amount FROM food_sell_tb WHERE id = ? FOR UPDATE",
+                    Integer.class, foodSell.getId());
+            locked.countDown();
+            try {
+                release.await(60, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(60, TimeUnit.SECONDS)).isTrue();
+
+        Future<BaseResponse<?>> edit = executor.submit(() -> as(seller, () -> foodSellService.editFoodSell(
+                foodSell.getId(), new FoodSellRequest(LocalDateTime.now().plusDays(1), EDITED_AMOUNT, 3.0))));
+        AtomicInteger placed = new AtomicInteger();
+        List<Future<?>> orders = new ArrayList<>();
+        for (UserEntity buyer : buyers) {
+            orders.add(executor.submit(() -> as(buyer, () -> {
+                try {
+                    purchaseService.createPurchase(new PurchaseRequest(foodSell.getId(), 1, PaymentType.CASH, null));
+                    placed.incrementAndGet();
+                } catch (InvalidValueExceptionHandler e) {
+                    // sold out before the edit added portions
+                }
+                return null;
+            })));
+        }
+        awaitLockWaiters(EDIT_BUYERS + 1);
+        release.countDown();
+
+        lock.get(60, TimeUnit.SECONDS);
+        assertThat(edit.get(60, TimeUnit.SECONDS).getStatusCode()).isEqualTo("200");
+        for (Future<?> order : orders) {
+            order.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Whatever order the edit and the orders ran in, the seller offered EDITED_AMOUNT portions in total
+        int left = foodSellRepository.findById(foodSell.getId()).orElseThrow().getAmount();
+        assertThat(left).isNotNegative();
+        assertThat(placed.get() + left).isEqualTo(EDITED_AMOUNT);
+        assertThat(purchaseRepository.findByFoodSellIdAndPurchaseStatusTypeOrderByCreatedDateAscIdAsc(
+                foodSell.getId(), PurchaseStatusType.PENDING)).hasSize(placed.get());
+    }
+
+    private void awaitLockWaiters(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_stat_activity
+                WHERE datname = current_database() AND wait_event_type = 'Lock'
+                """, Integer.class) < waiters) {
+            assertThat(System.nanoTime()).as("waiting for %d blocked statements", waiters).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    // One transaction, because the food sell cascades to its recipe and would re-persist it once detached
+    private FoodSellEntity listFoodSell(UserEntity seller, int amount) {
+        return transactionTemplate.execute(status -> {
+            FoodRecipeEntity recipe = foodRecipeRepository.save(FoodRecipeEntity.builder()
+                    .name("Amok")
+                    .user(seller)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return foodSellRepository.save(FoodSellEntity.builder()
+                    .foodRecipe(recipe)
+                    .amount(amount)
+                    .price(2.5)
+                    .currencyType("DOLLAR")
+                    .isOrderable(true)
+                    .dateCooking(LocalDateTime.now().plusDays(1))
+                    .build());
+        });
+    }
+}